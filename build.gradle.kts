@@ -1,6 +1,7 @@
 plugins {
     java
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "edu.trincoll"
@@ -22,8 +23,17 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+// edu.trincoll.store.ColumnKernels uses the incubating Vector API; without the
+// module at run time it falls back to scalar loops
+val vectorModule = listOf("--add-modules", "jdk.incubator.vector")
+
+tasks.withType<JavaCompile> {
+    options.compilerArgs.addAll(vectorModule)
+}
+
 tasks.withType<Test> {
     useJUnitPlatform()
+    jvmArgs(vectorModule)
 }
 
 val isJacocoReportRequested =
@@ -79,6 +89,54 @@ tasks.jacocoTestCoverageVerification {
     }
 }
 
+// JMH benchmarks live in src/jmh/java; run with ./gradlew jmh
+// Narrow a run with -PjmhIncludes=<regex>, e.g. -PjmhIncludes=TaskAnalyzerBenchmark.getTotal
+jmh {
+    jmhVersion = "1.37"
+    includes = listOfNotNull(providers.gradleProperty("jmhIncludes").orNull)
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    jvmArgs = listOf("-Xms2g", "-Xmx16g") + vectorModule
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaseline = layout.projectDirectory.file("jmh/baseline.json")
+
+tasks.register<Copy>("jmhSaveBaseline") {
+    group = "benchmark"
+    description = "Stores the latest JMH results as jmh/baseline.json"
+    from(jmhResults)
+    into(layout.projectDirectory.dir("jmh"))
+    rename { "baseline.json" }
+}
+
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    description = "Prints the latest JMH scores next to jmh/baseline.json"
+    doLast {
+        fun load(file: File): Map<String, Double> =
+            (groovy.json.JsonSlurper().parse(file) as List<*>).associate { row ->
+                val result = row as Map<*, *>
+                val params = (result["params"] as Map<*, *>?)
+                    ?.entries?.joinToString(",") { "${it.key}=${it.value}" } ?: ""
+                val score = ((result["primaryMetric"] as Map<*, *>)["score"] as Number).toDouble()
+                "${result["benchmark"]}($params)" to score
+            }
+        val baseline = jmhBaseline.asFile
+        require(baseline.exists()) { "No baseline yet: run jmh then jmhSaveBaseline" }
+        val before = load(baseline)
+        load(jmhResults.get().asFile).toSortedMap().forEach { (key, score) ->
+            val old = before[key]
+            val change = if (old == null || old == 0.0) "new" else "%+.1f%%".format((score - old) / old * 100)
+            println("%-110s %16.3f  %s".format(key, score, change))
+        }
+    }
+}
+
 // Optional: Add coverage check to build process
 // Uncomment to enforce coverage requirements
 // tasks.check {
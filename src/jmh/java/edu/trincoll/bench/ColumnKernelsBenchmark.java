@@ -0,0 +1,54 @@
+package edu.trincoll.bench;
+
+import edu.trincoll.model.Task;
+import edu.trincoll.store.ColumnKernels;
+import edu.trincoll.store.TaskStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar against SIMD column kernels over a TaskStore's hours, priority and
+ * status columns. Tasks per second is size divided by the reported time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ColumnKernelsBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"scalar", "vector"})
+    String kernels;
+
+    private ColumnKernels target;
+    private int[] hours;
+    private byte[] priorities;
+    private byte[] statuses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TaskStore store = new TaskStore(TaskFixtures.generate(size, 100, 0.0, 42));
+        target = kernels.equals("vector") ? ColumnKernels.vector() : ColumnKernels.scalar();
+        hours = Arrays.copyOf(store.hoursColumn(), size);
+        priorities = Arrays.copyOf(store.priorityColumn(), size);
+        statuses = Arrays.copyOf(store.statusColumn(), size);
+    }
+
+    @Benchmark
+    public ColumnKernels.HoursTotal hours() {
+        return target.hours(hours, 0, size);
+    }
+
+    @Benchmark
+    public long[] priorityHistogram() {
+        return target.histogram(priorities, 0, size, Task.Priority.values().length);
+    }
+
+    @Benchmark
+    public long[] statusHistogram() {
+        return target.histogram(statuses, 0, size, Task.Status.values().length);
+    }
+}
@@ -0,0 +1,134 @@
+package edu.trincoll.bench;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.index.IndexedTaskList;
+import edu.trincoll.model.Task;
+import edu.trincoll.service.ColumnarTaskAnalyzer;
+import edu.trincoll.service.IndexedTaskAnalyzer;
+import edu.trincoll.service.TaskAnalyzer;
+import edu.trincoll.store.TaskStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every public TaskAnalyzer query, for the plain, indexed and columnar analyzers,
+ * over synthetic sets from 1k to 10M tasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskAnalyzerBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"100", "50000"})
+    int tagCardinality;
+
+    @Param({"0.0", "0.8"})
+    double statusSkew;
+
+    @Param({"plain", "indexed", "columnar"})
+    String analyzer;
+
+    private TaskAnalyzer target;
+    private TaskPredicate selective;
+    private long probeId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Task> tasks = TaskFixtures.generate(size, tagCardinality, statusSkew, 42);
+        Clock clock = Clock.fixed(TaskFixtures.NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        target = switch (analyzer) {
+            case "indexed" -> new IndexedTaskAnalyzer(new IndexedTaskList(tasks), clock);
+            case "columnar" -> new ColumnarTaskAnalyzer(new TaskStore(tasks), clock);
+            default -> new TaskAnalyzer(tasks, clock);
+        };
+        selective = TaskPredicate.byStatus(Task.Status.BLOCKED).and(TaskPredicate.hasTag("tag-7"));
+        probeId = size - 1;
+    }
+
+    @Benchmark
+    public List<Task> filterTasks() {
+        return target.filterTasks(t -> t.priority() == Task.Priority.CRITICAL);
+    }
+
+    @Benchmark
+    public List<Task> filterWithCustomPredicate() {
+        return target.filterWithCustomPredicate(selective);
+    }
+
+    @Benchmark
+    public Optional<Task> findTaskById() {
+        return target.findTaskById(probeId);
+    }
+
+    @Benchmark
+    public String getTaskSummary() {
+        return target.getTaskSummary(probeId);
+    }
+
+    @Benchmark
+    public List<Task> getTopPriorityTasks() {
+        return target.getTopPriorityTasks(20);
+    }
+
+    @Benchmark
+    public Map<Task.Status, List<Task>> groupByStatus() {
+        return target.groupByStatus();
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Task>> partitionByOverdue() {
+        return target.partitionByOverdue();
+    }
+
+    @Benchmark
+    public Set<String> getAllUniqueTags() {
+        return target.getAllUniqueTags();
+    }
+
+    @Benchmark
+    public List<String> getAllTagsSorted() {
+        return target.getAllTagsSorted();
+    }
+
+    @Benchmark
+    public Optional<Integer> getTotalEstimatedHours() {
+        return target.getTotalEstimatedHours();
+    }
+
+    @Benchmark
+    public OptionalDouble getAverageEstimatedHours() {
+        return target.getAverageEstimatedHours();
+    }
+
+    @Benchmark
+    public List<String> getTaskTitles() {
+        return target.getTaskTitles();
+    }
+
+    @Benchmark
+    public Map<Task.Priority, Long> countTasksByPriority() {
+        return target.countTasksByPriority();
+    }
+
+    @Benchmark
+    public boolean hasOverdueTasks() {
+        return target.hasOverdueTasks();
+    }
+
+    @Benchmark
+    public boolean areAllTasksAssigned() {
+        return target.areAllTasksAssigned();
+    }
+
+    @Benchmark
+    public int getTasks() {
+        return target.getTasks().size();
+    }
+}
@@ -0,0 +1,45 @@
+package edu.trincoll.bench;
+
+import edu.trincoll.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Synthetic, reproducible task sets for the benchmarks
+final class TaskFixtures {
+    static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    private TaskFixtures() {}
+
+    /**
+     * statusSkew is the share of tasks forced to DONE; the rest spread evenly
+     * over all statuses. Each task carries one to three of tagCardinality tags.
+     */
+    static List<Task> generate(int size, int tagCardinality, double statusSkew, long seed) {
+        Random random = new Random(seed);
+        Task.Priority[] priorities = Task.Priority.values();
+        Task.Status[] statuses = Task.Status.values();
+        String[] tags = new String[tagCardinality];
+        for (int i = 0; i < tagCardinality; i++) tags[i] = "tag-" + i;
+
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task.Status status = random.nextDouble() < statusSkew
+                    ? Task.Status.DONE : statuses[random.nextInt(statuses.length)];
+            int tagCount = 1 + random.nextInt(3);
+            Set<String> taskTags = new HashSet<>(tagCount * 2);
+            for (int t = 0; t < tagCount; t++) taskTags.add(tags[random.nextInt(tagCardinality)]);
+            tasks.add(new Task(
+                    (long) i,
+                    "Task " + i,
+                    "Synthetic task " + i,
+                    priorities[random.nextInt(priorities.length)],
+                    status,
+                    Set.copyOf(taskTags),
+                    NOW.minusMinutes(random.nextInt(100_000)),
+                    random.nextInt(10) == 0 ? null : NOW.plusMinutes(random.nextInt(40_000) - 20_000),
+                    random.nextInt(20) == 0 ? null : 1 + random.nextInt(40)));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,151 @@
+package edu.trincoll.bench;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.functional.TaskProcessor;
+import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.model.Task;
+import edu.trincoll.processor.BatchOptions;
+import edu.trincoll.processor.ExecutionMode;
+import edu.trincoll.processor.SortKey;
+import edu.trincoll.processor.TaskPipeline;
+import edu.trincoll.processor.TaskProcessingEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Every public TaskProcessingEngine operation, sequential and on the common
+ * pool, over synthetic sets from 1k to 10M tasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskProcessingEngineBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"100", "50000"})
+    int tagCardinality;
+
+    @Param({"0.0", "0.8"})
+    double statusSkew;
+
+    @Param({"sequential", "commonPool"})
+    String mode;
+
+    private TaskProcessingEngine engine;
+    private List<Task> tasks;
+    private List<Function<List<Task>, List<Task>>> operations;
+    private TaskPipeline pipeline;
+    private List<Comparator<Task>> comparators;
+    private List<Comparator<Task>> sortKeys;
+    private TaskPredicate filter;
+    private TaskTransformer transformer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = TaskFixtures.generate(size, tagCardinality, statusSkew, 42);
+        engine = new TaskProcessingEngine("commonPool".equals(mode)
+                ? ExecutionMode.commonPool() : ExecutionMode.sequential());
+        filter = TaskPredicate.isActive().and(TaskPredicate.byPriority(Task.Priority.LOW).negate());
+        transformer = TaskTransformer.withStatus(Task.Status.IN_PROGRESS)
+                .andThen(TaskTransformer.withPriority(Task.Priority.HIGH));
+        operations = List.of(
+                l -> l.stream().filter(filter).toList(),
+                l -> l.stream().map(transformer).toList(),
+                l -> l.stream().sorted(Comparator.comparing(Task::dueDate,
+                        Comparator.nullsLast(Comparator.naturalOrder()))).toList(),
+                l -> l.stream().limit(1_000).toList());
+        pipeline = TaskPipeline.start()
+                .filter(filter)
+                .map(transformer::apply)
+                .sort(Comparator.comparing(Task::dueDate, Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(1_000);
+        comparators = List.of(
+                Comparator.comparing(Task::priority).reversed(),
+                Comparator.comparing(Task::dueDate, Comparator.nullsLast(Comparator.naturalOrder())),
+                Comparator.comparing(Task::id));
+        sortKeys = List.of(SortKey.priority().reversed(), SortKey.dueDate(), SortKey.id());
+    }
+
+    @Benchmark
+    public List<Task> processPipeline() {
+        return engine.processPipeline(tasks, operations);
+    }
+
+    @Benchmark
+    public List<Task> processFusedPipeline() {
+        return engine.processPipeline(tasks, pipeline);
+    }
+
+    @Benchmark
+    public Task getOrCreateDefault() {
+        return engine.getOrCreateDefault(Optional.empty(), () -> tasks.get(0));
+    }
+
+    @Benchmark
+    public void processTasksWithSideEffects(Blackhole bh) {
+        engine.processTasksWithSideEffects(tasks, bh::consume);
+    }
+
+    @Benchmark
+    public Task mergeTasks() {
+        return engine.mergeTasks(tasks.get(0), tasks.get(1), (a, b) -> a.priority().getWeight() >= b.priority().getWeight() ? a : b);
+    }
+
+    @Benchmark
+    public List<Task> transformAll() {
+        return engine.transformAll(tasks, transformer::apply);
+    }
+
+    @Benchmark
+    public List<Task> filterAndTransform() {
+        return engine.filterAndTransform(tasks, filter, transformer);
+    }
+
+    @Benchmark
+    public void batchProcess(Blackhole bh) {
+        engine.batchProcess(tasks, 1_000, bh::consume);
+    }
+
+    @Benchmark
+    public Object batchProcessAsync(Blackhole bh) {
+        TaskProcessor processor = bh::consume;
+        return engine.batchProcessAsync(tasks, 1_000, processor, BatchOptions.defaults()).join();
+    }
+
+    @Benchmark
+    public Optional<String> getHighestPriorityTaskTitle() {
+        return engine.getHighestPriorityTaskTitle(tasks);
+    }
+
+    @Benchmark
+    public long generateTaskStream() {
+        Task first = tasks.get(0);
+        return engine.generateTaskStream(() -> first).limit(size).count();
+    }
+
+    @Benchmark
+    public List<Task> sortByMultipleCriteria() {
+        return engine.sortByMultipleCriteria(tasks, comparators);
+    }
+
+    @Benchmark
+    public List<Task> sortBySortKeys() {
+        return engine.sortByMultipleCriteria(tasks, sortKeys);
+    }
+
+    @Benchmark
+    public List<Task> topK() {
+        return engine.topK(tasks, 20, comparators.get(1));
+    }
+
+    @Benchmark
+    public ExecutionMode getExecutionMode() {
+        return engine.getExecutionMode();
+    }
+}
@@ -0,0 +1,65 @@
+package edu.trincoll.functional;
+
+import edu.trincoll.model.Task;
+
+import java.util.List;
+
+// Flat evaluator for a simplified TaskCondition tree: the status and priority
+// masks are checked inline, then the remaining terms in cost order.
+final class CompiledPredicate implements TaskPredicate {
+    private final boolean conjunction;
+    private final int statusMask;
+    private final int priorityMask;
+    private final TaskPredicate[] rest;
+    private final TaskPredicate source;
+
+    private CompiledPredicate(boolean conjunction, int statusMask, int priorityMask,
+                              TaskPredicate[] rest, TaskPredicate source) {
+        this.conjunction = conjunction;
+        this.statusMask = statusMask;
+        this.priorityMask = priorityMask;
+        this.rest = rest;
+        this.source = source;
+    }
+
+    static TaskPredicate of(TaskPredicate simplified) {
+        if (simplified instanceof TaskCondition.And a) return flatten(true, a.terms(), simplified);
+        if (simplified instanceof TaskCondition.Or o) return flatten(false, o.terms(), simplified);
+        // leaves are already a single check
+        return simplified;
+    }
+
+    private static TaskPredicate flatten(boolean conjunction, List<TaskPredicate> terms, TaskPredicate source) {
+        // neutral masks: everything for an and, nothing for an or
+        int status = conjunction ? TaskCondition.StatusIn.ALL : 0;
+        int priority = conjunction ? TaskCondition.PriorityIn.ALL : 0;
+        TaskPredicate[] rest = terms.stream()
+                .filter(t -> !(t instanceof TaskCondition.StatusIn) && !(t instanceof TaskCondition.PriorityIn))
+                .map(CompiledPredicate::of)
+                .toArray(TaskPredicate[]::new);
+        for (TaskPredicate t : terms) {
+            if (t instanceof TaskCondition.StatusIn s) status = s.mask();
+            if (t instanceof TaskCondition.PriorityIn p) priority = p.mask();
+        }
+        return new CompiledPredicate(conjunction, status, priority, rest, source);
+    }
+
+    @Override
+    public boolean test(Task task) {
+        boolean statusHit = (statusMask & TaskCondition.StatusIn.bit(task.status())) != 0;
+        boolean priorityHit = (priorityMask & TaskCondition.PriorityIn.bit(task.priority())) != 0;
+        if (conjunction) {
+            if (!statusHit || !priorityHit) return false;
+            for (TaskPredicate p : rest) if (!p.test(task)) return false;
+            return true;
+        }
+        if (statusHit || priorityHit) return true;
+        for (TaskPredicate p : rest) if (p.test(task)) return true;
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "compiled" + source;
+    }
+}
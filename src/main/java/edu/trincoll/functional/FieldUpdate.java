@@ -0,0 +1,113 @@
+package edu.trincoll.functional;
+
+import edu.trincoll.model.Task;
+
+import java.util.*;
+
+/**
+ * Inspectable TaskTransformer that assigns a fixed value to some fields. The
+ * TaskTransformer setters build these; chaining two of them merges them into
+ * one update (the later value wins), so a run of k setters copies the record
+ * once instead of k times. A task that already holds every assigned value is
+ * returned as-is, without allocating.
+ */
+public final class FieldUpdate implements TaskTransformer {
+
+    public enum Field { TITLE, DESCRIPTION, PRIORITY, STATUS, TAGS, DUE_DATE, ESTIMATED_HOURS }
+
+    private static final Field[] FIELDS = Field.values();
+
+    static final FieldUpdate NONE = new FieldUpdate(0, new Object[FIELDS.length]);
+
+    // bit ordinal set when the field is assigned; values[ordinal] may be null
+    private final int mask;
+    private final Object[] values;
+
+    private FieldUpdate(int mask, Object[] values) {
+        this.mask = mask;
+        this.values = values;
+    }
+
+    static FieldUpdate of(Field field, Object value) {
+        Object[] values = new Object[FIELDS.length];
+        values[field.ordinal()] = value;
+        return new FieldUpdate(1 << field.ordinal(), values);
+    }
+
+    public boolean assigns(Field field) {
+        return (mask & (1 << field.ordinal())) != 0;
+    }
+
+    public Set<Field> fields() {
+        Set<Field> out = EnumSet.noneOf(Field.class);
+        for (Field f : FIELDS) if (assigns(f)) out.add(f);
+        return out;
+    }
+
+    public Object value(Field field) {
+        if (!assigns(field)) throw new IllegalArgumentException(field + " is not assigned");
+        return values[field.ordinal()];
+    }
+
+    // one update with both sets of assignments; later's values win
+    public FieldUpdate merge(FieldUpdate later) {
+        if (later.mask == 0) return this;
+        if (mask == 0) return later;
+        Object[] merged = values.clone();
+        for (Field f : FIELDS) if (later.assigns(f)) merged[f.ordinal()] = later.values[f.ordinal()];
+        return new FieldUpdate(mask | later.mask, merged);
+    }
+
+    @Override
+    public Task apply(Task task) {
+        if (mask == 0 || !changes(task)) return task;
+        return new Task(
+            task.id(),
+            pick(Field.TITLE, task.title()),
+            pick(Field.DESCRIPTION, task.description()),
+            pick(Field.PRIORITY, task.priority()),
+            pick(Field.STATUS, task.status()),
+            pick(Field.TAGS, task.tags()),
+            task.createdAt(),
+            pick(Field.DUE_DATE, task.dueDate()),
+            pick(Field.ESTIMATED_HOURS, task.estimatedHours())
+        );
+    }
+
+    // true if any assigned value differs from the task's current one
+    public boolean changes(Task task) {
+        return differs(Field.TITLE, task.title())
+            || differs(Field.DESCRIPTION, task.description())
+            || differs(Field.PRIORITY, task.priority())
+            || differs(Field.STATUS, task.status())
+            || differs(Field.TAGS, task.tags())
+            || differs(Field.DUE_DATE, task.dueDate())
+            || differs(Field.ESTIMATED_HOURS, task.estimatedHours());
+    }
+
+    private boolean differs(Field field, Object current) {
+        return assigns(field) && !Objects.equals(values[field.ordinal()], current);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T pick(Field field, T current) {
+        return assigns(field) ? (T) values[field.ordinal()] : current;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof FieldUpdate u && mask == u.mask && Arrays.equals(values, u.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * mask + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner out = new StringJoiner(", ", "set(", ")");
+        for (Field f : FIELDS) if (assigns(f)) out.add(f.name().toLowerCase(Locale.ROOT) + "=" + values[f.ordinal()]);
+        return out.toString();
+    }
+}
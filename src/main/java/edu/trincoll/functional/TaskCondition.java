@@ -0,0 +1,307 @@
+package edu.trincoll.functional;
+
+import edu.trincoll.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Inspectable TaskPredicate tree. The TaskPredicate factories and combinators
+ * build these nodes; {@link #simplify} folds status and priority terms into
+ * enum bitmasks and orders cheap terms first, and {@link #compile} turns the
+ * result into a flat evaluator. Plain lambdas stay opaque leaves.
+ * Reordering assumes predicates are free of side effects.
+ */
+public sealed interface TaskCondition extends TaskPredicate {
+
+    // cost estimate used to order conjuncts and disjuncts
+    int cost();
+
+    // ---- leaves ----------------------------------------------------------
+
+    // bit 0 stands for a null status, bit ordinal+1 for each value
+    record StatusIn(int mask) implements TaskCondition {
+        static final int ALL = (1 << (Task.Status.values().length + 1)) - 1;
+
+        public static int bit(Task.Status status) {
+            return status == null ? 1 : 1 << (status.ordinal() + 1);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return (mask & bit(task.status())) != 0;
+        }
+
+        public Set<Task.Status> statuses() {
+            Set<Task.Status> out = EnumSet.noneOf(Task.Status.class);
+            for (Task.Status s : Task.Status.values()) if ((mask & bit(s)) != 0) out.add(s);
+            return out;
+        }
+
+        public boolean matchesNull() {
+            return (mask & 1) != 0;
+        }
+
+        @Override
+        public int cost() {
+            return 1;
+        }
+
+        @Override
+        public String toString() {
+            return "status in " + statuses() + (matchesNull() ? "+null" : "");
+        }
+    }
+
+    // bit 0 stands for a null priority, bit ordinal+1 for each value
+    record PriorityIn(int mask) implements TaskCondition {
+        static final int ALL = (1 << (Task.Priority.values().length + 1)) - 1;
+
+        public static int bit(Task.Priority priority) {
+            return priority == null ? 1 : 1 << (priority.ordinal() + 1);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return (mask & bit(task.priority())) != 0;
+        }
+
+        public Set<Task.Priority> priorities() {
+            Set<Task.Priority> out = EnumSet.noneOf(Task.Priority.class);
+            for (Task.Priority p : Task.Priority.values()) if ((mask & bit(p)) != 0) out.add(p);
+            return out;
+        }
+
+        public boolean matchesNull() {
+            return (mask & 1) != 0;
+        }
+
+        @Override
+        public int cost() {
+            return 1;
+        }
+
+        @Override
+        public String toString() {
+            return "priority in " + priorities() + (matchesNull() ? "+null" : "");
+        }
+    }
+
+    record HasTag(String tag) implements TaskCondition {
+        @Override
+        public boolean test(Task task) {
+            return task.tags() != null && task.tags().contains(tag);
+        }
+
+        @Override
+        public int cost() {
+            return 4;
+        }
+
+        @Override
+        public String toString() {
+            return "tag = " + tag;
+        }
+    }
+
+    // asOf null reads the clock per task; see bindNow
+    record Overdue(LocalDateTime asOf) implements TaskCondition {
+        @Override
+        public boolean test(Task task) {
+            return asOf == null ? task.isOverdue() : task.isOverdue(asOf);
+        }
+
+        @Override
+        public int cost() {
+            return asOf == null ? 3 : 2;
+        }
+
+        @Override
+        public String toString() {
+            return asOf == null ? "overdue" : "overdue at " + asOf;
+        }
+    }
+
+    record Constant(boolean value) implements TaskCondition {
+        static final Constant TRUE = new Constant(true);
+        static final Constant FALSE = new Constant(false);
+
+        public static Constant of(boolean value) {
+            return value ? TRUE : FALSE;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return value;
+        }
+
+        @Override
+        public int cost() {
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return Boolean.toString(value);
+        }
+    }
+
+    // ---- combinators -----------------------------------------------------
+
+    record And(List<TaskPredicate> terms) implements TaskCondition {
+        public And {
+            terms = List.copyOf(terms);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (TaskPredicate p : terms) if (!p.test(task)) return false;
+            return true;
+        }
+
+        @Override
+        public int cost() {
+            return terms.stream().mapToInt(TaskCondition::costOf).sum();
+        }
+
+        @Override
+        public String toString() {
+            return terms.stream().map(Object::toString).collect(Collectors.joining(" and ", "(", ")"));
+        }
+    }
+
+    record Or(List<TaskPredicate> terms) implements TaskCondition {
+        public Or {
+            terms = List.copyOf(terms);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (TaskPredicate p : terms) if (p.test(task)) return true;
+            return false;
+        }
+
+        @Override
+        public int cost() {
+            return terms.stream().mapToInt(TaskCondition::costOf).sum();
+        }
+
+        @Override
+        public String toString() {
+            return terms.stream().map(Object::toString).collect(Collectors.joining(" or ", "(", ")"));
+        }
+    }
+
+    record Not(TaskPredicate term) implements TaskCondition {
+        @Override
+        public boolean test(Task task) {
+            return !term.test(task);
+        }
+
+        @Override
+        public int cost() {
+            return costOf(term);
+        }
+
+        @Override
+        public String toString() {
+            return "not " + term;
+        }
+    }
+
+    // ---- analysis --------------------------------------------------------
+
+    // opaque lambdas are assumed expensive
+    static int costOf(TaskPredicate p) {
+        return p instanceof TaskCondition c ? c.cost() : 10;
+    }
+
+    // true when no opaque lambda appears anywhere in the tree
+    static boolean isInspectable(TaskPredicate p) {
+        if (p instanceof And a) return a.terms().stream().allMatch(TaskCondition::isInspectable);
+        if (p instanceof Or o) return o.terms().stream().allMatch(TaskCondition::isInspectable);
+        if (p instanceof Not n) return isInspectable(n.term());
+        return p instanceof TaskCondition;
+    }
+
+    // pins every clock-reading overdue term to one reference time
+    static TaskPredicate bindNow(TaskPredicate p, LocalDateTime now) {
+        if (p instanceof Overdue o) return o.asOf() == null ? new Overdue(now) : o;
+        if (p instanceof And a) return new And(a.terms().stream().map(t -> bindNow(t, now)).toList());
+        if (p instanceof Or o) return new Or(o.terms().stream().map(t -> bindNow(t, now)).toList());
+        if (p instanceof Not n) return new Not(bindNow(n.term(), now));
+        return p;
+    }
+
+    /**
+     * Normal form: negations pushed to the leaves, nested and/or flattened,
+     * status and priority terms merged into one mask per level, constants
+     * folded away, and remaining terms ordered by cost.
+     */
+    static TaskPredicate simplify(TaskPredicate p) {
+        return normalize(p, false);
+    }
+
+    // flat evaluator for the simplified tree
+    static TaskPredicate compile(TaskPredicate p) {
+        return CompiledPredicate.of(simplify(p));
+    }
+
+    private static TaskPredicate normalize(TaskPredicate p, boolean negated) {
+        if (p instanceof Not n) return normalize(n.term(), !negated);
+        if (p instanceof StatusIn s) return negated ? new StatusIn(~s.mask() & StatusIn.ALL) : s;
+        if (p instanceof PriorityIn q) return negated ? new PriorityIn(~q.mask() & PriorityIn.ALL) : q;
+        if (p instanceof Constant c) return negated ? Constant.of(!c.value()) : c;
+        // De Morgan: a negated and becomes an or of negations and vice versa
+        if (p instanceof And a) return combine(a.terms(), negated, !negated);
+        if (p instanceof Or o) return combine(o.terms(), negated, negated);
+        return negated ? new Not(p) : p;
+    }
+
+    private static TaskPredicate combine(List<TaskPredicate> terms, boolean negated, boolean conjunction) {
+        int statusMask = conjunction ? StatusIn.ALL : 0;
+        int priorityMask = conjunction ? PriorityIn.ALL : 0;
+        boolean hasStatus = false;
+        boolean hasPriority = false;
+        List<TaskPredicate> rest = new ArrayList<>();
+
+        Deque<TaskPredicate> pending = new ArrayDeque<>();
+        for (TaskPredicate t : terms) pending.add(normalize(t, negated));
+        while (!pending.isEmpty()) {
+            TaskPredicate t = pending.poll();
+            if (conjunction && t instanceof And a) {
+                pending.addAll(a.terms());
+            } else if (!conjunction && t instanceof Or o) {
+                pending.addAll(o.terms());
+            } else if (t instanceof StatusIn s) {
+                statusMask = conjunction ? statusMask & s.mask() : statusMask | s.mask();
+                hasStatus = true;
+            } else if (t instanceof PriorityIn q) {
+                priorityMask = conjunction ? priorityMask & q.mask() : priorityMask | q.mask();
+                hasPriority = true;
+            } else if (t instanceof Constant c) {
+                // true absorbs an or, false absorbs an and; the neutral value drops out
+                if (c.value() != conjunction) return c;
+            } else {
+                rest.add(t);
+            }
+        }
+
+        List<TaskPredicate> out = new ArrayList<>();
+        if (hasStatus) {
+            if (statusMask == (conjunction ? 0 : StatusIn.ALL)) return Constant.of(!conjunction);
+            if (statusMask != (conjunction ? StatusIn.ALL : 0)) out.add(new StatusIn(statusMask));
+        }
+        if (hasPriority) {
+            if (priorityMask == (conjunction ? 0 : PriorityIn.ALL)) return Constant.of(!conjunction);
+            if (priorityMask != (conjunction ? PriorityIn.ALL : 0)) out.add(new PriorityIn(priorityMask));
+        }
+        rest.sort(Comparator.comparingInt(TaskCondition::costOf));
+        out.addAll(rest);
+
+        if (out.isEmpty()) return Constant.of(conjunction);
+        if (out.size() == 1) return out.get(0);
+        return conjunction ? new And(out) : new Or(out);
+    }
+}
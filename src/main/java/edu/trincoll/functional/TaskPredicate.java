@@ -1,40 +1,56 @@
 package edu.trincoll.functional;
 
 import edu.trincoll.model.Task;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 import java.util.function.Predicate;
 
 @FunctionalInterface
 public interface TaskPredicate extends Predicate<Task> {
 
+    // combinators build an inspectable TaskCondition tree
     default TaskPredicate and(TaskPredicate other) {
-        return task -> this.test(task) && other.test(task);
+        return new TaskCondition.And(List.of(this, other));
     }
 
     default TaskPredicate or(TaskPredicate other) {
-        return task -> this.test(task) || other.test(task);
+        return new TaskCondition.Or(List.of(this, other));
     }
 
     default TaskPredicate negate() {
-        return task -> !this.test(task);
+        return new TaskCondition.Not(this);
+    }
+
+    // simplified, reordered and flattened evaluator with the same results
+    default TaskPredicate compile() {
+        return TaskCondition.compile(this);
     }
 
     static TaskPredicate byStatus(Task.Status status) {
-        return task -> task.status() == status;
+        return new TaskCondition.StatusIn(TaskCondition.StatusIn.bit(status));
     }
 
     static TaskPredicate byPriority(Task.Priority priority) {
-        return task -> task.priority() == priority;
+        return new TaskCondition.PriorityIn(TaskCondition.PriorityIn.bit(priority));
     }
 
     static TaskPredicate hasTag(String tag) {
-        return task -> task.tags() != null && task.tags().contains(tag);
+        return new TaskCondition.HasTag(tag);
     }
 
+    // reads the clock for each task; analyzers pin it to one instant per query
     static TaskPredicate isOverdue() {
-        return Task::isOverdue;
+        return new TaskCondition.Overdue(null);
+    }
+
+    static TaskPredicate isOverdueAt(LocalDateTime now) {
+        return new TaskCondition.Overdue(Objects.requireNonNull(now));
     }
 
+    // TODO or IN_PROGRESS, as in Task.isActive
     static TaskPredicate isActive() {
-        return Task::isActive;
+        return new TaskCondition.StatusIn(TaskCondition.StatusIn.bit(Task.Status.TODO)
+                | TaskCondition.StatusIn.bit(Task.Status.IN_PROGRESS));
     }
 }
\ No newline at end of file
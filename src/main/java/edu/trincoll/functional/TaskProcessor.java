@@ -1,5 +1,8 @@
 package edu.trincoll.functional;
 
+import edu.trincoll.logging.LogLevel;
+import edu.trincoll.logging.TaskLog;
+import edu.trincoll.logging.TaskLogger;
 import edu.trincoll.model.Task;
 import java.util.List;
 
@@ -15,10 +18,16 @@ public interface TaskProcessor {
         };
     }
 
+    // one INFO event per batch, plus one DEBUG event carrying all its titles;
+    // events stay constant per batch, so large batches cannot flood the async sink
     static TaskProcessor logTasks(String message) {
+        TaskLogger log = TaskLog.logger(TaskProcessor.class);
         return tasks -> {
-            System.out.println(message + ": " + tasks.size() + " tasks");
-            tasks.forEach(task -> System.out.println("  - " + task.title()));
+            if (!log.isEnabled(LogLevel.INFO)) return;
+            log.info(message, "tasks", tasks.size());
+            if (log.isDebugEnabled()) {
+                log.debug(message, "titles", tasks.stream().map(Task::title).toArray());
+            }
         };
     }
 }
\ No newline at end of file
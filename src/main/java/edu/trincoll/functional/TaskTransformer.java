@@ -1,40 +1,49 @@
 package edu.trincoll.functional;
 
 import edu.trincoll.model.Task;
+import java.time.LocalDateTime;
+import java.util.Set;
 import java.util.function.Function;
 
 @FunctionalInterface
 public interface TaskTransformer extends Function<Task, Task> {
 
+    // adjacent setters in the chain merge into one FieldUpdate
     default TaskTransformer andThen(TaskTransformer after) {
-        return task -> after.apply(this.apply(task));
+        return TransformerChain.of(this, after);
     }
 
+    // returns every task unchanged
+    static TaskTransformer identity() {
+        return FieldUpdate.NONE;
+    }
+
+    // setters return the same task when the field already holds the value
     static TaskTransformer withStatus(Task.Status newStatus) {
-        return task -> new Task(
-            task.id(),
-            task.title(),
-            task.description(),
-            task.priority(),
-            newStatus,
-            task.tags(),
-            task.createdAt(),
-            task.dueDate(),
-            task.estimatedHours()
-        );
+        return FieldUpdate.of(FieldUpdate.Field.STATUS, newStatus);
     }
 
     static TaskTransformer withPriority(Task.Priority newPriority) {
-        return task -> new Task(
-            task.id(),
-            task.title(),
-            task.description(),
-            newPriority,
-            task.status(),
-            task.tags(),
-            task.createdAt(),
-            task.dueDate(),
-            task.estimatedHours()
-        );
-    }
-}
\ No newline at end of file
+        return FieldUpdate.of(FieldUpdate.Field.PRIORITY, newPriority);
+    }
+
+    static TaskTransformer withTitle(String title) {
+        return FieldUpdate.of(FieldUpdate.Field.TITLE, title);
+    }
+
+    static TaskTransformer withDescription(String description) {
+        return FieldUpdate.of(FieldUpdate.Field.DESCRIPTION, description);
+    }
+
+    static TaskTransformer withTags(Set<String> tags) {
+        return FieldUpdate.of(FieldUpdate.Field.TAGS, tags);
+    }
+
+    static TaskTransformer withDueDate(LocalDateTime dueDate) {
+        return FieldUpdate.of(FieldUpdate.Field.DUE_DATE, dueDate);
+    }
+
+    static TaskTransformer withEstimatedHours(Integer estimatedHours) {
+        return FieldUpdate.of(FieldUpdate.Field.ESTIMATED_HOURS, estimatedHours);
+    }
+}
@@ -0,0 +1,45 @@
+package edu.trincoll.functional;
+
+import edu.trincoll.model.Task;
+
+import java.util.*;
+
+/**
+ * Flattened TaskTransformer.andThen sequence. Building one splices nested
+ * chains and merges adjacent FieldUpdates, so setters separated only by other
+ * setters cost a single record copy.
+ */
+final class TransformerChain implements TaskTransformer {
+    private final TaskTransformer[] steps;
+
+    private TransformerChain(TaskTransformer[] steps) {
+        this.steps = steps;
+    }
+
+    static TaskTransformer of(TaskTransformer first, TaskTransformer then) {
+        List<TaskTransformer> out = new ArrayList<>();
+        append(out, first);
+        append(out, then);
+        return out.size() == 1 ? out.get(0) : new TransformerChain(out.toArray(new TaskTransformer[0]));
+    }
+
+    private static void append(List<TaskTransformer> out, TaskTransformer step) {
+        if (step instanceof TransformerChain c) {
+            for (TaskTransformer s : c.steps) append(out, s);
+        } else if (step instanceof FieldUpdate u && !out.isEmpty() && out.get(out.size() - 1) instanceof FieldUpdate last) {
+            out.set(out.size() - 1, last.merge(u));
+        } else {
+            out.add(step);
+        }
+    }
+
+    List<TaskTransformer> steps() {
+        return List.of(steps);
+    }
+
+    @Override
+    public Task apply(Task task) {
+        for (TaskTransformer step : steps) task = step.apply(task);
+        return task;
+    }
+}
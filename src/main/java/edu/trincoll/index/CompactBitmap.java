@@ -0,0 +1,368 @@
+package edu.trincoll.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints in the style of a roaring bitmap: values
+ * are split on their high 16 bits into chunks, each stored as a sorted char
+ * array while sparse and as a 65536-bit bitmap once it passes 4096 entries.
+ */
+public final class CompactBitmap {
+    private static final int ARRAY_MAX = 4096;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int chunks;
+
+    public void add(int value) {
+        checkValue(value);
+        int i = chunkIndex((char) (value >>> 16));
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, (char) (value >>> 16), new ArrayContainer());
+        }
+        containers[i] = containers[i].add((char) value);
+    }
+
+    public void remove(int value) {
+        if (value < 0) return;
+        int i = chunkIndex((char) (value >>> 16));
+        if (i < 0) return;
+        containers[i] = containers[i].remove((char) value);
+        if (containers[i].cardinality() == 0) removeChunk(i);
+    }
+
+    public void clear() {
+        keys = new char[0];
+        containers = new Container[0];
+        chunks = 0;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) return false;
+        int i = chunkIndex((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    public int cardinality() {
+        int n = 0;
+        for (int i = 0; i < chunks; i++) n += containers[i].cardinality();
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return chunks == 0;
+    }
+
+    // smallest value, or -1 when empty
+    public int first() {
+        if (chunks == 0) return -1;
+        return (keys[0] << 16) | containers[0].first();
+    }
+
+    // ascending order
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < chunks; i++) containers[i].forEach(keys[i] << 16, consumer);
+    }
+
+    public int[] toArray() {
+        int[] out = new int[cardinality()];
+        int[] pos = {0};
+        forEach(v -> out[pos[0]++] = v);
+        return out;
+    }
+
+    public static CompactBitmap and(CompactBitmap a, CompactBitmap b) {
+        CompactBitmap out = new CompactBitmap();
+        int i = 0, j = 0;
+        while (i < a.chunks && j < b.chunks) {
+            if (a.keys[i] < b.keys[j]) i++;
+            else if (a.keys[i] > b.keys[j]) j++;
+            else {
+                Container c = a.containers[i].and(b.containers[j]);
+                if (c.cardinality() > 0) out.appendChunk(a.keys[i], c);
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    public static CompactBitmap or(CompactBitmap a, CompactBitmap b) {
+        CompactBitmap out = new CompactBitmap();
+        int i = 0, j = 0;
+        while (i < a.chunks || j < b.chunks) {
+            if (j == b.chunks || (i < a.chunks && a.keys[i] < b.keys[j])) {
+                out.appendChunk(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i == a.chunks || a.keys[i] > b.keys[j]) {
+                out.appendChunk(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                out.appendChunk(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    // values in a but not in b
+    public static CompactBitmap andNot(CompactBitmap a, CompactBitmap b) {
+        CompactBitmap out = new CompactBitmap();
+        int j = 0;
+        for (int i = 0; i < a.chunks; i++) {
+            while (j < b.chunks && b.keys[j] < a.keys[i]) j++;
+            Container c = (j < b.chunks && b.keys[j] == a.keys[i])
+                    ? a.containers[i].andNot(b.containers[j])
+                    : a.containers[i].copy();
+            if (c.cardinality() > 0) out.appendChunk(a.keys[i], c);
+        }
+        return out;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) throw new IllegalArgumentException("negative value: " + value);
+    }
+
+    private int chunkIndex(char key) {
+        return Arrays.binarySearch(keys, 0, chunks, key);
+    }
+
+    private void insertChunk(int i, char key, Container c) {
+        ensureCapacity();
+        System.arraycopy(keys, i, keys, i + 1, chunks - i);
+        System.arraycopy(containers, i, containers, i + 1, chunks - i);
+        keys[i] = key;
+        containers[i] = c;
+        chunks++;
+    }
+
+    private void appendChunk(char key, Container c) {
+        ensureCapacity();
+        keys[chunks] = key;
+        containers[chunks++] = c;
+    }
+
+    private void removeChunk(int i) {
+        System.arraycopy(keys, i + 1, keys, i, chunks - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, chunks - i - 1);
+        containers[--chunks] = null;
+    }
+
+    private void ensureCapacity() {
+        if (chunks == keys.length) {
+            int n = Math.max(4, chunks * 2);
+            keys = Arrays.copyOf(keys, n);
+            containers = Arrays.copyOf(containers, n);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompactBitmap other && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    // ---- containers ------------------------------------------------------
+
+    private abstract static class Container {
+        abstract Container add(char v);
+
+        abstract Container remove(char v);
+
+        abstract boolean contains(char v);
+
+        abstract int cardinality();
+
+        abstract char first();
+
+        abstract void forEach(int high, IntConsumer consumer);
+
+        abstract Container copy();
+
+        abstract BitmapContainer toBitmap();
+
+        Container and(Container other) {
+            if (this instanceof ArrayContainer a) return a.filter(other, true);
+            if (other instanceof ArrayContainer b) return b.filter(this, true);
+            return ((BitmapContainer) this).combine((BitmapContainer) other, 0).shrink();
+        }
+
+        Container or(Container other) {
+            return toBitmap().combine(other.toBitmap(), 1).shrink();
+        }
+
+        Container andNot(Container other) {
+            if (this instanceof ArrayContainer a) return a.filter(other, false);
+            return ((BitmapContainer) this).combine(other.toBitmap(), 2).shrink();
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values = new char[4];
+        private int size;
+
+        @Override
+        Container add(char v) {
+            int i = Arrays.binarySearch(values, 0, size, v);
+            if (i >= 0) return this;
+            if (size == ARRAY_MAX) return toBitmap().add(v);
+            i = -i - 1;
+            if (size == values.length) values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            System.arraycopy(values, i, values, i + 1, size - i);
+            values[i] = v;
+            size++;
+            return this;
+        }
+
+        @Override
+        Container remove(char v) {
+            int i = Arrays.binarySearch(values, 0, size, v);
+            if (i < 0) return this;
+            System.arraycopy(values, i + 1, values, i, size - i - 1);
+            size--;
+            return this;
+        }
+
+        @Override
+        boolean contains(char v) {
+            return Arrays.binarySearch(values, 0, size, v) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        char first() {
+            return values[0];
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < size; i++) consumer.accept(high | values[i]);
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer c = new ArrayContainer();
+            c.values = Arrays.copyOf(values, Math.max(4, size));
+            c.size = size;
+            return c;
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            BitmapContainer b = new BitmapContainer();
+            for (int i = 0; i < size; i++) b.set(values[i]);
+            return b;
+        }
+
+        // keep values that are (or are not) in other
+        Container filter(Container other, boolean keep) {
+            ArrayContainer out = new ArrayContainer();
+            out.values = new char[Math.max(4, size)];
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i]) == keep) out.values[out.size++] = values[i];
+            }
+            return out;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words = new long[1024];
+        private int cardinality;
+
+        void set(char v) {
+            long before = words[v >>> 6];
+            words[v >>> 6] |= 1L << v;
+            if (before != words[v >>> 6]) cardinality++;
+        }
+
+        @Override
+        Container add(char v) {
+            set(v);
+            return this;
+        }
+
+        @Override
+        Container remove(char v) {
+            long before = words[v >>> 6];
+            words[v >>> 6] &= ~(1L << v);
+            if (before != words[v >>> 6]) cardinality--;
+            return shrink();
+        }
+
+        @Override
+        boolean contains(char v) {
+            return (words[v >>> 6] & (1L << v)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        char first() {
+            for (int w = 0; w < words.length; w++) {
+                if (words[w] != 0) return (char) (w * 64 + Long.numberOfTrailingZeros(words[w]));
+            }
+            throw new IllegalStateException("empty container");
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    consumer.accept(high | (w * 64 + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            return combine(this, 1);
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            return this;
+        }
+
+        // op 0 = and, 1 = or, 2 = and-not
+        BitmapContainer combine(BitmapContainer other, int op) {
+            BitmapContainer out = new BitmapContainer();
+            int card = 0;
+            for (int w = 0; w < words.length; w++) {
+                long v = switch (op) {
+                    case 0 -> words[w] & other.words[w];
+                    case 1 -> words[w] | other.words[w];
+                    default -> words[w] & ~other.words[w];
+                };
+                out.words[w] = v;
+                card += Long.bitCount(v);
+            }
+            out.cardinality = card;
+            return out;
+        }
+
+        // back to a sorted array once sparse enough
+        Container shrink() {
+            if (cardinality > ARRAY_MAX) return this;
+            ArrayContainer a = new ArrayContainer();
+            a.values = new char[Math.max(4, cardinality)];
+            forEach(0, v -> a.values[a.size++] = (char) v);
+            return a;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package edu.trincoll.index;
+
+import edu.trincoll.model.Task;
+
+import java.util.*;
+
+/**
+ * Mutable task list that keeps its indexes in step with every add, remove and replace.
+ * Pass it to an analyzer as the live backing list and mutate it directly.
+ */
+public class IndexedTaskList extends AbstractList<Task> implements RandomAccess {
+    private final List<Task> tasks;
+    private final TaskIndex index = new TaskIndex();
+    private final List<TaskChangeListener> listeners = new ArrayList<>();
+    private long version;
+
+    public IndexedTaskList() {
+        this.tasks = new ArrayList<>();
+        listeners.add(index);
+    }
+
+    public IndexedTaskList(Collection<Task> initial) {
+        this.tasks = new ArrayList<>(initial.size());
+        listeners.add(index);
+        // not through addAll: a subclass override must not run before construction ends
+        for (Task task : initial) {
+            tasks.add(Objects.requireNonNull(task));
+            index.added(task);
+        }
+    }
+
+    @Override
+    public Task get(int i) {
+        return tasks.get(i);
+    }
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+
+    @Override
+    public void add(int i, Task task) {
+        Objects.requireNonNull(task);
+        tasks.add(i, task);
+        version++;
+        modCount++;
+        for (TaskChangeListener l : listeners) {
+            l.added(task);
+            if (i != tasks.size() - 1) l.reordered();
+        }
+    }
+
+    @Override
+    public Task set(int i, Task task) {
+        Objects.requireNonNull(task);
+        int occurrence = occurrenceAt(i);
+        Task old = tasks.set(i, task);
+        version++;
+        for (TaskChangeListener l : listeners) l.replaced(old, occurrence, task);
+        return old;
+    }
+
+    @Override
+    public Task remove(int i) {
+        int occurrence = occurrenceAt(i);
+        Task old = tasks.remove(i);
+        version++;
+        modCount++;
+        for (TaskChangeListener l : listeners) l.removed(old, occurrence);
+        return old;
+    }
+
+    // equal tasks before position i; only duplicates pay for the scan
+    private int occurrenceAt(int i) {
+        Task task = tasks.get(i);
+        if (index.byId(task.id()).count(task) < 2) return 0;
+        int before = 0;
+        for (int j = 0; j < i; j++) if (task.equals(tasks.get(j))) before++;
+        return before;
+    }
+
+    @Override
+    public void clear() {
+        tasks.clear();
+        version++;
+        modCount++;
+        listeners.forEach(TaskChangeListener::cleared);
+    }
+
+    // bumped on every mutation, structural or not
+    public long version() {
+        return version;
+    }
+
+    // indexes in list order, rebuilt lazily after out-of-order mutations
+    public TaskIndex index() {
+        return fresh(index);
+    }
+
+    // replays the list into a stale listener before handing it back
+    public <L extends TaskChangeListener> L fresh(L listener) {
+        if (listener.isStale()) {
+            listener.cleared();
+            tasks.forEach(listener::added);
+        }
+        return listener;
+    }
+
+    // register an extra listener; it is first replayed over the current contents
+    public void addListener(TaskChangeListener listener) {
+        tasks.forEach(listener::added);
+        listeners.add(listener);
+    }
+
+    // stop notifying a listener; the list's own index cannot be removed
+    public boolean removeListener(TaskChangeListener listener) {
+        if (listener == index) return false;
+        return listeners.removeIf(l -> l == listener);
+    }
+}
@@ -0,0 +1,101 @@
+package edu.trincoll.index;
+
+import edu.trincoll.model.Task;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Tasks sharing one index key, one entry per list occurrence, ordered by the
+ * index sequence numbers they were added with. Those numbers order tasks
+ * across posting lists the same way as the backing list, so equal tasks at
+ * different positions keep their places, and a task added under an earlier
+ * number (a replacement in place) lands where it belongs. Add and remove are
+ * O(log n) for tasks that occur once.
+ */
+public final class PostingList {
+
+    // receives each occurrence with its sequence number
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(Task task, long seq);
+    }
+
+    private final TreeMap<Long, Task> bySeq = new TreeMap<>();
+    // sequence numbers of each distinct task, ascending, so the k-th is its k-th occurrence in list order
+    private final Map<Task, long[]> seqsOf = new HashMap<>();
+
+    void add(Task task, long seq) {
+        bySeq.put(seq, task);
+        seqsOf.merge(task, new long[] {seq}, PostingList::insert);
+    }
+
+    // sequence number of the task's occurrence-th copy, or -1 when absent
+    long seqOf(Task task, int occurrence) {
+        long[] seqs = seqsOf.get(task);
+        if (seqs == null) return -1;
+        return seqs[Math.min(Math.max(occurrence, 0), seqs.length - 1)];
+    }
+
+    // drops the task's occurrence-th copy (0 = first in list order); true when it was present
+    boolean remove(Task task, int occurrence) {
+        long[] seqs = seqsOf.get(task);
+        if (seqs == null) return false;
+        int k = Math.min(Math.max(occurrence, 0), seqs.length - 1);
+        bySeq.remove(seqs[k]);
+        if (seqs.length == 1) {
+            seqsOf.remove(task);
+        } else {
+            long[] rest = new long[seqs.length - 1];
+            System.arraycopy(seqs, 0, rest, 0, k);
+            System.arraycopy(seqs, k + 1, rest, k, rest.length - k);
+            seqsOf.put(task, rest);
+        }
+        return true;
+    }
+
+    // keeps seqs ascending; appends in the common case of a new last occurrence
+    private static long[] insert(long[] seqs, long[] more) {
+        long seq = more[0];
+        int at = seq > seqs[seqs.length - 1] ? seqs.length : -Arrays.binarySearch(seqs, seq) - 1;
+        long[] out = new long[seqs.length + 1];
+        System.arraycopy(seqs, 0, out, 0, at);
+        out[at] = seq;
+        System.arraycopy(seqs, at, out, at + 1, seqs.length - at);
+        return out;
+    }
+
+    public int size() {
+        return bySeq.size();
+    }
+
+    public boolean isEmpty() {
+        return bySeq.isEmpty();
+    }
+
+    public boolean contains(Task task) {
+        return seqsOf.containsKey(task);
+    }
+
+    // occurrences of tasks equal to this one
+    public int count(Task task) {
+        long[] seqs = seqsOf.get(task);
+        return seqs == null ? 0 : seqs.length;
+    }
+
+    public Optional<Task> first() {
+        return bySeq.isEmpty() ? Optional.empty() : Optional.of(bySeq.firstEntry().getValue());
+    }
+
+    public void forEachEntry(EntryConsumer consumer) {
+        bySeq.forEach((seq, task) -> consumer.accept(task, seq));
+    }
+
+    public Stream<Task> stream() {
+        return bySeq.values().stream();
+    }
+
+    public List<Task> toList() {
+        return new ArrayList<>(bySeq.values());
+    }
+}
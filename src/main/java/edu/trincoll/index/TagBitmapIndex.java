@@ -0,0 +1,175 @@
+package edu.trincoll.index;
+
+import edu.trincoll.model.Task;
+
+import java.util.*;
+
+/**
+ * Tag index over task ordinals: tags are interned in a {@link TagDictionary} and
+ * each tag id owns a {@link CompactBitmap} of the ordinals carrying it.
+ * Ordinals follow list order, so bitmap iteration yields tasks in list order.
+ * Removed ordinals leave holes; the index asks to be rebuilt once they pile up.
+ */
+public class TagBitmapIndex implements TaskChangeListener {
+    private final TagDictionary dictionary = new TagDictionary();
+    private final List<CompactBitmap> bitmaps = new ArrayList<>();
+    private final CompactBitmap live = new CompactBitmap();
+    private final List<Task> slots = new ArrayList<>();
+    // ordinals held by equal tasks, ascending, so the k-th is the k-th occurrence in list order
+    private final Map<Task, int[]> ordinals = new HashMap<>();
+    private int liveCount;
+    private boolean ordered = true;
+
+    @Override
+    public void added(Task task) {
+        int ordinal = slots.size();
+        slots.add(null);
+        fill(ordinal, task);
+    }
+
+    // the new task reuses the old one's ordinal, so bitmaps stay in list order
+    @Override
+    public void replaced(Task old, int occurrence, Task task) {
+        int ordinal = release(old, occurrence);
+        if (ordinal < 0) {
+            TaskChangeListener.super.replaced(old, occurrence, task);
+            return;
+        }
+        fill(ordinal, task);
+    }
+
+    private void fill(int ordinal, Task task) {
+        slots.set(ordinal, task);
+        live.add(ordinal);
+        liveCount++;
+        ordinals.merge(task, new int[] {ordinal}, TagBitmapIndex::insert);
+        if (task.tags() == null) return;
+        for (String tag : task.tags()) {
+            int id = dictionary.intern(tag);
+            if (id == bitmaps.size()) bitmaps.add(new CompactBitmap());
+            bitmaps.get(id).add(ordinal);
+        }
+    }
+
+    // first occurrence, like List.remove(Object)
+    @Override
+    public void removed(Task task) {
+        removed(task, 0);
+    }
+
+    @Override
+    public void removed(Task task, int occurrence) {
+        release(task, occurrence);
+    }
+
+    // clears the ordinal of the task's occurrence-th copy and returns it, or -1 when absent
+    private int release(Task task, int occurrence) {
+        int[] held = ordinals.get(task);
+        if (held == null) return -1;
+        int k = Math.min(Math.max(occurrence, 0), held.length - 1);
+        int ordinal = held[k];
+        if (held.length == 1) {
+            ordinals.remove(task);
+        } else {
+            int[] rest = new int[held.length - 1];
+            System.arraycopy(held, 0, rest, 0, k);
+            System.arraycopy(held, k + 1, rest, k, rest.length - k);
+            ordinals.put(task, rest);
+        }
+        slots.set(ordinal, null);
+        live.remove(ordinal);
+        liveCount--;
+        if (task.tags() != null) {
+            for (String tag : task.tags()) {
+                int id = dictionary.idOf(tag);
+                if (id >= 0) bitmaps.get(id).remove(ordinal);
+            }
+        }
+        return ordinal;
+    }
+
+    @Override
+    public void reordered() {
+        ordered = false;
+    }
+
+    // the dictionary keeps its ids; only the bitmaps are reset
+    @Override
+    public void cleared() {
+        bitmaps.forEach(CompactBitmap::clear);
+        slots.clear();
+        ordinals.clear();
+        live.clear();
+        liveCount = 0;
+        ordered = true;
+    }
+
+    // out of list order, or more holes than live ordinals
+    @Override
+    public boolean isStale() {
+        return !ordered || slots.size() - liveCount > Math.max(1024, liveCount);
+    }
+
+    // keeps ordinals ascending; appends in the common case of a new last occurrence
+    private static int[] insert(int[] held, int[] more) {
+        int ordinal = more[0];
+        int at = ordinal > held[held.length - 1] ? held.length : -Arrays.binarySearch(held, ordinal) - 1;
+        int[] out = new int[held.length + 1];
+        System.arraycopy(held, 0, out, 0, at);
+        out[at] = ordinal;
+        System.arraycopy(held, at, out, at + 1, held.length - at);
+        return out;
+    }
+
+    public TagDictionary dictionary() {
+        return dictionary;
+    }
+
+    // ordinals of tasks carrying the tag; treat as read-only
+    public CompactBitmap bitmap(String tag) {
+        int id = dictionary.idOf(tag);
+        return id < 0 ? new CompactBitmap() : bitmaps.get(id);
+    }
+
+    // ordinals of every task in the list, the universe for NOT
+    public CompactBitmap all() {
+        return live;
+    }
+
+    public List<Task> tasksOf(CompactBitmap ordinalSet) {
+        List<Task> out = new ArrayList<>(ordinalSet.cardinality());
+        ordinalSet.forEach(ordinal -> out.add(slots.get(ordinal)));
+        return out;
+    }
+
+    // distinct tags in order of first appearance, matching a LinkedHashSet over the list
+    public Set<String> uniqueTags() {
+        Map<Integer, List<Integer>> firstSeen = new TreeMap<>();
+        for (int id = 0; id < bitmaps.size(); id++) {
+            int first = bitmaps.get(id).first();
+            if (first >= 0) firstSeen.computeIfAbsent(first, k -> new ArrayList<>()).add(id);
+        }
+        Set<String> out = new LinkedHashSet<>();
+        firstSeen.forEach((ordinal, ids) -> {
+            if (ids.size() == 1) {
+                out.add(dictionary.tag(ids.get(0)));
+                return;
+            }
+            // several tags first seen on one task: keep that task's iteration order
+            for (String tag : slots.get(ordinal).tags()) {
+                if (ids.contains(dictionary.idOf(tag))) out.add(tag);
+            }
+        });
+        return out;
+    }
+
+    // every tag occurrence in sorted order, one entry per carrying task
+    public List<String> sortedTagOccurrences() {
+        List<String> out = new ArrayList<>();
+        for (int id : dictionary.sortedIds()) {
+            int count = bitmaps.get(id).cardinality();
+            for (int i = 0; i < count; i++) out.add(dictionary.tag(id));
+        }
+        return out;
+    }
+}
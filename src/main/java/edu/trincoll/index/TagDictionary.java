@@ -0,0 +1,48 @@
+package edu.trincoll.index;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Interns tag strings to dense int ids, assigned in first-seen order.
+ * Ids are never reused, so they stay valid as tasks come and go.
+ */
+public final class TagDictionary {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> tags = new ArrayList<>();
+    private int[] sorted = new int[0];
+
+    public int intern(String tag) {
+        Integer id = ids.get(tag);
+        if (id != null) return id;
+        int next = tags.size();
+        ids.put(tag, next);
+        tags.add(tag);
+        return next;
+    }
+
+    // -1 when the tag was never seen
+    public int idOf(String tag) {
+        return ids.getOrDefault(tag, -1);
+    }
+
+    public String tag(int id) {
+        return tags.get(id);
+    }
+
+    public int size() {
+        return tags.size();
+    }
+
+    // ids ordered by their tag's natural string order; re-sorted only after new tags
+    public int[] sortedIds() {
+        if (sorted.length != tags.size()) {
+            sorted = IntStream.range(0, tags.size())
+                    .boxed()
+                    .sorted(Comparator.comparing(tags::get))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        return sorted;
+    }
+}
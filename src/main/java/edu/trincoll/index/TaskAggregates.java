@@ -0,0 +1,86 @@
+package edu.trincoll.index;
+
+import edu.trincoll.model.Task;
+
+import java.util.*;
+
+/**
+ * Running sums and per-enum counts kept current by {@link IndexedTaskList} mutations.
+ * Every read is O(1).
+ */
+public class TaskAggregates implements TaskChangeListener {
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+    private static final Task.Status[] STATUSES = Task.Status.values();
+
+    private long count;
+    private long hoursSum;
+    private long hoursCount;
+    // one extra trailing slot counts tasks with a null priority or status
+    private final long[] byPriority = new long[PRIORITIES.length + 1];
+    private final long[] byStatus = new long[STATUSES.length + 1];
+
+    @Override
+    public void added(Task task) {
+        apply(task, 1);
+    }
+
+    @Override
+    public void removed(Task task) {
+        apply(task, -1);
+    }
+
+    @Override
+    public void cleared() {
+        count = hoursSum = hoursCount = 0;
+        Arrays.fill(byPriority, 0);
+        Arrays.fill(byStatus, 0);
+    }
+
+    private void apply(Task task, int sign) {
+        count += sign;
+        if (task.estimatedHours() != null) {
+            hoursSum += sign * (long) task.estimatedHours();
+            hoursCount += sign;
+        }
+        byPriority[task.priority() == null ? PRIORITIES.length : task.priority().ordinal()] += sign;
+        byStatus[task.status() == null ? STATUSES.length : task.status().ordinal()] += sign;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long hoursSum() {
+        return hoursSum;
+    }
+
+    public long hoursCount() {
+        return hoursCount;
+    }
+
+    public long countByPriority(Task.Priority priority) {
+        return byPriority[priority.ordinal()];
+    }
+
+    public long countByStatus(Task.Status status) {
+        return byStatus[status.ordinal()];
+    }
+
+    public long countWithoutPriority() {
+        return byPriority[PRIORITIES.length];
+    }
+
+    public long countWithoutStatus() {
+        return byStatus[STATUSES.length];
+    }
+
+    // only present priorities, like groupingBy(counting()), which also rejects null keys
+    public Map<Task.Priority, Long> priorityCounts() {
+        if (countWithoutPriority() > 0) throw new NullPointerException("element cannot be mapped to a null key");
+        Map<Task.Priority, Long> out = new EnumMap<>(Task.Priority.class);
+        for (Task.Priority p : PRIORITIES) {
+            if (byPriority[p.ordinal()] > 0) out.put(p, byPriority[p.ordinal()]);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,37 @@
+package edu.trincoll.index;
+
+import edu.trincoll.model.Task;
+
+// Notified by IndexedTaskList on every mutation
+public interface TaskChangeListener {
+
+    void added(Task task);
+
+    void removed(Task task);
+
+    // occurrence counts the equal tasks before the removed one in list order;
+    // listeners that tell equal tasks apart by position override this
+    default void removed(Task task, int occurrence) {
+        removed(task);
+    }
+
+    // task took old's position in the list; occurrence is counted as for removed.
+    // Listeners that track positions override this to keep the slot in place
+    default void replaced(Task old, int occurrence, Task task) {
+        removed(old, occurrence);
+        added(task);
+        reordered();
+    }
+
+    // a mutation moved tasks relative to each other (mid-list insert, or a replace
+    // through the default replaced)
+    default void reordered() {}
+
+    // drop all state before a bulk reload
+    void cleared();
+
+    // true when the listener wants to be cleared and replayed before its next read
+    default boolean isStale() {
+        return false;
+    }
+}
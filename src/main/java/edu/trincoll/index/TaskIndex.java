@@ -0,0 +1,167 @@
+package edu.trincoll.index;
+
+import edu.trincoll.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Primary id index plus secondary indexes on status, priority and tags, and a
+ * due-date ordered index of open tasks so the overdue set is a range lookup.
+ * Posting lists follow sequence numbers, which equal list order until a
+ * mid-list insert; a replace reuses the old task's number, so it keeps the
+ * order. {@link #isOrdered()} reports when a rebuild is due.
+ */
+public class TaskIndex implements TaskChangeListener {
+    private static final PostingList EMPTY = new PostingList();
+
+    private final Map<Long, PostingList> byId = new HashMap<>();
+    private final Map<Task.Status, PostingList> byStatus = new EnumMap<>(Task.Status.class);
+    private final Map<Task.Priority, PostingList> byPriority = new EnumMap<>(Task.Priority.class);
+    private final Map<String, PostingList> byTag = new HashMap<>();
+    // tasks not DONE or CANCELLED, by due date
+    private final TreeMap<LocalDateTime, PostingList> openByDue = new TreeMap<>();
+    // open tasks due strictly before the watermark, moved along as time advances
+    private LocalDateTime watermark = LocalDateTime.MIN;
+    private int overdueCount;
+    private boolean ordered = true;
+    // increases with list position while the index is ordered
+    private long nextSeq;
+
+    @Override
+    public void added(Task task) {
+        add(task, nextSeq++);
+    }
+
+    // the new task takes over the old one's sequence number, so every posting list stays in list order
+    @Override
+    public void replaced(Task old, int occurrence, Task task) {
+        long seq = byId(old.id()).seqOf(old, occurrence);
+        if (seq < 0) {
+            TaskChangeListener.super.replaced(old, occurrence, task);
+            return;
+        }
+        removed(old, occurrence);
+        add(task, seq);
+    }
+
+    private void add(Task task, long seq) {
+        byId.computeIfAbsent(task.id(), k -> new PostingList()).add(task, seq);
+        if (task.status() != null) {
+            byStatus.computeIfAbsent(task.status(), k -> new PostingList()).add(task, seq);
+        }
+        if (task.priority() != null) {
+            byPriority.computeIfAbsent(task.priority(), k -> new PostingList()).add(task, seq);
+        }
+        if (task.tags() != null) {
+            task.tags().forEach(tag -> byTag.computeIfAbsent(tag, k -> new PostingList()).add(task, seq));
+        }
+        if (isOpen(task)) {
+            openByDue.computeIfAbsent(task.dueDate(), k -> new PostingList()).add(task, seq);
+            if (task.dueDate().isBefore(watermark)) overdueCount++;
+        }
+    }
+
+    // first occurrence, like List.remove(Object)
+    @Override
+    public void removed(Task task) {
+        removed(task, 0);
+    }
+
+    @Override
+    public void removed(Task task, int occurrence) {
+        removeFrom(byId, task.id(), task, occurrence);
+        if (task.status() != null) removeFrom(byStatus, task.status(), task, occurrence);
+        if (task.priority() != null) removeFrom(byPriority, task.priority(), task, occurrence);
+        if (task.tags() != null) task.tags().forEach(tag -> removeFrom(byTag, tag, task, occurrence));
+        if (isOpen(task)) {
+            PostingList list = openByDue.get(task.dueDate());
+            if (list != null && list.remove(task, occurrence)) {
+                if (list.isEmpty()) openByDue.remove(task.dueDate());
+                if (task.dueDate().isBefore(watermark)) overdueCount--;
+            }
+        }
+    }
+
+    // can become overdue: has a due date and is not DONE or CANCELLED
+    private static boolean isOpen(Task task) {
+        return task.dueDate() != null
+                && task.status() != Task.Status.DONE
+                && task.status() != Task.Status.CANCELLED;
+    }
+
+    @Override
+    public void reordered() {
+        ordered = false;
+    }
+
+    @Override
+    public void cleared() {
+        byId.clear();
+        byStatus.clear();
+        byPriority.clear();
+        byTag.clear();
+        openByDue.clear();
+        overdueCount = 0;
+        ordered = true;
+        nextSeq = 0;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    @Override
+    public boolean isStale() {
+        return !ordered;
+    }
+
+    public PostingList byId(Long id) {
+        return byId.getOrDefault(id, EMPTY);
+    }
+
+    public PostingList byStatus(Task.Status status) {
+        return status == null ? EMPTY : byStatus.getOrDefault(status, EMPTY);
+    }
+
+    public PostingList byPriority(Task.Priority priority) {
+        return priority == null ? EMPTY : byPriority.getOrDefault(priority, EMPTY);
+    }
+
+    public PostingList byTag(String tag) {
+        return byTag.getOrDefault(tag, EMPTY);
+    }
+
+    // moves the watermark to now, touching only the due dates in between
+    private void advanceTo(LocalDateTime now) {
+        if (now.isAfter(watermark)) {
+            for (PostingList l : openByDue.subMap(watermark, true, now, false).values()) overdueCount += l.size();
+        } else if (now.isBefore(watermark)) {
+            for (PostingList l : openByDue.subMap(now, true, watermark, false).values()) overdueCount -= l.size();
+        }
+        watermark = now;
+    }
+
+    public int overdueCount(LocalDateTime now) {
+        advanceTo(now);
+        return overdueCount;
+    }
+
+    public boolean hasOverdue(LocalDateTime now) {
+        return !openByDue.isEmpty() && now.isAfter(openByDue.firstKey());
+    }
+
+    // posting lists of open tasks due strictly before now
+    public Collection<PostingList> overdue(LocalDateTime now) {
+        return openByDue.headMap(now, false).values();
+    }
+
+    public Set<String> tags() {
+        return Collections.unmodifiableSet(byTag.keySet());
+    }
+
+    private static <K> void removeFrom(Map<K, PostingList> index, K key, Task task, int occurrence) {
+        PostingList list = index.get(key);
+        if (list != null && list.remove(task, occurrence) && list.isEmpty()) index.remove(key);
+    }
+}
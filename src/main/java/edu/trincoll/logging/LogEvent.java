@@ -0,0 +1,47 @@
+package edu.trincoll.logging;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * One structured log record: a fixed message plus alternating key/value fields.
+ * Values are kept as given and only turned into text by render(), on the sink's thread.
+ */
+public record LogEvent(long epochMillis, LogLevel level, String logger, String message, Object[] fields) {
+
+    public LogEvent {
+        fields = fields == null ? new Object[0] : fields;
+    }
+
+    // value of the first field with this key, or null
+    public Object field(String key) {
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            if (key.equals(fields[i])) return fields[i + 1];
+        }
+        return null;
+    }
+
+    // 2026-01-15T12:00:00Z INFO  edu.trincoll.Foo batch done size=3 title="a b"
+    public String render() {
+        StringBuilder sb = new StringBuilder(64)
+                .append(Instant.ofEpochMilli(epochMillis)).append(' ')
+                .append(String.format("%-5s", level)).append(' ')
+                .append(logger).append(' ')
+                .append(message);
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            sb.append(' ').append(fields[i]).append('=');
+            appendValue(sb, fields[i + 1]);
+        }
+        return sb.toString();
+    }
+
+    private static void appendValue(StringBuilder sb, Object value) {
+        String text = value instanceof Object[] array ? Arrays.toString(array) : String.valueOf(value);
+        boolean quote = text.isEmpty() || text.chars().anyMatch(c -> c == ' ' || c == '"' || c == '=');
+        if (!quote) {
+            sb.append(text);
+            return;
+        }
+        sb.append('"').append(text.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+    }
+}
@@ -0,0 +1,10 @@
+package edu.trincoll.logging;
+
+public enum LogLevel {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF;
+
+    // true if an event at this level passes a threshold
+    public boolean passes(LogLevel threshold) {
+        return this != OFF && ordinal() >= threshold.ordinal();
+    }
+}
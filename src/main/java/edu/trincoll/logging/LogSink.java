@@ -0,0 +1,34 @@
+package edu.trincoll.logging;
+
+import java.io.PrintStream;
+import java.util.Objects;
+
+/** Destination for log events. */
+@FunctionalInterface
+public interface LogSink {
+
+    void write(LogEvent event);
+
+    // blocks until everything written so far has been delivered
+    default void flush() {}
+
+    // the previous behavior: rendered lines on stdout, written synchronously
+    static LogSink console() {
+        return to(System.out);
+    }
+
+    static LogSink to(PrintStream out) {
+        Objects.requireNonNull(out);
+        return new LogSink() {
+            @Override
+            public void write(LogEvent event) {
+                out.println(event.render());
+            }
+
+            @Override
+            public void flush() {
+                out.flush();
+            }
+        };
+    }
+}
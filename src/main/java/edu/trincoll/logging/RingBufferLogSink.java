@@ -0,0 +1,149 @@
+package edu.trincoll.logging;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous sink: callers publish into a bounded multi-producer ring and a
+ * single daemon thread hands events to the downstream sink. A full ring drops
+ * the event and counts it rather than blocking the caller; once the ring has
+ * drained, the drainer reports the new drops downstream as one WARN event.
+ */
+public final class RingBufferLogSink implements LogSink, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private final LogSink downstream;
+    private final int mask;
+    private final AtomicReferenceArray<LogEvent> slots;
+    // slot i is free for publish position p when sequences[i] == p, readable when == p + 1
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // drops already reported downstream; drainer thread only
+    private long reported;
+    private final Thread drainer;
+    private volatile boolean closed;
+
+    public RingBufferLogSink(LogSink downstream) {
+        this(downstream, DEFAULT_CAPACITY);
+    }
+
+    // capacity is rounded up to a power of two
+    public RingBufferLogSink(LogSink downstream, int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        this.downstream = Objects.requireNonNull(downstream);
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+        this.drainer = new Thread(this::drainLoop, "task-log-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @Override
+    public void write(LogEvent event) {
+        if (closed || !offer(event)) dropped.incrementAndGet();
+    }
+
+    private boolean offer(LogEvent event) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, event);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    // single consumer: only the drainer thread calls this
+    private LogEvent poll() {
+        long pos = head.get();
+        int index = (int) pos & mask;
+        if (sequences.get(index) != pos + 1) return null;
+        LogEvent event = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, pos + mask + 1);
+        head.set(pos + 1);
+        return event;
+    }
+
+    private void drainLoop() {
+        while (true) {
+            LogEvent event = poll();
+            if (event != null) {
+                try {
+                    downstream.write(event);
+                } catch (RuntimeException e) {
+                    dropped.incrementAndGet();
+                }
+                continue;
+            }
+            reportDrops();
+            if (closed && head.get() == tail.get()) break;
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        downstream.flush();
+    }
+
+    private void reportDrops() {
+        long total = dropped.get();
+        if (total == reported) return;
+        LogEvent event = new LogEvent(System.currentTimeMillis(), LogLevel.WARN, RingBufferLogSink.class.getName(),
+                "log events dropped", new Object[]{"dropped", total - reported, "capacity", capacity()});
+        try {
+            downstream.write(event);
+            reported = total;
+        } catch (RuntimeException e) {
+            // the downstream sink is failing; the next idle pass tries again
+        }
+    }
+
+    // waits until every event published before the call has reached the downstream sink
+    @Override
+    public void flush() {
+        long target = tail.get();
+        while (head.get() < target && drainer.isAlive()) {
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(10_000);
+        }
+        downstream.flush();
+    }
+
+    // events that were not delivered because the ring was full or closed
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    // stops accepting events, drains what is queued and stops the thread
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package edu.trincoll.logging;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide logging configuration and logger factory. By default INFO and
+ * above go, unsampled, through a ring buffer to stdout; the buffer's thread
+ * starts on the first event that is actually logged.
+ */
+public final class TaskLog {
+
+    public record Config(LogLevel threshold, int sampleEvery, LogSink sink) {
+        public Config {
+            Objects.requireNonNull(threshold);
+            Objects.requireNonNull(sink);
+            if (sampleEvery <= 0) throw new IllegalArgumentException("sampleEvery must be > 0");
+        }
+    }
+
+    private static final Map<String, TaskLogger> LOGGERS = new ConcurrentHashMap<>();
+    private static final LogSink DEFAULT_SINK = new LogSink() {
+        @Override
+        public void write(LogEvent event) {
+            DefaultSink.SINK.write(event);
+        }
+
+        @Override
+        public void flush() {
+            DefaultSink.SINK.flush();
+        }
+    };
+    private static volatile Config config = new Config(LogLevel.INFO, 1, DEFAULT_SINK);
+
+    private TaskLog() {}
+
+    // async console sink, created on first use and drained at JVM exit
+    private static final class DefaultSink {
+        static final RingBufferLogSink SINK = new RingBufferLogSink(LogSink.console());
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(SINK::close, "task-log-shutdown"));
+        }
+    }
+
+    public static TaskLogger logger(Class<?> owner) {
+        return logger(owner.getName());
+    }
+
+    public static TaskLogger logger(String name) {
+        return LOGGERS.computeIfAbsent(name, TaskLogger::new);
+    }
+
+    public static Config config() {
+        return config;
+    }
+
+    public static void configure(LogLevel threshold, int sampleEvery, LogSink sink) {
+        config = new Config(threshold, sampleEvery, sink);
+    }
+
+    public static void setLevel(LogLevel threshold) {
+        Config current = config;
+        config = new Config(threshold, current.sampleEvery(), current.sink());
+    }
+
+    // keep one in every n events below WARN; 1 keeps everything
+    public static void setSampling(int sampleEvery) {
+        Config current = config;
+        config = new Config(current.threshold(), sampleEvery, current.sink());
+    }
+
+    public static void flush() {
+        config.sink().flush();
+    }
+
+    // restores the defaults
+    public static void reset() {
+        config = new Config(LogLevel.INFO, 1, DEFAULT_SINK);
+    }
+}
@@ -0,0 +1,74 @@
+package edu.trincoll.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named logger bound to the global TaskLog configuration. Guard anything that
+ * builds field values with isEnabled; the log methods themselves only capture
+ * references, never format.
+ */
+public final class TaskLogger {
+    private final String name;
+    private final AtomicLong sampleCounter = new AtomicLong();
+
+    TaskLogger(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    // one volatile read; callers check this before doing any work for an event
+    public boolean isEnabled(LogLevel level) {
+        return level.passes(TaskLog.config().threshold());
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    public void log(LogLevel level, String message) {
+        emit(level, message, null);
+    }
+
+    public void log(LogLevel level, String message, String key, Object value) {
+        if (isEnabled(level)) emit(level, message, new Object[]{key, value});
+    }
+
+    public void log(LogLevel level, String message, String k1, Object v1, String k2, Object v2) {
+        if (isEnabled(level)) emit(level, message, new Object[]{k1, v1, k2, v2});
+    }
+
+    public void log(LogLevel level, String message, Object... keyValues) {
+        if (isEnabled(level)) emit(level, message, keyValues);
+    }
+
+    public void debug(String message, String key, Object value) {
+        log(LogLevel.DEBUG, message, key, value);
+    }
+
+    public void debug(String message, String k1, Object v1, String k2, Object v2) {
+        log(LogLevel.DEBUG, message, k1, v1, k2, v2);
+    }
+
+    public void info(String message, String key, Object value) {
+        log(LogLevel.INFO, message, key, value);
+    }
+
+    public void info(String message, String k1, Object v1, String k2, Object v2) {
+        log(LogLevel.INFO, message, k1, v1, k2, v2);
+    }
+
+    private void emit(LogLevel level, String message, Object[] fields) {
+        TaskLog.Config config = TaskLog.config();
+        if (!level.passes(config.threshold())) return;
+        // below WARN only every sampleEvery-th event per logger gets through
+        int every = config.sampleEvery();
+        if (every > 1 && level.ordinal() < LogLevel.WARN.ordinal()
+                && sampleCounter.getAndIncrement() % every != 0) {
+            return;
+        }
+        config.sink().write(new LogEvent(System.currentTimeMillis(), level, name, message, fields));
+    }
+}
@@ -0,0 +1,32 @@
+package edu.trincoll.metrics;
+
+import java.lang.management.ManagementFactory;
+
+// Bytes allocated by the current thread, where the JVM exposes it; -1 otherwise.
+// Work a stage hands to other threads (parallel streams, async batches) is not seen.
+final class AllocationMeter {
+    private static final com.sun.management.ThreadMXBean THREADS = resolve();
+
+    private AllocationMeter() {}
+
+    private static com.sun.management.ThreadMXBean resolve() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported()
+                    && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // jdk.management missing; allocation stays unmeasured
+        }
+        return null;
+    }
+
+    static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+}
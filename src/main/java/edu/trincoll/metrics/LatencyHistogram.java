@@ -0,0 +1,43 @@
+package edu.trincoll.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of nanosecond durations: four buckets per
+ * power of two, so a reported percentile is within 25% of the true value.
+ */
+public final class LatencyHistogram {
+    static final int BUCKETS = 248;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos)));
+    }
+
+    long[] counts() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) copy[i] = counts.get(i);
+        return copy;
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+    }
+
+    // 0..3 map to themselves; above that, 2 mantissa bits per octave
+    static int bucketOf(long nanos) {
+        if (nanos < 4) return (int) nanos;
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exp - 2)) & 3;
+        return (exp - 1) * 4 + sub;
+    }
+
+    // largest value that lands in the bucket
+    public static long upperBound(int bucket) {
+        if (bucket < 4) return bucket;
+        int exp = bucket / 4 + 1;
+        long lower = (4L + bucket % 4) << (exp - 2);
+        return lower + (1L << (exp - 2)) - 1;
+    }
+}
@@ -0,0 +1,40 @@
+package edu.trincoll.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Function;
+
+/**
+ * Destination for metrics snapshots. Implement it to push elsewhere; the
+ * factories here dump to a local file, replaced atomically on each export.
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+
+    void export(MetricsSnapshot snapshot) throws IOException;
+
+    static MetricsExporter jsonFile(Path file) {
+        return toFile(file, MetricsSnapshot::toJson);
+    }
+
+    static MetricsExporter prometheusFile(Path file) {
+        return toFile(file, MetricsSnapshot::toPrometheus);
+    }
+
+    private static MetricsExporter toFile(Path file, Function<MetricsSnapshot, String> format) {
+        Path target = file.toAbsolutePath();
+        return snapshot -> {
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            Files.writeString(tmp, format.apply(snapshot), StandardCharsets.UTF_8);
+            try {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package edu.trincoll.metrics;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process registry of stage metrics. The disabled registry hands out
+ * StageMetrics.NOOP, so instrumented code pays one virtual call per stage.
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry DISABLED = new MetricsRegistry(false);
+
+    private final boolean enabled;
+    private final Map<String, StageMetrics> stages = new ConcurrentHashMap<>();
+
+    private MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static MetricsRegistry create() {
+        return new MetricsRegistry(true);
+    }
+
+    public static MetricsRegistry disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // resolve once and keep the result on hot paths
+    public StageMetrics stage(String name) {
+        Objects.requireNonNull(name);
+        if (!enabled) return StageMetrics.NOOP;
+        return stages.computeIfAbsent(name, StageMetrics::new);
+    }
+
+    // whether allocation figures will be filled in on this JVM
+    public static boolean measuresAllocation() {
+        return AllocationMeter.isSupported();
+    }
+
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(stages.values().stream()
+                .sorted(Comparator.comparing(StageMetrics::name))
+                .map(StageMetrics::snapshot)
+                .toList());
+    }
+
+    public void export(MetricsExporter exporter) throws IOException {
+        exporter.export(snapshot());
+    }
+
+    // zeroes every stage; stage handles stay valid
+    public void reset() {
+        stages.values().forEach(StageMetrics::reset);
+    }
+}
@@ -0,0 +1,127 @@
+package edu.trincoll.metrics;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+/** Point-in-time copy of every stage in a registry, sorted by stage name. */
+public record MetricsSnapshot(List<StageSnapshot> stages) {
+
+    public MetricsSnapshot {
+        stages = List.copyOf(stages);
+    }
+
+    public Optional<StageSnapshot> stage(String name) {
+        return stages.stream().filter(s -> s.name().equals(name)).findFirst();
+    }
+
+    public record StageSnapshot(String name, long calls, long elementsIn, long elementsOut,
+                                long allocatedBytes, long totalNanos, long maxNanos, long[] histogram) {
+
+        public double meanNanos() {
+            return calls == 0 ? 0 : (double) totalNanos / calls;
+        }
+
+        // upper bound of the bucket holding the q-th quantile, q in [0, 1]
+        public long percentileNanos(double q) {
+            if (calls == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * calls));
+            long seen = 0;
+            for (int b = 0; b < histogram.length; b++) {
+                seen += histogram[b];
+                if (seen >= rank) return Math.min(LatencyHistogram.upperBound(b), maxNanos);
+            }
+            return maxNanos;
+        }
+
+        // elements entering the stage per second of time spent in it
+        public double throughputPerSecond() {
+            return totalNanos == 0 ? 0 : elementsIn * 1e9 / totalNanos;
+        }
+    }
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\"stages\":[");
+        for (int i = 0; i < stages.size(); i++) {
+            StageSnapshot s = stages.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("\n  {\"name\":\"").append(escapeJson(s.name())).append('"')
+                    .append(",\"calls\":").append(s.calls())
+                    .append(",\"elementsIn\":").append(s.elementsIn())
+                    .append(",\"elementsOut\":").append(s.elementsOut())
+                    .append(",\"allocatedBytes\":").append(s.allocatedBytes())
+                    .append(",\"totalNanos\":").append(s.totalNanos())
+                    .append(",\"meanNanos\":").append(format(s.meanNanos()))
+                    .append(",\"maxNanos\":").append(s.maxNanos())
+                    .append(",\"p50Nanos\":").append(s.percentileNanos(0.5))
+                    .append(",\"p90Nanos\":").append(s.percentileNanos(0.9))
+                    .append(",\"p99Nanos\":").append(s.percentileNanos(0.99))
+                    .append(",\"throughputPerSecond\":").append(format(s.throughputPerSecond()))
+                    .append('}');
+        }
+        return sb.append(stages.isEmpty() ? "]}\n" : "\n]}\n").toString();
+    }
+
+    // Prometheus text exposition format, one family per figure
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        counter(sb, "tasks_stage_calls_total", "Completed calls per stage", StageSnapshot::calls);
+        counter(sb, "tasks_stage_elements_in_total", "Elements entering each stage", StageSnapshot::elementsIn);
+        counter(sb, "tasks_stage_elements_out_total", "Elements leaving each stage", StageSnapshot::elementsOut);
+        counter(sb, "tasks_stage_allocated_bytes_total",
+                "Bytes allocated on the calling thread per stage", StageSnapshot::allocatedBytes);
+
+        sb.append("# HELP tasks_stage_latency_seconds Stage latency\n")
+                .append("# TYPE tasks_stage_latency_seconds summary\n");
+        for (StageSnapshot s : stages) {
+            String label = "stage=\"" + escapeLabel(s.name()) + "\"";
+            for (double q : QUANTILES) {
+                sb.append("tasks_stage_latency_seconds{").append(label)
+                        .append(",quantile=\"").append(q).append("\"} ")
+                        .append(format(s.percentileNanos(q) / 1e9)).append('\n');
+            }
+            sb.append("tasks_stage_latency_seconds_sum{").append(label).append("} ")
+                    .append(format(s.totalNanos() / 1e9)).append('\n');
+            sb.append("tasks_stage_latency_seconds_count{").append(label).append("} ")
+                    .append(s.calls()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private void counter(StringBuilder sb, String metric, String help,
+                         ToLongFunction<StageSnapshot> value) {
+        sb.append("# HELP ").append(metric).append(' ').append(help).append('\n')
+                .append("# TYPE ").append(metric).append(" counter\n");
+        for (StageSnapshot s : stages) {
+            sb.append(metric).append("{stage=\"").append(escapeLabel(s.name())).append("\"} ")
+                    .append(value.applyAsLong(s)).append('\n');
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6g", value);
+    }
+
+    private static String escapeJson(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String escapeLabel(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
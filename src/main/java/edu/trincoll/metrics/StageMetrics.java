@@ -0,0 +1,92 @@
+package edu.trincoll.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, element counts and allocation for one named stage. Obtain from a
+ * MetricsRegistry; the disabled registry hands out NOOP, whose samples do nothing.
+ */
+public class StageMetrics {
+    public static final StageMetrics NOOP = new StageMetrics("noop") {
+        @Override
+        public Sample start() {
+            return Sample.NOOP;
+        }
+    };
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder elementsIn = new LongAdder();
+    private final LongAdder elementsOut = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    StageMetrics(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return this != NOOP;
+    }
+
+    // begins timing one call; finish it with Sample.stop
+    public Sample start() {
+        return new Sample(this, System.nanoTime(), AllocationMeter.currentThreadAllocatedBytes());
+    }
+
+    void record(long nanos, long in, long out, long allocated) {
+        calls.increment();
+        elementsIn.add(in);
+        elementsOut.add(out);
+        if (allocated > 0) allocatedBytes.add(allocated);
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        latency.record(nanos);
+    }
+
+    MetricsSnapshot.StageSnapshot snapshot() {
+        return new MetricsSnapshot.StageSnapshot(name, calls.sum(), elementsIn.sum(), elementsOut.sum(),
+                allocatedBytes.sum(), totalNanos.sum(), maxNanos.get(), latency.counts());
+    }
+
+    void reset() {
+        calls.reset();
+        elementsIn.reset();
+        elementsOut.reset();
+        allocatedBytes.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        latency.reset();
+    }
+
+    /** One timed call of a stage; stop it once, on the thread that started it. */
+    public static class Sample {
+        static final Sample NOOP = new Sample(null, 0, -1);
+
+        private final StageMetrics stage;
+        private final long startNanos;
+        private final long startAllocated;
+
+        private Sample(StageMetrics stage, long startNanos, long startAllocated) {
+            this.stage = stage;
+            this.startNanos = startNanos;
+            this.startAllocated = startAllocated;
+        }
+
+        // in/out are element counts entering and leaving the stage
+        public void stop(long in, long out) {
+            if (stage == null) return;
+            long nanos = System.nanoTime() - startNanos;
+            long allocated = startAllocated < 0 ? -1
+                    : AllocationMeter.currentThreadAllocatedBytes() - startAllocated;
+            stage.record(nanos, in, out, allocated);
+        }
+    }
+}
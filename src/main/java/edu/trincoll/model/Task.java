@@ -24,8 +24,13 @@ public record Task(
     public enum Status { TODO, IN_PROGRESS, BLOCKED, DONE, CANCELLED }
 
     public boolean isOverdue() {
+        return isOverdue(LocalDateTime.now());
+    }
+
+    // against a reference time read once by the caller
+    public boolean isOverdue(LocalDateTime now) {
         return dueDate != null
-                && LocalDateTime.now().isAfter(dueDate)
+                && now.isAfter(dueDate)
                 && status != Status.DONE
                 && status != Status.CANCELLED;
     }
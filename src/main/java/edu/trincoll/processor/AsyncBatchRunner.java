@@ -0,0 +1,84 @@
+package edu.trincoll.processor;
+
+import edu.trincoll.functional.TaskProcessor;
+import edu.trincoll.model.Task;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Feeds batches to an executor, starting the next one as each finishes so at
+// most maxInFlight run at once. The caller only blocks when the executor runs
+// tasks on the calling thread, and even then submission stays iterative.
+final class AsyncBatchRunner {
+    private final List<Task> tasks;
+    private final int batchSize;
+    private final TaskProcessor processor;
+    private final Executor executor;
+    private final ExecutorService owned;
+    private final AtomicInteger nextBatch = new AtomicInteger();
+    // submissions owed; the thread that raises it from zero drains it, so an executor
+    // that runs tasks inline re-enters here without growing the stack
+    private final AtomicInteger owed = new AtomicInteger();
+    private final BatchCompletion completion;
+
+    AsyncBatchRunner(List<Task> tasks, int batchSize, TaskProcessor processor, BatchOptions options) {
+        this.tasks = tasks;
+        this.batchSize = batchSize;
+        this.processor = processor;
+        this.owned = options.usesVirtualThreads() ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.executor = owned != null ? owned : options.executor();
+        // written so a batch size near Integer.MAX_VALUE cannot overflow
+        int size = tasks.size();
+        this.completion = new BatchCompletion(size == 0 ? 0 : (size - 1) / batchSize + 1);
+        if (owned != null) completion.future().whenComplete((c, e) -> owned.shutdown());
+    }
+
+    BatchCompletion start(int maxInFlight) {
+        submit(maxInFlight);
+        return completion;
+    }
+
+    private void submit(int permits) {
+        if (owed.getAndAdd(permits) != 0) return;
+        int taken = permits;
+        do {
+            for (int i = 0; i < taken; i++) {
+                if (!submitNext()) break;
+            }
+        } while ((taken = owed.addAndGet(-taken)) != 0);
+    }
+
+    // false once every batch has been handed out; rejected batches are recorded and skipped
+    private boolean submitNext() {
+        while (true) {
+            int batch = nextBatch.getAndIncrement();
+            if (batch >= completion.batchCount()) return false;
+            long start = (long) batch * batchSize;
+            int from = (int) start;
+            int to = (int) Math.min(tasks.size(), start + batchSize);
+            try {
+                executor.execute(() -> run(batch, from, to));
+                return true;
+            } catch (RejectedExecutionException e) {
+                completion.batchFailed(new BatchCompletion.BatchFailure(batch, from, to, e));
+            }
+        }
+    }
+
+    private void run(int batch, int from, int to) {
+        try {
+            processor.process(tasks.subList(from, to));
+            completion.batchSucceeded();
+        } catch (Exception e) {
+            completion.batchFailed(new BatchCompletion.BatchFailure(batch, from, to, e));
+        } catch (Error e) {
+            completion.abort(e);
+            throw e;
+        }
+        submit(1);
+    }
+}
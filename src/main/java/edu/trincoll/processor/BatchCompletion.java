@@ -0,0 +1,78 @@
+package edu.trincoll.processor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handle for an asynchronous batchProcess run. Completes once every batch has
+ * finished, successfully or not; failed batches are reported, never rethrown.
+ * An Error thrown by a batch ends the run: the future completes with it.
+ */
+public final class BatchCompletion {
+
+    public record BatchFailure(int batch, int fromIndex, int toIndex, Throwable error) {}
+
+    private final int batchCount;
+    private final AtomicInteger finished = new AtomicInteger();
+    private final Queue<BatchFailure> failures = new ConcurrentLinkedQueue<>();
+    private final CompletableFuture<BatchCompletion> done = new CompletableFuture<>();
+
+    BatchCompletion(int batchCount) {
+        this.batchCount = batchCount;
+        if (batchCount == 0) done.complete(this);
+    }
+
+    static BatchCompletion empty() {
+        return new BatchCompletion(0);
+    }
+
+    void batchSucceeded() {
+        if (finished.incrementAndGet() == batchCount) done.complete(this);
+    }
+
+    void batchFailed(BatchFailure failure) {
+        failures.add(failure);
+        batchSucceeded();
+    }
+
+    void abort(Error error) {
+        done.completeExceptionally(error);
+    }
+
+    public CompletableFuture<BatchCompletion> future() {
+        return done;
+    }
+
+    // blocks until every batch has finished
+    public BatchCompletion join() {
+        return done.join();
+    }
+
+    public boolean isDone() {
+        return done.isDone();
+    }
+
+    public int batchCount() {
+        return batchCount;
+    }
+
+    public int finishedBatches() {
+        return finished.get();
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    // ordered by batch number
+    public List<BatchFailure> failures() {
+        List<BatchFailure> out = new ArrayList<>(failures);
+        out.sort(Comparator.comparingInt(BatchFailure::batch));
+        return out;
+    }
+}
@@ -0,0 +1,55 @@
+package edu.trincoll.processor;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Where asynchronous batches run and how many may be in flight at once.
+ * Instances are immutable; the with-methods return modified copies.
+ */
+public final class BatchOptions {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final Executor executor;
+    private final boolean virtualThreads;
+    private final int maxInFlight;
+
+    private BatchOptions(Executor executor, boolean virtualThreads, int maxInFlight) {
+        if (maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight must be > 0");
+        this.executor = executor;
+        this.virtualThreads = virtualThreads;
+        this.maxInFlight = maxInFlight;
+    }
+
+    // common fork-join pool
+    public static BatchOptions defaults() {
+        return new BatchOptions(ForkJoinPool.commonPool(), false, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    // caller-owned executor; it is not shut down
+    public static BatchOptions on(Executor executor) {
+        return new BatchOptions(Objects.requireNonNull(executor), false, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    // one virtual thread per batch, for processors that block on I/O
+    public static BatchOptions virtualThreads() {
+        return new BatchOptions(null, true, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public BatchOptions withMaxInFlight(int maxInFlight) {
+        return new BatchOptions(executor, virtualThreads, maxInFlight);
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+}
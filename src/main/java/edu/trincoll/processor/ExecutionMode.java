@@ -0,0 +1,84 @@
+package edu.trincoll.processor;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * How TaskProcessingEngine runs its list passes: sequentially, on the common
+ * fork-join pool, or on a dedicated pool. Inputs smaller than the threshold
+ * always run sequentially, where the split overhead would dominate.
+ */
+public final class ExecutionMode {
+    public static final int DEFAULT_THRESHOLD = 10_000;
+
+    private static final ExecutionMode SEQUENTIAL = new ExecutionMode(null, false, Integer.MAX_VALUE);
+
+    private final ForkJoinPool pool;
+    private final boolean parallel;
+    private final int threshold;
+
+    private ExecutionMode(ForkJoinPool pool, boolean parallel, int threshold) {
+        if (threshold < 0) throw new IllegalArgumentException("threshold must be >= 0");
+        this.pool = pool;
+        this.parallel = parallel;
+        this.threshold = threshold;
+    }
+
+    public static ExecutionMode sequential() {
+        return SEQUENTIAL;
+    }
+
+    public static ExecutionMode commonPool() {
+        return commonPool(DEFAULT_THRESHOLD);
+    }
+
+    public static ExecutionMode commonPool(int threshold) {
+        return new ExecutionMode(null, true, threshold);
+    }
+
+    // caller owns the pool and shuts it down
+    public static ExecutionMode forkJoin(ForkJoinPool pool, int threshold) {
+        return new ExecutionMode(Objects.requireNonNull(pool), true, threshold);
+    }
+
+    // creates a pool with the given parallelism; shut it down via pool()
+    public static ExecutionMode forkJoin(int parallelism, int threshold) {
+        return forkJoin(new ForkJoinPool(parallelism), threshold);
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public int threshold() {
+        return threshold;
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    public boolean goesParallel(int size) {
+        return parallel && size >= threshold;
+    }
+
+    // size decides sequential vs parallel; a dedicated pool runs the terminal op itself
+    public <T> T run(int size, StreamJob<T> job) {
+        if (!goesParallel(size)) return job.run(false);
+        if (pool == null) return job.run(true);
+        return pool.submit(() -> job.run(true)).join();
+    }
+
+    @FunctionalInterface
+    public interface StreamJob<T> {
+        // builds and terminates a stream, parallel or not
+        T run(boolean parallel);
+    }
+
+    @Override
+    public String toString() {
+        if (!parallel) return "sequential";
+        return (pool == null ? "commonPool" : "forkJoin(" + pool.getParallelism() + ")")
+                + "[threshold=" + threshold + "]";
+    }
+}
@@ -0,0 +1,198 @@
+package edu.trincoll.processor;
+
+import edu.trincoll.model.Task;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+/**
+ * Stable multi-key task sort. When every comparator is a {@link SortKey} the
+ * keys are extracted once into primitive columns and the tasks are ordered
+ * through an index permutation: if the key ranges and the row index fit in one
+ * long, a single long array is sorted; otherwise a merge sort compares the
+ * columns directly. Any other comparator falls back to an object sort with the
+ * composed comparator. Both paths run in parallel when asked to.
+ */
+final class SortEngine {
+    // below this many rows a fork is not worth it
+    private static final int SEQUENTIAL_CUTOFF = 1 << 13;
+
+    private SortEngine() {
+    }
+
+    static boolean isPrimitive(List<? extends Comparator<? super Task>> order) {
+        for (Comparator<? super Task> c : order) if (!(c instanceof SortKey)) return false;
+        return true;
+    }
+
+    // a new list in the given order; equal tasks keep their input order
+    static List<Task> sort(List<Task> tasks, List<? extends Comparator<? super Task>> order, boolean parallel) {
+        Task[] input = tasks.toArray(new Task[0]);
+        if (order.isEmpty() || input.length < 2) return Arrays.asList(input);
+        if (!isPrimitive(order)) return sortObjects(input, order, parallel);
+
+        long[][] columns = extract(input, order, parallel);
+        int[] perm = permutation(columns, input.length, parallel);
+        Task[] out = new Task[input.length];
+        for (int i = 0; i < out.length; i++) out[i] = input[perm[i]];
+        return Arrays.asList(out);
+    }
+
+    private static List<Task> sortObjects(Task[] input, List<? extends Comparator<? super Task>> order, boolean parallel) {
+        Comparator<Task> composite = order.get(0)::compare;
+        for (int i = 1; i < order.size(); i++) composite = composite.thenComparing(order.get(i));
+        // both are stable merge sorts
+        if (parallel) Arrays.parallelSort(input, composite);
+        else Arrays.sort(input, composite);
+        return Arrays.asList(input);
+    }
+
+    // one long column per key column, in comparison order
+    private static long[][] extract(Task[] input, List<? extends Comparator<? super Task>> order, boolean parallel) {
+        List<long[]> columns = new ArrayList<>();
+        for (Comparator<? super Task> c : order) {
+            SortKey key = (SortKey) c;
+            for (int col = 0; col < key.columns(); col++) {
+                long[] values = new long[input.length];
+                int column = col;
+                IntStream rows = IntStream.range(0, input.length);
+                (parallel ? rows.parallel() : rows).forEach(i -> values[i] = key.encode(input[i], column));
+                columns.add(values);
+            }
+        }
+        return columns.toArray(new long[0][]);
+    }
+
+    private static int[] permutation(long[][] columns, int n, boolean parallel) {
+        int indexBits = 32 - Integer.numberOfLeadingZeros(n - 1);
+        long[] mins = new long[columns.length];
+        int[] bits = new int[columns.length];
+        int keyBits = 0;
+        for (int c = 0; c < columns.length; c++) {
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (long v : columns[c]) {
+                if (v < min) min = v;
+                if (v > max) max = v;
+            }
+            mins[c] = min;
+            // max - min read as unsigned is the exact range even when it overflows
+            bits[c] = 64 - Long.numberOfLeadingZeros(max - min);
+            keyBits += bits[c];
+        }
+        if (keyBits + indexBits <= 63) return packedSort(columns, mins, bits, indexBits, n, parallel);
+        if (keyBits <= 63) columns = new long[][]{pack(columns, mins, bits, n)};
+        return mergeSort(columns, n, parallel);
+    }
+
+    // every key column, offset by its minimum and bit-packed in comparison order
+    private static long[] pack(long[][] columns, long[] mins, int[] bits, int n) {
+        long[] packed = new long[n];
+        for (int c = 0; c < columns.length; c++) {
+            long[] col = columns[c];
+            for (int i = 0; i < n; i++) packed[i] = (packed[i] << bits[c]) | (col[i] - mins[c]);
+        }
+        return packed;
+    }
+
+    // key and row index in one long: the index breaks ties, so the sort is stable
+    private static int[] packedSort(long[][] columns, long[] mins, int[] bits, int indexBits, int n, boolean parallel) {
+        long[] packed = pack(columns, mins, bits, n);
+        for (int i = 0; i < n; i++) packed[i] = (packed[i] << indexBits) | i;
+        if (parallel) Arrays.parallelSort(packed);
+        else Arrays.sort(packed);
+        long mask = (1L << indexBits) - 1;
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = (int) (packed[i] & mask);
+        return perm;
+    }
+
+    private static int[] mergeSort(long[][] columns, int n, boolean parallel) {
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        int[] buffer = perm.clone();
+        MergeTask task = new MergeTask(columns, buffer, perm, 0, n, parallel);
+        // a dedicated pool's worker forks into that pool; callers outside one use the common pool
+        if (!parallel) task.compute();
+        else if (ForkJoinTask.inForkJoinPool()) task.invoke();
+        else ForkJoinPool.commonPool().invoke(task);
+        return perm;
+    }
+
+    // sorts src[lo, hi) into dst[lo, hi), using dst as scratch for the halves
+    private static final class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[][] columns;
+        private final int[] src;
+        private final int[] dst;
+        private final int lo;
+        private final int hi;
+        private final boolean parallel;
+
+        MergeTask(long[][] columns, int[] src, int[] dst, int lo, int hi, boolean parallel) {
+            this.columns = columns;
+            this.src = src;
+            this.dst = dst;
+            this.lo = lo;
+            this.hi = hi;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected void compute() {
+            if (!parallel || hi - lo <= SEQUENTIAL_CUTOFF) {
+                sortRange(src, dst, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new MergeTask(columns, dst, src, lo, mid, true), new MergeTask(columns, dst, src, mid, hi, true));
+            merge(src, dst, lo, mid, hi);
+        }
+
+        private void sortRange(int[] from, int[] to, int lo, int hi) {
+            if (hi - lo < 2) return;
+            if (hi - lo <= 16) {
+                insertionSort(to, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            sortRange(to, from, lo, mid);
+            sortRange(to, from, mid, hi);
+            merge(from, to, lo, mid, hi);
+        }
+
+        private void insertionSort(int[] a, int lo, int hi) {
+            for (int i = lo + 1; i < hi; i++) {
+                int row = a[i];
+                int j = i - 1;
+                while (j >= lo && compare(a[j], row) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = row;
+            }
+        }
+
+        // merges sorted from[lo, mid) and from[mid, hi) into to; left wins ties
+        private void merge(int[] from, int[] to, int lo, int mid, int hi) {
+            int i = lo;
+            int j = mid;
+            for (int k = lo; k < hi; k++) {
+                if (j >= hi || (i < mid && compare(from[i], from[j]) <= 0)) to[k] = from[i++];
+                else to[k] = from[j++];
+            }
+        }
+
+        private int compare(int a, int b) {
+            for (long[] col : columns) {
+                int cmp = Long.compare(col[a], col[b]);
+                if (cmp != 0) return cmp;
+            }
+            return 0;
+        }
+    }
+}
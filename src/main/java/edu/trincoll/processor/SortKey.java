@@ -0,0 +1,107 @@
+package edu.trincoll.processor;
+
+import edu.trincoll.model.Task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+
+/**
+ * Comparator on one Task field that the sort engine can read as primitive
+ * keys. Each key encodes a task as one or two longs whose natural order is the
+ * comparator's order; nulls sort last, and {@link #reversed()} flips values
+ * and null placement together, like Comparator.reversed. Priority and status
+ * follow enum order (priority order is also weight order).
+ */
+public final class SortKey implements Comparator<Task> {
+
+    public enum Field { PRIORITY, STATUS, DUE_DATE, ID }
+
+    private static final SortKey PRIORITY = new SortKey(Field.PRIORITY, false);
+    private static final SortKey STATUS = new SortKey(Field.STATUS, false);
+    private static final SortKey DUE_DATE = new SortKey(Field.DUE_DATE, false);
+    private static final SortKey ID = new SortKey(Field.ID, false);
+
+    private final Field field;
+    private final boolean descending;
+
+    private SortKey(Field field, boolean descending) {
+        this.field = field;
+        this.descending = descending;
+    }
+
+    public static SortKey priority() {
+        return PRIORITY;
+    }
+
+    public static SortKey status() {
+        return STATUS;
+    }
+
+    public static SortKey dueDate() {
+        return DUE_DATE;
+    }
+
+    public static SortKey id() {
+        return ID;
+    }
+
+    public Field field() {
+        return field;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    @Override
+    public SortKey reversed() {
+        return new SortKey(field, !descending);
+    }
+
+    // due dates need seconds and nanos; everything else fits one long
+    int columns() {
+        return field == Field.DUE_DATE ? 2 : 1;
+    }
+
+    // order-preserving encoding; ~v reverses the order without overflow
+    long encode(Task task, int column) {
+        long v = switch (field) {
+            case PRIORITY -> task.priority() == null ? Long.MAX_VALUE : task.priority().ordinal();
+            case STATUS -> task.status() == null ? Long.MAX_VALUE : task.status().ordinal();
+            case ID -> task.id() == null ? Long.MAX_VALUE : task.id();
+            case DUE_DATE -> dueDate(task.dueDate(), column);
+        };
+        return descending ? ~v : v;
+    }
+
+    // LocalDateTime epoch seconds stay far inside the long range, so MAX_VALUE is free for null
+    private static long dueDate(LocalDateTime due, int column) {
+        if (due == null) return column == 0 ? Long.MAX_VALUE : 0;
+        return column == 0 ? due.toEpochSecond(ZoneOffset.UTC) : due.getNano();
+    }
+
+    @Override
+    public int compare(Task a, Task b) {
+        for (int c = 0; c < columns(); c++) {
+            int cmp = Long.compare(encode(a, c), encode(b, c));
+            if (cmp != 0) return cmp;
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SortKey k && field == k.field && descending == k.descending;
+    }
+
+    @Override
+    public int hashCode() {
+        return field.hashCode() * 2 + (descending ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return field.name().toLowerCase() + (descending ? " desc" : "");
+    }
+}
@@ -0,0 +1,124 @@
+package edu.trincoll.processor;
+
+import edu.trincoll.model.Task;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Fused list pipeline. Runs of filter/map/limit stages execute in a single pass
+ * per element with no intermediate list; only sort materializes its input.
+ * Pipelines are immutable: each stage method returns a new pipeline.
+ */
+public final class TaskPipeline implements Function<List<Task>, List<Task>> {
+
+    private sealed interface Stage permits Filter, MapStage, Limit, Sort {}
+    private record Filter(Predicate<? super Task> predicate) implements Stage {}
+    private record MapStage(UnaryOperator<Task> mapper) implements Stage {}
+    private record Limit(long max) implements Stage {}
+    private record Sort(Comparator<? super Task> comparator) implements Stage {}
+
+    private static final TaskPipeline EMPTY = new TaskPipeline(List.of());
+
+    private final List<Stage> stages;
+
+    private TaskPipeline(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    public static TaskPipeline start() {
+        return EMPTY;
+    }
+
+    public TaskPipeline filter(Predicate<? super Task> predicate) {
+        return then(new Filter(Objects.requireNonNull(predicate)));
+    }
+
+    public TaskPipeline map(UnaryOperator<Task> mapper) {
+        return then(new MapStage(Objects.requireNonNull(mapper)));
+    }
+
+    public TaskPipeline sort(Comparator<? super Task> comparator) {
+        return then(new Sort(Objects.requireNonNull(comparator)));
+    }
+
+    public TaskPipeline limit(long max) {
+        if (max < 0) throw new IllegalArgumentException("limit must be >= 0");
+        return then(new Limit(max));
+    }
+
+    private TaskPipeline then(Stage stage) {
+        List<Stage> next = new ArrayList<>(stages);
+        next.add(stage);
+        return new TaskPipeline(List.copyOf(next));
+    }
+
+    public int stageCount() {
+        return stages.size();
+    }
+
+    // number of lists built when run: one per non-empty fused segment, plus the
+    // first copy of the input; a sort's output is reused when nothing follows it
+    public int materializations() {
+        int lists = 0;
+        int from = 0;
+        for (int i = 0; i <= stages.size(); i++) {
+            if (i == stages.size() || stages.get(i) instanceof Sort) {
+                if (from < i || from == 0) lists++;
+                from = i + 1;
+            }
+        }
+        return lists;
+    }
+
+    // the input list is only read, never copied or modified
+    @Override
+    public List<Task> apply(List<Task> tasks) {
+        if (tasks == null) return null;
+        List<Task> current = tasks;
+        int from = 0;
+        for (int i = 0; i <= stages.size(); i++) {
+            if (i == stages.size() || stages.get(i) instanceof Sort) {
+                // an empty segment after a sort would only copy a list we already own
+                if (from < i || current == tasks) current = runSegment(current, stages.subList(from, i));
+                if (i < stages.size()) current.sort(((Sort) stages.get(i)).comparator());
+                from = i + 1;
+            }
+        }
+        return current;
+    }
+
+    // one pass over the input through the fused filter/map/limit stages
+    private static List<Task> runSegment(List<Task> input, List<Stage> segment) {
+        int n = segment.size();
+        long[] seen = new long[n];
+        List<Task> out = new ArrayList<>(n == 0 ? input.size() : Math.min(input.size(), 1024));
+        boolean exhausted = false;
+        outer:
+        for (Task task : input) {
+            Task t = task;
+            for (int i = 0; i < n; i++) {
+                Stage stage = segment.get(i);
+                if (stage instanceof Filter f) {
+                    if (!f.predicate().test(t)) continue outer;
+                } else if (stage instanceof MapStage m) {
+                    t = m.mapper().apply(t);
+                } else if (stage instanceof Limit l) {
+                    if (seen[i] >= l.max()) break outer;
+                    // no later element can get past a saturated limit
+                    if (++seen[i] == l.max()) exhausted = true;
+                }
+            }
+            out.add(t);
+            if (exhausted) break;
+        }
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskPipeline" + stages;
+    }
+}
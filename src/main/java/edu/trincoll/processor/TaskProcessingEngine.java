@@ -3,13 +3,69 @@ package edu.trincoll.processor;
 import edu.trincoll.functional.TaskPredicate;
 import edu.trincoll.functional.TaskProcessor;
 import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.logging.LogLevel;
+import edu.trincoll.logging.TaskLog;
+import edu.trincoll.logging.TaskLogger;
+import edu.trincoll.metrics.MetricsRegistry;
+import edu.trincoll.metrics.StageMetrics;
 import edu.trincoll.model.Task;
+import edu.trincoll.repository.TaskVector;
+import edu.trincoll.service.TopKCollector;
 
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.Stream;
 
 public class TaskProcessingEngine {
+    private static final TaskLogger LOG = TaskLog.logger(TaskProcessingEngine.class);
+
+    private final ExecutionMode mode;
+    private final MetricsRegistry metrics;
+    // stage handles resolved once; all NOOP when metrics are disabled
+    private final StageMetrics pipelineStage;
+    private final StageMetrics fusedPipelineStage;
+    private final StageMetrics transformStage;
+    private final StageMetrics filterTransformStage;
+    private final StageMetrics batchStage;
+    private final StageMetrics batchRunStage;
+    private final StageMetrics asyncBatchStage;
+    private final StageMetrics topKStage;
+    private final StageMetrics sortStage;
+
+    public TaskProcessingEngine() {
+        this(ExecutionMode.sequential());
+    }
+
+    public TaskProcessingEngine(ExecutionMode mode) {
+        this(mode, MetricsRegistry.disabled());
+    }
+
+    public TaskProcessingEngine(ExecutionMode mode, MetricsRegistry metrics) {
+        this.mode = Objects.requireNonNull(mode);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.pipelineStage = metrics.stage("engine.processPipeline");
+        this.fusedPipelineStage = metrics.stage("engine.processPipeline.fused");
+        this.transformStage = metrics.stage("engine.transformAll");
+        this.filterTransformStage = metrics.stage("engine.filterAndTransform");
+        this.batchStage = metrics.stage("engine.batchProcess.batch");
+        this.batchRunStage = metrics.stage("engine.batchProcess");
+        this.asyncBatchStage = metrics.stage("engine.batchProcessAsync.batch");
+        this.topKStage = metrics.stage("engine.topK");
+        this.sortStage = metrics.stage("engine.sortByMultipleCriteria");
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return mode;
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    // sequential or parallel stream over the list, per the execution mode
+    private static Stream<Task> stream(List<Task> tasks, boolean parallel) {
+        return parallel ? tasks.parallelStream() : tasks.stream();
+    }
 
     // Function composition over List<Task>
     public List<Task> processPipeline(
@@ -19,10 +75,40 @@ public class TaskProcessingEngine {
         if (tasks == null) return null;
         if (operations == null || operations.isEmpty()) return new ArrayList<>(tasks);
 
+        List<Function<List<Task>, List<Task>>> steps = metrics.isEnabled() ? timed(operations) : operations;
         Function<List<Task>, List<Task>> pipeline =
-                operations.stream().reduce(Function.identity(), Function::andThen);
+                steps.stream().reduce(Function.identity(), Function::andThen);
+
+        StageMetrics.Sample sample = pipelineStage.start();
+        List<Task> result = pipeline.apply(new ArrayList<>(tasks));
+        sample.stop(tasks.size(), result == null ? 0 : result.size());
+        return result;
+    }
+
+    // wraps each operation in its own stage, engine.processPipeline.op<i>
+    private List<Function<List<Task>, List<Task>>> timed(List<Function<List<Task>, List<Task>>> operations) {
+        List<Function<List<Task>, List<Task>>> steps = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            Function<List<Task>, List<Task>> op = operations.get(i);
+            StageMetrics stage = metrics.stage("engine.processPipeline.op" + i);
+            steps.add(in -> {
+                StageMetrics.Sample sample = stage.start();
+                List<Task> out = op.apply(in);
+                sample.stop(in == null ? 0 : in.size(), out == null ? 0 : out.size());
+                return out;
+            });
+        }
+        return steps;
+    }
 
-        return pipeline.apply(new ArrayList<>(tasks));
+    // Fused pipeline: no defensive copy, one list per sort barrier
+    public List<Task> processPipeline(List<Task> tasks, TaskPipeline pipeline) {
+        if (tasks == null) return null;
+        if (pipeline == null) return new ArrayList<>(tasks);
+        StageMetrics.Sample sample = fusedPipelineStage.start();
+        List<Task> result = pipeline.apply(tasks);
+        sample.stop(tasks.size(), result.size());
+        return result;
     }
 
     // Supplier for lazy default
@@ -45,7 +131,20 @@ public class TaskProcessingEngine {
     public List<Task> transformAll(List<Task> tasks, UnaryOperator<Task> transformer) {
         if (tasks == null) return List.of();
         if (transformer == null) return new ArrayList<>(tasks);
-        return tasks.stream().map(transformer).toList();
+        StageMetrics.Sample sample = transformStage.start();
+        List<Task> result = mode.run(tasks.size(), par -> stream(tasks, par).map(transformer).toList());
+        sample.stop(tasks.size(), result.size());
+        return result;
+    }
+
+    // Persistent transform: leaves whose tasks all come back unchanged are shared with the input
+    public TaskVector transformAll(TaskVector tasks, UnaryOperator<Task> transformer) {
+        if (tasks == null) return TaskVector.empty();
+        if (transformer == null) return tasks;
+        StageMetrics.Sample sample = transformStage.start();
+        TaskVector result = tasks.map(transformer);
+        sample.stop(tasks.size(), result.size());
+        return result;
     }
 
     // Custom functional interfaces: filter + transform
@@ -57,40 +156,97 @@ public class TaskProcessingEngine {
         if (tasks == null) return List.of();
         Predicate<Task> p = (filter == null) ? t -> true : filter::test;
         Function<Task, Task> m = (transformer == null) ? Function.identity() : transformer;
-        return tasks.stream().filter(p).map(m).toList();
+        StageMetrics.Sample sample = filterTransformStage.start();
+        List<Task> result = mode.run(tasks.size(), par -> stream(tasks, par).filter(p).map(m).toList());
+        sample.stop(tasks.size(), result.size());
+        return result;
+    }
+
+    // Persistent filter + transform; the input comes back as-is when nothing is dropped or changed
+    public TaskVector filterAndTransform(
+            TaskVector tasks,
+            TaskPredicate filter,
+            TaskTransformer transformer) {
+
+        if (tasks == null) return TaskVector.empty();
+        StageMetrics.Sample sample = filterTransformStage.start();
+        TaskVector result = filter == null ? tasks : tasks.filter(filter::test);
+        if (transformer != null) result = result.map(transformer::apply);
+        sample.stop(tasks.size(), result.size());
+        return result;
     }
 
     // Batch processing with TaskProcessor
     public void batchProcess(List<Task> tasks, int batchSize, TaskProcessor processor) {
         if (tasks == null || processor == null || batchSize <= 0) return;
+        StageMetrics.Sample run = batchRunStage.start();
         for (int i = 0; i < tasks.size(); i += batchSize) {
             List<Task> slice = tasks.subList(i, Math.min(i + batchSize, tasks.size()));
+            StageMetrics.Sample sample = batchStage.start();
             processor.process(slice);
+            sample.stop(slice.size(), slice.size());
         }
+        run.stop(tasks.size(), tasks.size());
+    }
+
+    // Pipelined batches on an executor, at most options.maxInFlight() at a time
+    public BatchCompletion batchProcessAsync(
+            List<Task> tasks, int batchSize, TaskProcessor processor, BatchOptions options) {
+
+        if (tasks == null || processor == null || batchSize <= 0 || tasks.isEmpty()) {
+            return BatchCompletion.empty();
+        }
+        BatchOptions opts = (options == null) ? BatchOptions.defaults() : options;
+        TaskProcessor timed = !asyncBatchStage.isEnabled() ? processor : batch -> {
+            StageMetrics.Sample sample = asyncBatchStage.start();
+            processor.process(batch);
+            sample.stop(batch.size(), batch.size());
+        };
+        BatchCompletion completion = new AsyncBatchRunner(tasks, batchSize, timed, opts).start(opts.maxInFlight());
+        if (LOG.isEnabled(LogLevel.WARN)) {
+            completion.future().thenAccept(done -> {
+                if (done.hasFailures()) {
+                    LOG.log(LogLevel.WARN, "async batches failed",
+                            "failed", done.failures().size(), "batches", done.batchCount());
+                }
+            });
+        }
+        return completion;
     }
 
     // Optional chaining: highest-priority title
     public Optional<String> getHighestPriorityTaskTitle(List<Task> tasks) {
         if (tasks == null || tasks.isEmpty()) return Optional.empty();
-        return tasks.stream()
-                .max(Comparator.comparingInt(t -> t.priority().getWeight()))
+        // first task of the top weight, like max(); stops at the first CRITICAL
+        return TopKCollector.topByPriority(tasks, 1).stream()
+                .findFirst()
                 .map(Task::title);
     }
 
+    // Bounded top-K by any order; ties keep encounter order
+    public List<Task> topK(List<Task> tasks, int k, Comparator<? super Task> order) {
+        if (tasks == null || order == null) return List.of();
+        StageMetrics.Sample sample = topKStage.start();
+        List<Task> result = mode.run(tasks.size(), par -> stream(tasks, par).collect(TopKCollector.topK(k, order)));
+        sample.stop(tasks.size(), result.size());
+        return result;
+    }
+
     // Infinite stream via Supplier
     public Stream<Task> generateTaskStream(Supplier<Task> taskSupplier) {
         return taskSupplier == null ? Stream.empty() : Stream.generate(taskSupplier);
     }
 
-    // Compose multiple comparators
+    // Compose multiple comparators; SortKey-only orders sort on primitive keys
     public List<Task> sortByMultipleCriteria(List<Task> tasks, List<Comparator<Task>> comparators) {
         if (tasks == null) return List.of();
         if (comparators == null || comparators.isEmpty()) return new ArrayList<>(tasks);
 
-        Comparator<Task> composite = comparators.get(0);
-        for (int i = 1; i < comparators.size(); i++) {
-            composite = composite.thenComparing(comparators.get(i));
-        }
-        return tasks.stream().sorted(composite).toList();
+        // both SortEngine paths are stable, like sorted() on an ordered stream
+        StageMetrics.Sample sample = sortStage.start();
+        List<Task> result = Collections.unmodifiableList(
+                mode.run(tasks.size(), par -> SortEngine.sort(tasks, comparators, par)));
+        sample.stop(tasks.size(), result.size());
+        return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Task;
+import edu.trincoll.service.CachingTaskAnalyzer;
+import edu.trincoll.service.QueryCache;
+import edu.trincoll.service.TaskAnalyzer;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe task collection with snapshot-isolated reads. Every version is an
+ * immutable {@link Snapshot} published through one atomic reference: readers
+ * take the current one with a single volatile read and never wait, writers
+ * build the next version off to the side and install it with compare-and-set,
+ * retrying if another writer got there first. Versions are {@link TaskVector}s,
+ * so a write copies one trie path rather than the whole list and any number of
+ * old snapshots can be kept for audit at the cost of the nodes that changed.
+ */
+public class TaskRepository {
+
+    /** One immutable version of the repository. */
+    public record Snapshot(long version, TaskVector tasks) {
+
+        public int size() {
+            return tasks.size();
+        }
+
+        public Optional<Task> findById(long id) {
+            for (Task t : tasks) {
+                if (t.id() != null && t.id() == id) return Optional.of(t);
+            }
+            return Optional.empty();
+        }
+
+        // the analyzer sees exactly this version, however the repository moves on
+        public TaskAnalyzer analyzer() {
+            return new TaskAnalyzer(tasks);
+        }
+
+        public TaskAnalyzer analyzer(Clock clock) {
+            return new TaskAnalyzer(tasks, clock);
+        }
+    }
+
+    private final AtomicReference<Snapshot> current;
+
+    public TaskRepository() {
+        this(List.of());
+    }
+
+    public TaskRepository(Collection<Task> initial) {
+        current = new AtomicReference<>(new Snapshot(0, TaskVector.of(initial)));
+    }
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    public long version() {
+        return current.get().version();
+    }
+
+    // runs a query against one consistent version
+    public <R> R read(Function<? super TaskAnalyzer, R> query) {
+        return query.apply(current.get().analyzer());
+    }
+
+    // same, answered from the cache while the version it was filled at is current
+    public <R> R read(QueryCache cache, Function<? super TaskAnalyzer, R> query) {
+        Snapshot s = current.get();
+        return query.apply(new CachingTaskAnalyzer(s.analyzer(), cache, s::version));
+    }
+
+    // returns the version that contains the task
+    public long add(Task task) {
+        Objects.requireNonNull(task);
+        return commit(tasks -> tasks.append(task)).version();
+    }
+
+    public long addAll(Collection<Task> tasks) {
+        List<Task> added = List.copyOf(tasks);
+        return commit(old -> old.appendAll(added)).version();
+    }
+
+    // replaces every task with this id; false if there is none
+    public boolean update(long id, UnaryOperator<Task> change) {
+        Objects.requireNonNull(change);
+        boolean[] found = new boolean[1];
+        commit(tasks -> {
+            found[0] = false;
+            return tasks.map(t -> {
+                if (t.id() == null || t.id() != id) return t;
+                found[0] = true;
+                return change.apply(t);
+            });
+        });
+        return found[0];
+    }
+
+    public boolean removeById(long id) {
+        return removeIf(t -> t.id() != null && t.id() == id) > 0;
+    }
+
+    // returns how many tasks were removed
+    public int removeIf(Predicate<? super Task> filter) {
+        Objects.requireNonNull(filter);
+        int[] removed = new int[1];
+        commit(tasks -> {
+            TaskVector next = tasks.filter(filter.negate());
+            removed[0] = tasks.size() - next.size();
+            return next;
+        });
+        return removed[0];
+    }
+
+    // CAS loop; change derives the next vector from the current one and returns
+    // it unchanged when there is nothing to do. It may run more than once under contention.
+    private Snapshot commit(UnaryOperator<TaskVector> change) {
+        while (true) {
+            Snapshot old = current.get();
+            TaskVector next = change.apply(old.tasks());
+            if (next == old.tasks()) return old;
+            Snapshot updated = new Snapshot(old.version() + 1, next);
+            if (current.compareAndSet(old, updated)) return updated;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Task;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable task list stored as a 32-way trie with a detached tail. Every
+ * "modification" returns a new vector that shares all untouched nodes with this
+ * one: {@link #append} and {@link #with} copy one path of at most seven
+ * 32-slot arrays, and {@link #map} keeps every leaf in which the function
+ * returned the same instance. Old versions stay valid and cost only the nodes
+ * that differ. The java.util.List mutators throw UnsupportedOperationException.
+ */
+public final class TaskVector extends AbstractList<Task> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[0];
+    private static final TaskVector EMPTY = new TaskVector(0, BITS, EMPTY_NODE, EMPTY_NODE);
+
+    private final int size;
+    // height of the trie above the leaves, in bits of index consumed
+    private final int shift;
+    // inner nodes hold Object[] children, leaves hold Tasks; arrays are trimmed, not padded
+    private final Object[] root;
+    // the last 1..32 elements, outside the trie so appends rarely touch it
+    private final Object[] tail;
+
+    private TaskVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    public static TaskVector empty() {
+        return EMPTY;
+    }
+
+    public static TaskVector of(Collection<? extends Task> tasks) {
+        if (tasks instanceof TaskVector v) return v;
+        Builder b = builder();
+        for (Task t : tasks) b.add(t);
+        return b.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        return (Task) leafFor(index)[index & MASK];
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) return tail;
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    // new vector with the task added at the end
+    public TaskVector append(Task task) {
+        Objects.requireNonNull(task);
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = task;
+            return new TaskVector(size + 1, shift, root, newTail);
+        }
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            // the trie is full at this height; grow a level
+            newRoot = new Object[]{root, newPath(shift, tail)};
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(size, shift, root, tail);
+        }
+        return new TaskVector(size + 1, newShift, newRoot, new Object[]{task});
+    }
+
+    public TaskVector appendAll(Collection<? extends Task> tasks) {
+        if (tasks.isEmpty()) return this;
+        if (isEmpty()) return of(tasks);
+        TaskVector v = this;
+        for (Task t : tasks) v = v.append(t);
+        return v;
+    }
+
+    // new vector with the task at index replaced; this one is unchanged
+    public TaskVector with(int index, Task task) {
+        Objects.checkIndex(index, size);
+        Objects.requireNonNull(task);
+        if (index >= tailOffset()) {
+            if (tail[index & MASK] == task) return this;
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = task;
+            return new TaskVector(size, shift, root, newTail);
+        }
+        if (get(index) == task) return this;
+        return new TaskVector(size, shift, assoc(shift, root, index, task), tail);
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Task task) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = task;
+        } else {
+            int slot = (index >>> level) & MASK;
+            copy[slot] = assoc(level - BITS, (Object[]) node[slot], index, task);
+        }
+        return copy;
+    }
+
+    // pushes a full tail into the trie of a vector holding count elements
+    private static Object[] pushTail(int count, int level, Object[] parent, Object[] tailNode) {
+        int slot = ((count - 1) >>> level) & MASK;
+        Object[] copy = Arrays.copyOf(parent, Math.max(parent.length, slot + 1));
+        if (level == BITS) {
+            copy[slot] = tailNode;
+        } else {
+            Object[] child = slot < parent.length ? (Object[]) parent[slot] : null;
+            copy[slot] = child != null
+                    ? pushTail(count, level - BITS, child, tailNode)
+                    : newPath(level - BITS, tailNode);
+        }
+        return copy;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        return level == 0 ? node : new Object[]{newPath(level - BITS, node)};
+    }
+
+    // applies fn to every task; leaves where nothing changed are shared, and
+    // the same vector comes back when fn returns every task unchanged
+    public TaskVector map(UnaryOperator<Task> fn) {
+        Objects.requireNonNull(fn);
+        Object[] newRoot = mapNode(shift, root, fn);
+        Object[] newTail = mapNode(0, tail, fn);
+        if (newRoot == root && newTail == tail) return this;
+        return new TaskVector(size, shift, newRoot, newTail);
+    }
+
+    private static Object[] mapNode(int level, Object[] node, UnaryOperator<Task> fn) {
+        Object[] copy = null;
+        for (int i = 0; i < node.length; i++) {
+            Object next = level == 0
+                    ? Objects.requireNonNull(fn.apply((Task) node[i]))
+                    : mapNode(level - BITS, (Object[]) node[i], fn);
+            if (next != node[i]) {
+                if (copy == null) copy = node.clone();
+                copy[i] = next;
+            }
+        }
+        return copy == null ? node : copy;
+    }
+
+    // keeps the tasks that match; returns this vector when all of them do.
+    // Removing shifts later positions, so everything after the first removed
+    // task is rebuilt; the leaves before it are shared.
+    public TaskVector filter(Predicate<? super Task> keep) {
+        Objects.requireNonNull(keep);
+        int first = -1;
+        for (int i = 0; i < size && first < 0; i++) {
+            if (!keep.test(get(i))) first = i;
+        }
+        if (first < 0) return this;
+        TaskVector out = prefix(first);
+        for (int i = first + 1; i < size; i++) {
+            Task t = get(i);
+            if (keep.test(t)) out = out.append(t);
+        }
+        return out;
+    }
+
+    // the first n tasks; whole leaves below n are shared with this vector
+    private TaskVector prefix(int n) {
+        int leaves = n >>> BITS;
+        TaskVector v = EMPTY;
+        for (int leaf = 0; leaf < leaves; leaf++) {
+            Object[] node = leafFor(leaf << BITS);
+            if (v.size > 0) {
+                // move the previous full leaf into the trie and start a new tail
+                v = v.withTail(node);
+            } else {
+                v = new TaskVector(WIDTH, BITS, EMPTY_NODE, node);
+            }
+        }
+        for (int i = leaves << BITS; i < n; i++) v = v.append(get(i));
+        return v;
+    }
+
+    // precondition: tail is full; appends a full leaf as the new tail
+    private TaskVector withTail(Object[] leaf) {
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[]{root, newPath(shift, tail)};
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(size, shift, root, tail);
+        }
+        return new TaskVector(size + WIDTH, newShift, newRoot, leaf);
+    }
+
+    // leaf-at-a-time traversal instead of a trie walk per element
+    @Override
+    public void forEach(Consumer<? super Task> action) {
+        Objects.requireNonNull(action);
+        for (int base = 0; base < size; base += WIDTH) {
+            Object[] leaf = leafFor(base);
+            for (Object o : leaf) action.accept((Task) o);
+        }
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int index;
+            private Object[] leaf = EMPTY_NODE;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Task next() {
+                if (index >= size) throw new NoSuchElementException();
+                if ((index & MASK) == 0) leaf = leafFor(index);
+                return (Task) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    /** Single-owner builder; leaves are filled in place and pushed into the trie when full. */
+    public static final class Builder {
+        private int size;
+        private int shift = BITS;
+        private Object[] root = EMPTY_NODE;
+        private Object[] tail = new Object[WIDTH];
+        private int tailLength;
+
+        private Builder() {
+        }
+
+        public Builder add(Task task) {
+            Objects.requireNonNull(task);
+            if (tailLength == WIDTH) {
+                if ((size >>> BITS) > (1 << shift)) {
+                    root = new Object[]{root, newPath(shift, tail)};
+                    shift += BITS;
+                } else {
+                    root = pushTail(size, shift, root, tail);
+                }
+                tail = new Object[WIDTH];
+                tailLength = 0;
+            }
+            tail[tailLength++] = task;
+            size++;
+            return this;
+        }
+
+        public Builder addAll(Collection<? extends Task> tasks) {
+            for (Task t : tasks) add(t);
+            return this;
+        }
+
+        public TaskVector build() {
+            // trie nodes are path-copied on every push, so the builder can keep going afterwards
+            return size == 0 ? EMPTY : new TaskVector(size, shift, root, Arrays.copyOf(tail, tailLength));
+        }
+    }
+}
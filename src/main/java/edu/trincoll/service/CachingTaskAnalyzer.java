@@ -0,0 +1,175 @@
+package edu.trincoll.service;
+
+import edu.trincoll.functional.TaskCondition;
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.index.IndexedTaskList;
+import edu.trincoll.model.Task;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Answers repeated queries of another analyzer from a {@link QueryCache}.
+ * Entries are keyed by query, canonical argument and the version the supplier
+ * reports, so any mutation that bumps the version invalidates them. Predicates
+ * are keyed by their simplified TaskCondition form; opaque lambdas and
+ * clock-dependent queries (overdue checks) always go to the delegate. Cached
+ * collections are read-only.
+ */
+public class CachingTaskAnalyzer extends TaskAnalyzer {
+    private final TaskAnalyzer delegate;
+    private final QueryCache cache;
+    private final LongSupplier version;
+
+    public CachingTaskAnalyzer(TaskAnalyzer delegate, QueryCache cache, LongSupplier version) {
+        super(delegate.getTasks(), delegate.getClock());
+        this.delegate = Objects.requireNonNull(delegate);
+        this.cache = Objects.requireNonNull(cache);
+        this.version = Objects.requireNonNull(version);
+    }
+
+    // the indexed list counts its own mutations
+    public static CachingTaskAnalyzer of(IndexedTaskAnalyzer delegate, QueryCache cache) {
+        IndexedTaskList tasks = delegate.getTasks();
+        return new CachingTaskAnalyzer(delegate, cache, tasks::version);
+    }
+
+    public TaskAnalyzer getDelegate() {
+        return delegate;
+    }
+
+    public QueryCache getCache() {
+        return cache;
+    }
+
+    private <R> R cached(String query, Object argument, Supplier<R> call, QueryCache.Weigher<? super R> weigh) {
+        return cache.get(new QueryCache.Key(query, argument, version.getAsLong()), call, weigh);
+    }
+
+    private static long one(Object result) {
+        return 1;
+    }
+
+    // canonical key for a predicate, or null when it cannot be cached
+    private static Object keyOf(Predicate<Task> predicate) {
+        if (predicate == null) return "all";
+        if (!(predicate instanceof TaskPredicate tp) || !TaskCondition.isInspectable(tp) || readsClock(tp)) return null;
+        return TaskCondition.simplify(tp);
+    }
+
+    private static boolean readsClock(TaskPredicate p) {
+        if (p instanceof TaskCondition.Overdue) return true;
+        if (p instanceof TaskCondition.And a) return a.terms().stream().anyMatch(CachingTaskAnalyzer::readsClock);
+        if (p instanceof TaskCondition.Or o) return o.terms().stream().anyMatch(CachingTaskAnalyzer::readsClock);
+        if (p instanceof TaskCondition.Not n) return readsClock(n.term());
+        return false;
+    }
+
+    @Override
+    public List<Task> filterTasks(Predicate<Task> predicate) {
+        Object key = keyOf(predicate);
+        if (key == null) {
+            cache.bypass();
+            return delegate.filterTasks(predicate);
+        }
+        return cached("filterTasks", key, () -> readOnly(delegate.filterTasks(predicate)), List::size);
+    }
+
+    @Override
+    public List<Task> filterWithCustomPredicate(TaskPredicate predicate) {
+        Object key = keyOf(predicate);
+        if (key == null) {
+            cache.bypass();
+            return delegate.filterWithCustomPredicate(predicate);
+        }
+        // same result as filterTasks, so they share entries
+        return cached("filterTasks", key, () -> readOnly(delegate.filterWithCustomPredicate(predicate)), List::size);
+    }
+
+    @Override
+    public Optional<Task> findTaskById(Long id) {
+        return cached("findTaskById", id, () -> delegate.findTaskById(id), CachingTaskAnalyzer::one);
+    }
+
+    @Override
+    public List<Task> getTopPriorityTasks(int limit) {
+        return cached("getTopPriorityTasks", limit, () -> readOnly(delegate.getTopPriorityTasks(limit)), List::size);
+    }
+
+    @Override
+    public Map<Task.Status, List<Task>> groupByStatus() {
+        return cached("groupByStatus", null, () -> readOnlyGroups(delegate.groupByStatus()),
+                m -> m.values().stream().mapToLong(List::size).sum());
+    }
+
+    @Override
+    public Set<String> getAllUniqueTags() {
+        return cached("getAllUniqueTags", null, () -> Collections.unmodifiableSet(delegate.getAllUniqueTags()), Set::size);
+    }
+
+    @Override
+    public Optional<Integer> getTotalEstimatedHours() {
+        return cached("getTotalEstimatedHours", null, delegate::getTotalEstimatedHours, CachingTaskAnalyzer::one);
+    }
+
+    @Override
+    public OptionalDouble getAverageEstimatedHours() {
+        return cached("getAverageEstimatedHours", null, delegate::getAverageEstimatedHours, CachingTaskAnalyzer::one);
+    }
+
+    @Override
+    public List<String> getTaskTitles() {
+        return cached("getTaskTitles", null, () -> readOnly(delegate.getTaskTitles()), List::size);
+    }
+
+    @Override
+    public List<String> getAllTagsSorted() {
+        return cached("getAllTagsSorted", null, () -> readOnly(delegate.getAllTagsSorted()), List::size);
+    }
+
+    @Override
+    public Map<Task.Priority, Long> countTasksByPriority() {
+        return cached("countTasksByPriority", null,
+                () -> Collections.unmodifiableMap(delegate.countTasksByPriority()), Map::size);
+    }
+
+    @Override
+    public String getTaskSummary(Long taskId) {
+        return cached("getTaskSummary", taskId, () -> delegate.getTaskSummary(taskId), CachingTaskAnalyzer::one);
+    }
+
+    @Override
+    public boolean areAllTasksAssigned() {
+        return cached("areAllTasksAssigned", null, delegate::areAllTasksAssigned, CachingTaskAnalyzer::one);
+    }
+
+    // overdue answers depend on the clock, not only the data
+    @Override
+    public Map<Boolean, List<Task>> partitionByOverdue() {
+        cache.bypass();
+        return delegate.partitionByOverdue();
+    }
+
+    @Override
+    public boolean hasOverdueTasks() {
+        cache.bypass();
+        return delegate.hasOverdueTasks();
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return delegate.getTasks();
+    }
+
+    private static <T> List<T> readOnly(List<T> list) {
+        return Collections.unmodifiableList(list);
+    }
+
+    private static <K> Map<K, List<Task>> readOnlyGroups(Map<K, List<Task>> groups) {
+        Map<K, List<Task>> out = new LinkedHashMap<>();
+        groups.forEach((k, v) -> out.put(k, readOnly(v)));
+        return Collections.unmodifiableMap(out);
+    }
+}
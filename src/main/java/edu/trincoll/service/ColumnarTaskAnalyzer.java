@@ -0,0 +1,196 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Task;
+import edu.trincoll.store.ColumnKernels;
+import edu.trincoll.store.TaskColumns;
+import edu.trincoll.store.TaskStore;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * TaskAnalyzer over {@link TaskColumns}. Aggregations, lookups and tag listings
+ * loop over primitive columns; a Task record is built only for rows that are
+ * actually returned. Over a {@link TaskStore}, hours and priority/status
+ * counts run as {@link ColumnKernels} over the raw arrays, SIMD when the Vector
+ * API is available. Results match the list-based analyzer.
+ */
+public class ColumnarTaskAnalyzer extends TaskAnalyzer {
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+    private static final Task.Status[] STATUSES = Task.Status.values();
+
+    private final TaskColumns columns;
+    private final ColumnKernels kernels;
+
+    public ColumnarTaskAnalyzer(TaskColumns columns) {
+        this(columns, Clock.systemDefaultZone());
+    }
+
+    public ColumnarTaskAnalyzer(TaskColumns columns, Clock clock) {
+        this(columns, clock, ColumnKernels.best());
+    }
+
+    public ColumnarTaskAnalyzer(TaskColumns columns, Clock clock, ColumnKernels kernels) {
+        super(columns.asList(), clock);
+        this.columns = columns;
+        this.kernels = java.util.Objects.requireNonNull(kernels);
+    }
+
+    public TaskColumns getColumns() {
+        return columns;
+    }
+
+    public ColumnKernels getKernels() {
+        return kernels;
+    }
+
+    // raw arrays only exist for the in-heap store; other columns go row by row
+    private ColumnKernels.HoursTotal hoursTotal() {
+        if (columns instanceof TaskStore store) return kernels.hours(store.hoursColumn(), 0, store.size());
+        long sum = 0;
+        long count = 0;
+        int n = columns.size();
+        for (int row = 0; row < n; row++) {
+            int h = columns.hours(row);
+            if (h != TaskColumns.NULL_HOURS) {
+                sum += h;
+                count++;
+            }
+        }
+        return new ColumnKernels.HoursTotal(sum, count);
+    }
+
+    // counts per ordinal; the extra last slot counts nulls
+    private long[] histogram(boolean priority) {
+        int buckets = priority ? PRIORITIES.length : STATUSES.length;
+        if (columns instanceof TaskStore store) {
+            byte[] column = priority ? store.priorityColumn() : store.statusColumn();
+            return kernels.histogram(column, 0, store.size(), buckets);
+        }
+        long[] counts = new long[buckets + 1];
+        int n = columns.size();
+        for (int row = 0; row < n; row++) {
+            int v = priority ? columns.priorityOrdinal(row) : columns.statusOrdinal(row);
+            counts[v == TaskColumns.NULL_ORDINAL ? buckets : v]++;
+        }
+        return counts;
+    }
+
+    @Override
+    public Optional<Task> findTaskById(Long id) {
+        int n = columns.size();
+        for (int row = 0; row < n; row++) {
+            boolean match = id == null ? !columns.hasId(row)
+                    : columns.hasId(row) && columns.id(row) == id;
+            if (match) return Optional.of(columns.task(row));
+        }
+        return Optional.empty();
+    }
+
+    // the int cast wraps exactly like the list analyzer's int sum
+    @Override
+    public Optional<Integer> getTotalEstimatedHours() {
+        if (columns.size() == 0) return Optional.empty();
+        return Optional.of((int) hoursTotal().sum());
+    }
+
+    @Override
+    public OptionalDouble getAverageEstimatedHours() {
+        ColumnKernels.HoursTotal total = hoursTotal();
+        return total.count() == 0 ? OptionalDouble.empty() : OptionalDouble.of(total.average());
+    }
+
+    @Override
+    public Map<Task.Priority, Long> countTasksByPriority() {
+        long[] counts = histogram(true);
+        if (counts[PRIORITIES.length] > 0) throw new NullPointerException("element cannot be mapped to a null key");
+        Map<Task.Priority, Long> out = new EnumMap<>(Task.Priority.class);
+        for (Task.Priority p : PRIORITIES) if (counts[p.ordinal()] > 0) out.put(p, counts[p.ordinal()]);
+        return out;
+    }
+
+    // per-status counts without building groups
+    public Map<Task.Status, Long> countTasksByStatus() {
+        long[] counts = histogram(false);
+        Map<Task.Status, Long> out = new EnumMap<>(Task.Status.class);
+        for (Task.Status s : STATUSES) if (counts[s.ordinal()] > 0) out.put(s, counts[s.ordinal()]);
+        return out;
+    }
+
+    @Override
+    public boolean hasOverdueTasks() {
+        LocalDateTime now = now();
+        long nowSeconds = now.toEpochSecond(ZoneOffset.UTC);
+        int nowNanos = now.getNano();
+        int n = columns.size();
+        for (int row = 0; row < n; row++) {
+            if (isOverdue(row, nowSeconds, nowNanos)) return true;
+        }
+        return false;
+    }
+
+    private boolean isOverdue(int row, long nowSeconds, int nowNanos) {
+        long due = columns.dueDateSeconds(row);
+        if (due == TaskColumns.NULL_TIME) return false;
+        int s = columns.statusOrdinal(row);
+        if (s == Task.Status.DONE.ordinal() || s == Task.Status.CANCELLED.ordinal()) return false;
+        return nowSeconds > due || (nowSeconds == due && nowNanos > columns.dueDateNanos(row));
+    }
+
+    @Override
+    public boolean areAllTasksAssigned() {
+        int n = columns.size();
+        for (int row = 0; row < n; row++) {
+            if (columns.statusOrdinal(row) == Task.Status.TODO.ordinal()) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> getTaskTitles() {
+        int n = columns.size();
+        List<String> out = new ArrayList<>(n);
+        for (int row = 0; row < n; row++) out.add(columns.title(row));
+        return Collections.unmodifiableList(out);
+    }
+
+    // first-seen order over rows, as the LinkedHashSet scan produces
+    @Override
+    public Set<String> getAllUniqueTags() {
+        boolean[] seen = new boolean[columns.tagDictionarySize()];
+        Set<String> out = new LinkedHashSet<>();
+        int n = columns.size();
+        for (int row = 0; row < n; row++) {
+            int count = columns.tagCount(row);
+            for (int j = 0; j < count; j++) {
+                int id = columns.tagId(row, j);
+                if (!seen[id]) {
+                    seen[id] = true;
+                    out.add(columns.tagName(id));
+                }
+            }
+        }
+        return out;
+    }
+
+    // counts per tag id, then expanded in sorted tag order
+    @Override
+    public List<String> getAllTagsSorted() {
+        int[] counts = new int[columns.tagDictionarySize()];
+        int n = columns.size();
+        for (int row = 0; row < n; row++) {
+            int count = columns.tagCount(row);
+            for (int j = 0; j < count; j++) counts[columns.tagId(row, j)]++;
+        }
+        Integer[] ids = new Integer[counts.length];
+        for (int i = 0; i < ids.length; i++) ids[i] = i;
+        Arrays.sort(ids, Comparator.comparing(columns::tagName));
+        List<String> out = new ArrayList<>();
+        for (int id : ids) {
+            for (int i = 0; i < counts[id]; i++) out.add(columns.tagName(id));
+        }
+        return Collections.unmodifiableList(out);
+    }
+}
@@ -0,0 +1,63 @@
+package edu.trincoll.service;
+
+/**
+ * Count-min sketch of recent access frequency for TinyLFU admission. Four
+ * 4-bit counters per key, packed sixteen to a long; every counter is halved
+ * after 10 * capacity increments so old popularity fades.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        int counters = Integer.highestOneBit(Math.max(64, capacity) - 1) << 2;
+        table = new long[Math.max(1, counters >>> 4)];
+        sampleSize = 10 * Math.max(1, capacity);
+    }
+
+    // estimated accesses, 0..15
+    int frequency(int hash) {
+        int min = 15;
+        for (int i = 0; i < SEEDS.length; i++) min = Math.min(min, counter(index(hash, i), slot(hash, i)));
+        return min;
+    }
+
+    void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = index(hash, i);
+            int slot = slot(hash, i);
+            if (counter(index, slot) < 15) {
+                table[index] += 1L << (slot << 2);
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) halve();
+    }
+
+    private void halve() {
+        for (int i = 0; i < table.length; i++) table[i] = (table[i] >>> 1) & RESET_MASK;
+        additions /= 2;
+    }
+
+    private int counter(int index, int slot) {
+        return (int) ((table[index] >>> (slot << 2)) & 0xf);
+    }
+
+    private long mix(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[(i + 1) & 3];
+        return h ^ (h >>> 29);
+    }
+
+    private int index(int hash, int i) {
+        return (int) ((mix(hash, i) >>> 4) & (table.length - 1));
+    }
+
+    private int slot(int hash, int i) {
+        return (int) (mix(hash, i) & 0xf);
+    }
+}
@@ -0,0 +1,165 @@
+package edu.trincoll.service;
+
+import edu.trincoll.functional.TaskCondition;
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.index.IndexedTaskList;
+import edu.trincoll.index.TagBitmapIndex;
+import edu.trincoll.index.TaskAggregates;
+import edu.trincoll.model.Task;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * TaskAnalyzer backed by an {@link IndexedTaskList}. Id lookups are O(1) and
+ * status, priority and tag lookups read posting lists instead of scanning.
+ * The list stays live: mutations made through it are visible to the next query.
+ * Hours, counts and status groups are maintained incrementally, so dashboard
+ * statistics answer without re-streaming the list. The analyzer registers
+ * listeners on the list; {@link #close} detaches them when the list outlives it.
+ */
+public class IndexedTaskAnalyzer extends TaskAnalyzer implements AutoCloseable {
+    private final IndexedTaskList tasks;
+    private final TaskAggregates aggregates = new TaskAggregates();
+    private final TagBitmapIndex tagIndex = new TagBitmapIndex();
+    private final QueryPlanner planner;
+
+    public IndexedTaskAnalyzer(IndexedTaskList tasks) {
+        this(tasks, Clock.systemDefaultZone());
+    }
+
+    public IndexedTaskAnalyzer(IndexedTaskList tasks, Clock clock) {
+        super(tasks, clock);
+        this.tasks = tasks;
+        this.planner = new QueryPlanner(tasks, tagIndex);
+        tasks.addListener(aggregates);
+        tasks.addListener(tagIndex);
+    }
+
+    // O(1) hash lookup; first match in list order, like the scan
+    @Override
+    public Optional<Task> findTaskById(Long id) {
+        return tasks.index().byId(id).first();
+    }
+
+    // TaskPredicate filters go through the query planner
+    @Override
+    public List<Task> filterTasks(Predicate<Task> predicate) {
+        if (predicate == null) return super.filterTasks(null);
+        if (predicate instanceof TaskPredicate tp) return explain(tp).execute();
+        return planner.plan(predicate).execute();
+    }
+
+    @Override
+    public List<Task> filterWithCustomPredicate(TaskPredicate predicate) {
+        if (predicate == null) return super.filterWithCustomPredicate(null);
+        return explain(predicate).execute();
+    }
+
+    // the plan filterWithCustomPredicate would run, overdue terms pinned to now
+    public QueryPlan explain(TaskPredicate predicate) {
+        return planner.plan(TaskCondition.bindNow(predicate, now()));
+    }
+
+    public List<Task> findByStatus(Task.Status status) {
+        return tasks.index().byStatus(status).toList();
+    }
+
+    public List<Task> findByPriority(Task.Priority priority) {
+        return tasks.index().byPriority(priority).toList();
+    }
+
+    public List<Task> findByTag(String tag) {
+        return tasks.index().byTag(tag).toList();
+    }
+
+    // running sum; same int result (and overflow) as the stream sum
+    @Override
+    public Optional<Integer> getTotalEstimatedHours() {
+        return aggregates.count() == 0 ? Optional.empty()
+                : Optional.of((int) aggregates.hoursSum());
+    }
+
+    @Override
+    public OptionalDouble getAverageEstimatedHours() {
+        return aggregates.hoursCount() == 0 ? OptionalDouble.empty()
+                : OptionalDouble.of((double) aggregates.hoursSum() / aggregates.hoursCount());
+    }
+
+    @Override
+    public Map<Task.Priority, Long> countTasksByPriority() {
+        return aggregates.priorityCounts();
+    }
+
+    // status buckets come from the index; a fresh mutable map per call, like groupingBy
+    @Override
+    public Map<Task.Status, List<Task>> groupByStatus() {
+        if (aggregates.countWithoutStatus() > 0) throw new NullPointerException("element cannot be mapped to a null key");
+        Map<Task.Status, List<Task>> grouped = new HashMap<>();
+        for (Task.Status s : Task.Status.values()) {
+            if (aggregates.countByStatus(s) > 0) grouped.put(s, tasks.index().byStatus(s).toList());
+        }
+        return grouped;
+    }
+
+    // earliest open due date against one reference time
+    @Override
+    public boolean hasOverdueTasks() {
+        return tasks.index().hasOverdue(now());
+    }
+
+    // overdue side from the due-date range; both sides keep list order
+    @Override
+    public Map<Boolean, List<Task>> partitionByOverdue() {
+        List<Task> overdue = planner.plan(TaskPredicate.isOverdueAt(now())).execute();
+        List<Task> rest = new ArrayList<>(tasks.size() - overdue.size());
+        int next = 0;
+        for (Task t : tasks) {
+            if (next < overdue.size() && t.equals(overdue.get(next))) next++;
+            else rest.add(t);
+        }
+        return Map.of(true, overdue, false, Collections.unmodifiableList(rest));
+    }
+
+    // overdue tasks right now, answered by the due-date range index
+    public int countOverdueTasks() {
+        return tasks.index().overdueCount(now());
+    }
+
+    // straight from the tag dictionary and bitmaps
+    @Override
+    public Set<String> getAllUniqueTags() {
+        return tasks.fresh(tagIndex).uniqueTags();
+    }
+
+    @Override
+    public List<String> getAllTagsSorted() {
+        return Collections.unmodifiableList(tasks.fresh(tagIndex).sortedTagOccurrences());
+    }
+
+    // read the priority posting lists highest weight first: O(limit)
+    @Override
+    public List<Task> getTopPriorityTasks(int limit) {
+        List<Task> out = new ArrayList<>(Math.max(0, Math.min(limit, tasks.size())));
+        for (Task.Priority p : TopKCollector.BY_WEIGHT_DESC) {
+            if (out.size() >= limit) break;
+            tasks.index().byPriority(p).stream()
+                    .limit(limit - out.size())
+                    .forEach(out::add);
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    @Override
+    public IndexedTaskList getTasks() {
+        return tasks;
+    }
+
+    // stops tracking list mutations; aggregates and tag queries are stale afterwards
+    @Override
+    public void close() {
+        tasks.removeListener(aggregates);
+        tasks.removeListener(tagIndex);
+    }
+}
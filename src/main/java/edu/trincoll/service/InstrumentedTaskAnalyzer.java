@@ -0,0 +1,146 @@
+package edu.trincoll.service;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.metrics.MetricsRegistry;
+import edu.trincoll.metrics.StageMetrics;
+import edu.trincoll.model.Task;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Times every query of another analyzer (plain, indexed or columnar) as an
+ * "analyzer.<method>" stage. Elements in is the task count; out is the result size.
+ */
+public class InstrumentedTaskAnalyzer extends TaskAnalyzer {
+
+    private enum Query {
+        FILTER_TASKS("filterTasks"),
+        FIND_TASK_BY_ID("findTaskById"),
+        TOP_PRIORITY_TASKS("getTopPriorityTasks"),
+        GROUP_BY_STATUS("groupByStatus"),
+        PARTITION_BY_OVERDUE("partitionByOverdue"),
+        UNIQUE_TAGS("getAllUniqueTags"),
+        TOTAL_ESTIMATED_HOURS("getTotalEstimatedHours"),
+        AVERAGE_ESTIMATED_HOURS("getAverageEstimatedHours"),
+        TASK_TITLES("getTaskTitles"),
+        FILTER_WITH_CUSTOM_PREDICATE("filterWithCustomPredicate"),
+        TAGS_SORTED("getAllTagsSorted"),
+        COUNT_BY_PRIORITY("countTasksByPriority"),
+        TASK_SUMMARY("getTaskSummary"),
+        HAS_OVERDUE_TASKS("hasOverdueTasks"),
+        ALL_TASKS_ASSIGNED("areAllTasksAssigned");
+
+        final String method;
+
+        Query(String method) {
+            this.method = method;
+        }
+    }
+
+    private final TaskAnalyzer delegate;
+    private final StageMetrics[] stages = new StageMetrics[Query.values().length];
+
+    public InstrumentedTaskAnalyzer(TaskAnalyzer delegate, MetricsRegistry metrics) {
+        super(delegate.getTasks(), delegate.getClock());
+        this.delegate = delegate;
+        for (Query q : Query.values()) stages[q.ordinal()] = metrics.stage("analyzer." + q.method);
+    }
+
+    public TaskAnalyzer getDelegate() {
+        return delegate;
+    }
+
+    private <R> R timed(Query query, Supplier<R> call, ToIntFunction<R> size) {
+        StageMetrics.Sample sample = stages[query.ordinal()].start();
+        R result = call.get();
+        sample.stop(delegate.getTasks().size(), result == null ? 0 : size.applyAsInt(result));
+        return result;
+    }
+
+    private static <R> int one(R result) {
+        return 1;
+    }
+
+    @Override
+    public List<Task> filterTasks(Predicate<Task> predicate) {
+        return timed(Query.FILTER_TASKS, () -> delegate.filterTasks(predicate), List::size);
+    }
+
+    @Override
+    public Optional<Task> findTaskById(Long id) {
+        return timed(Query.FIND_TASK_BY_ID, () -> delegate.findTaskById(id), o -> o.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public List<Task> getTopPriorityTasks(int limit) {
+        return timed(Query.TOP_PRIORITY_TASKS, () -> delegate.getTopPriorityTasks(limit), List::size);
+    }
+
+    @Override
+    public Map<Task.Status, List<Task>> groupByStatus() {
+        return timed(Query.GROUP_BY_STATUS, delegate::groupByStatus, Map::size);
+    }
+
+    @Override
+    public Map<Boolean, List<Task>> partitionByOverdue() {
+        return timed(Query.PARTITION_BY_OVERDUE, delegate::partitionByOverdue, Map::size);
+    }
+
+    @Override
+    public Set<String> getAllUniqueTags() {
+        return timed(Query.UNIQUE_TAGS, delegate::getAllUniqueTags, Set::size);
+    }
+
+    @Override
+    public Optional<Integer> getTotalEstimatedHours() {
+        return timed(Query.TOTAL_ESTIMATED_HOURS, delegate::getTotalEstimatedHours, InstrumentedTaskAnalyzer::one);
+    }
+
+    @Override
+    public OptionalDouble getAverageEstimatedHours() {
+        return timed(Query.AVERAGE_ESTIMATED_HOURS, delegate::getAverageEstimatedHours, InstrumentedTaskAnalyzer::one);
+    }
+
+    @Override
+    public List<String> getTaskTitles() {
+        return timed(Query.TASK_TITLES, delegate::getTaskTitles, List::size);
+    }
+
+    @Override
+    public List<Task> filterWithCustomPredicate(TaskPredicate predicate) {
+        return timed(Query.FILTER_WITH_CUSTOM_PREDICATE, () -> delegate.filterWithCustomPredicate(predicate), List::size);
+    }
+
+    @Override
+    public List<String> getAllTagsSorted() {
+        return timed(Query.TAGS_SORTED, delegate::getAllTagsSorted, List::size);
+    }
+
+    @Override
+    public Map<Task.Priority, Long> countTasksByPriority() {
+        return timed(Query.COUNT_BY_PRIORITY, delegate::countTasksByPriority, Map::size);
+    }
+
+    @Override
+    public String getTaskSummary(Long taskId) {
+        return timed(Query.TASK_SUMMARY, () -> delegate.getTaskSummary(taskId), InstrumentedTaskAnalyzer::one);
+    }
+
+    @Override
+    public boolean hasOverdueTasks() {
+        return timed(Query.HAS_OVERDUE_TASKS, delegate::hasOverdueTasks, InstrumentedTaskAnalyzer::one);
+    }
+
+    @Override
+    public boolean areAllTasksAssigned() {
+        return timed(Query.ALL_TASKS_ASSIGNED, delegate::areAllTasksAssigned, InstrumentedTaskAnalyzer::one);
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return delegate.getTasks();
+    }
+}
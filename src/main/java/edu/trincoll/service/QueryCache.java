@@ -0,0 +1,208 @@
+package edu.trincoll.service;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of analyzer query results for one data source. Keys combine
+ * the query name, its canonical argument and the data version; the first
+ * lookup at a newer version drops everything cached for older ones. Entries
+ * are bounded by count and by weight (elements held) and evicted by LRU or
+ * W-TinyLFU. Safe for concurrent use; a value may be computed twice when two
+ * callers miss at once.
+ */
+public final class QueryCache {
+
+    /** Counters since creation or the last {@link #clear}. */
+    public record Stats(long hits, long misses, long bypassed, long evictions, long invalidations,
+                        int size, long weight) {
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    record Key(String query, Object argument, long version) {
+        // popularity survives version changes, so the sketch ignores the version
+        int queryHash() {
+            return 31 * query.hashCode() + Objects.hashCode(argument);
+        }
+    }
+
+    @FunctionalInterface
+    interface Weigher<R> {
+        long weigh(R value);
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long weight;
+
+        Entry(Object value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final QueryCacheOptions options;
+    // LRU: everything lives in main. TinyLFU: new entries enter window, then
+    // probation; a hit in probation promotes to protected
+    private final LinkedHashMap<Key, Entry> window = accessOrdered();
+    private final LinkedHashMap<Key, Entry> probation = accessOrdered();
+    private final LinkedHashMap<Key, Entry> main = accessOrdered();
+    private final int windowCapacity;
+    private final int protectedCapacity;
+    private final FrequencySketch sketch;
+
+    private long version = Long.MIN_VALUE;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long bypassed;
+    private long evictions;
+    private long invalidations;
+
+    public QueryCache(QueryCacheOptions options) {
+        this.options = Objects.requireNonNull(options);
+        int max = options.maxEntries();
+        boolean lfu = options.policy() == QueryCacheOptions.Policy.TINY_LFU;
+        this.windowCapacity = lfu ? Math.max(1, max / 100) : 0;
+        this.protectedCapacity = lfu ? (int) ((max - windowCapacity) * 0.8) : max;
+        this.sketch = lfu ? new FrequencySketch(max) : null;
+    }
+
+    public static QueryCache create() {
+        return new QueryCache(QueryCacheOptions.defaults());
+    }
+
+    private static LinkedHashMap<Key, Entry> accessOrdered() {
+        return new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public QueryCacheOptions options() {
+        return options;
+    }
+
+    // cached value for the key, or compute() stored under it; weigh sizes the result
+    <R> R get(Key key, Supplier<R> compute, Weigher<? super R> weigh) {
+        synchronized (this) {
+            advanceTo(key.version());
+            if (sketch != null) sketch.increment(key.queryHash());
+            Entry hit = lookup(key);
+            if (hit != null) {
+                hits++;
+                @SuppressWarnings("unchecked")
+                R value = (R) hit.value;
+                return value;
+            }
+            misses++;
+        }
+        R value = compute.get();
+        if (value != null) put(key, value, weigh.weigh(value));
+        return value;
+    }
+
+    // counts a query that could not be cached, e.g. one with an opaque predicate
+    synchronized void bypass() {
+        bypassed++;
+    }
+
+    private void advanceTo(long next) {
+        if (next == version) return;
+        if (next > version) {
+            if (size() > 0) invalidations++;
+            window.clear();
+            probation.clear();
+            main.clear();
+            weight = 0;
+            version = next;
+        }
+    }
+
+    private Entry lookup(Key key) {
+        Entry e = window.get(key);
+        if (e != null) return e;
+        e = main.get(key);
+        if (e != null) return e;
+        e = probation.remove(key);
+        if (e != null) {
+            // second hit: promote, demoting the oldest protected entry if full
+            main.put(key, e);
+            if (main.size() > protectedCapacity) {
+                Map.Entry<Key, Entry> demoted = eldest(main);
+                main.remove(demoted.getKey());
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+        return e;
+    }
+
+    private synchronized void put(Key key, Object value, long valueWeight) {
+        // a result computed against data that has moved on is not worth keeping
+        if (key.version() != version || valueWeight > options.maxWeight()) return;
+        if (window.containsKey(key) || probation.containsKey(key) || main.containsKey(key)) return;
+        Entry entry = new Entry(value, valueWeight);
+        weight += valueWeight;
+        if (sketch == null) {
+            main.put(key, entry);
+            while (main.size() > options.maxEntries()) evict(main);
+        } else {
+            window.put(key, entry);
+            if (window.size() > windowCapacity) admit(eldest(window));
+        }
+        while (weight > options.maxWeight()) {
+            if (!probation.isEmpty()) evict(probation);
+            else if (!window.isEmpty()) evict(window);
+            else evict(main);
+        }
+    }
+
+    // TinyLFU: the window's oldest entry replaces probation's oldest only if it is used more often
+    private void admit(Map.Entry<Key, Entry> candidate) {
+        window.remove(candidate.getKey());
+        if (size() < options.maxEntries()) {
+            probation.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+        LinkedHashMap<Key, Entry> from = probation.isEmpty() ? main : probation;
+        Map.Entry<Key, Entry> victim = eldest(from);
+        if (sketch.frequency(candidate.getKey().queryHash()) > sketch.frequency(victim.getKey().queryHash())) {
+            from.remove(victim.getKey());
+            dropped(victim.getValue());
+            probation.put(candidate.getKey(), candidate.getValue());
+        } else {
+            dropped(candidate.getValue());
+        }
+    }
+
+    private void evict(LinkedHashMap<Key, Entry> segment) {
+        Map.Entry<Key, Entry> e = eldest(segment);
+        segment.remove(e.getKey());
+        dropped(e.getValue());
+    }
+
+    private void dropped(Entry e) {
+        weight -= e.weight;
+        evictions++;
+    }
+
+    private static Map.Entry<Key, Entry> eldest(LinkedHashMap<Key, Entry> segment) {
+        return segment.entrySet().iterator().next();
+    }
+
+    private int size() {
+        return window.size() + probation.size() + main.size();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, bypassed, evictions, invalidations, size(), weight);
+    }
+
+    // drops every entry and resets the counters
+    public synchronized void clear() {
+        window.clear();
+        probation.clear();
+        main.clear();
+        weight = hits = misses = bypassed = evictions = invalidations = 0;
+    }
+}
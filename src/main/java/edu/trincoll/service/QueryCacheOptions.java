@@ -0,0 +1,58 @@
+package edu.trincoll.service;
+
+/**
+ * Bounds and eviction policy for a {@link QueryCache}. Instances are immutable;
+ * the with-methods return modified copies.
+ */
+public final class QueryCacheOptions {
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    public enum Policy {
+        // least recently used entry goes first
+        LRU,
+        // small LRU window in front of a segmented LRU; frequency decides admission
+        TINY_LFU
+    }
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final Policy policy;
+
+    private QueryCacheOptions(int maxEntries, long maxWeight, Policy policy) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be > 0");
+        if (maxWeight <= 0) throw new IllegalArgumentException("maxWeight must be > 0");
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.policy = java.util.Objects.requireNonNull(policy);
+    }
+
+    // 1024 results, unbounded weight, W-TinyLFU
+    public static QueryCacheOptions defaults() {
+        return new QueryCacheOptions(DEFAULT_MAX_ENTRIES, Long.MAX_VALUE, Policy.TINY_LFU);
+    }
+
+    public QueryCacheOptions withMaxEntries(int maxEntries) {
+        return new QueryCacheOptions(maxEntries, maxWeight, policy);
+    }
+
+    // total weight of cached results; a result weighs one per element it holds
+    public QueryCacheOptions withMaxWeight(long maxWeight) {
+        return new QueryCacheOptions(maxEntries, maxWeight, policy);
+    }
+
+    public QueryCacheOptions withPolicy(Policy policy) {
+        return new QueryCacheOptions(maxEntries, maxWeight, policy);
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    public Policy policy() {
+        return policy;
+    }
+}
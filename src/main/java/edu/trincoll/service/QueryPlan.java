@@ -0,0 +1,119 @@
+package edu.trincoll.service;
+
+import edu.trincoll.index.CompactBitmap;
+import edu.trincoll.index.PostingList;
+import edu.trincoll.index.TagBitmapIndex;
+import edu.trincoll.model.Task;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * An executable plan produced by {@link QueryPlanner}. Results are in list
+ * order, exactly as a full scan with the original predicate would return them.
+ */
+public final class QueryPlan {
+    public enum Kind { EMPTY, FULL_SCAN, INDEX_SCAN, BITMAP_SCAN }
+
+    private final Kind kind;
+    private final List<Task> scanned;
+    private final QueryPlanner.Candidates candidates;
+    private final TagBitmapIndex tags;
+    private final CompactBitmap bitmap;
+    private final String bitmapText;
+    private final Predicate<? super Task> residual;
+    private final String residualText;
+
+    private QueryPlan(Kind kind, List<Task> scanned, QueryPlanner.Candidates candidates,
+                      TagBitmapIndex tags, CompactBitmap bitmap, String bitmapText,
+                      Predicate<? super Task> residual, String residualText) {
+        this.kind = kind;
+        this.scanned = scanned;
+        this.candidates = candidates;
+        this.tags = tags;
+        this.bitmap = bitmap;
+        this.bitmapText = bitmapText;
+        this.residual = residual;
+        this.residualText = residualText;
+    }
+
+    static QueryPlan empty() {
+        return new QueryPlan(Kind.EMPTY, null, null, null, null, null, null, null);
+    }
+
+    static QueryPlan fullScan(List<Task> tasks, Predicate<? super Task> filter, String text) {
+        return new QueryPlan(Kind.FULL_SCAN, tasks, null, null, null, null, filter, text);
+    }
+
+    static QueryPlan indexScan(QueryPlanner.Candidates candidates, Predicate<? super Task> residual, String text) {
+        return new QueryPlan(Kind.INDEX_SCAN, null, candidates, null, null, null, residual, text);
+    }
+
+    static QueryPlan bitmapScan(TagBitmapIndex tags, CompactBitmap bitmap, String bitmapText,
+                                Predicate<? super Task> residual, String residualText) {
+        return new QueryPlan(Kind.BITMAP_SCAN, null, null, tags, bitmap, bitmapText, residual, residualText);
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    // rows the plan will examine
+    public int estimatedRows() {
+        return switch (kind) {
+            case EMPTY -> 0;
+            case FULL_SCAN -> scanned.size();
+            case INDEX_SCAN -> candidates.estimate();
+            case BITMAP_SCAN -> bitmap.cardinality();
+        };
+    }
+
+    public List<Task> execute() {
+        return switch (kind) {
+            case EMPTY -> List.of();
+            case FULL_SCAN -> scanned.stream().filter(residual).toList();
+            case INDEX_SCAN -> executeIndexScan();
+            case BITMAP_SCAN -> {
+                List<Task> hits = tags.tasksOf(bitmap);
+                if (residual != null) hits.removeIf(t -> !residual.test(t));
+                yield Collections.unmodifiableList(hits);
+            }
+        };
+    }
+
+    private List<Task> executeIndexScan() {
+        List<Task> out = new ArrayList<>();
+        List<PostingList> lists = candidates.lists();
+        if (lists.size() == 1) {
+            // a single posting list is already in list order
+            lists.get(0).forEachEntry((task, seq) -> emit(out, task));
+            return Collections.unmodifiableList(out);
+        }
+        // union: dedupe by sequence number, then restore list order
+        Map<Long, Task> bySeq = new HashMap<>();
+        for (PostingList list : lists) list.forEachEntry((task, seq) -> bySeq.putIfAbsent(seq, task));
+        long[] seqs = bySeq.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        for (long seq : seqs) emit(out, bySeq.get(seq));
+        return Collections.unmodifiableList(out);
+    }
+
+    private void emit(List<Task> out, Task task) {
+        if (residual == null || residual.test(task)) out.add(task);
+    }
+
+    public String explain() {
+        return switch (kind) {
+            case EMPTY -> "Empty (predicate is always false)";
+            case FULL_SCAN -> "FullScan rows=" + scanned.size() + " filter=" + residualText;
+            case INDEX_SCAN -> "IndexScan[" + candidates.source() + "] rows~" + candidates.estimate()
+                    + (residualText == null ? "" : " -> Filter " + residualText);
+            case BITMAP_SCAN -> "BitmapScan[" + bitmapText + "] rows=" + bitmap.cardinality()
+                    + (residualText == null ? "" : " -> Filter " + residualText);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+}
@@ -0,0 +1,182 @@
+package edu.trincoll.service;
+
+import edu.trincoll.functional.TaskCondition;
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.index.CompactBitmap;
+import edu.trincoll.index.IndexedTaskList;
+import edu.trincoll.index.PostingList;
+import edu.trincoll.index.TagBitmapIndex;
+import edu.trincoll.index.TaskIndex;
+import edu.trincoll.model.Task;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Splits a TaskPredicate into an index-driven candidate set and a residual filter.
+ * Status, priority and tag terms are answered from posting lists; a conjunction
+ * is driven by its most selective indexable term, a disjunction by the union of
+ * its terms. With a tag bitmap index, tag-only AND/OR/NOT subtrees are evaluated as
+ * bitmap operations. Anything else, or a candidate set too large to pay off, is a full scan.
+ */
+public final class QueryPlanner {
+    // candidate sets above this share of the list are cheaper to scan
+    static final double MAX_CANDIDATE_SHARE = 0.5;
+
+    private final IndexedTaskList tasks;
+    private final TagBitmapIndex tagIndex;
+
+    public QueryPlanner(IndexedTaskList tasks) {
+        this(tasks, null);
+    }
+
+    // tagIndex must be registered as a listener on tasks
+    public QueryPlanner(IndexedTaskList tasks, TagBitmapIndex tagIndex) {
+        this.tasks = Objects.requireNonNull(tasks);
+        this.tagIndex = tagIndex;
+    }
+
+    // candidate posting lists (unioned); exact when every candidate matches
+    record Candidates(String source, List<PostingList> lists, boolean exact) {
+        int estimate() {
+            return lists.stream().mapToInt(PostingList::size).sum();
+        }
+    }
+
+    public QueryPlan plan(Predicate<? super Task> predicate) {
+        if (!(predicate instanceof TaskPredicate tp)) {
+            return QueryPlan.fullScan(tasks, predicate, "opaque predicate");
+        }
+        TaskPredicate simplified = TaskCondition.simplify(tp);
+        if (simplified instanceof TaskCondition.Constant c && !c.value()) return QueryPlan.empty();
+
+        TaskIndex index = tasks.index();
+        TagBitmapIndex tags = tagIndex == null ? null : tasks.fresh(tagIndex);
+        if (tags != null) {
+            CompactBitmap exact = bitmap(tags, simplified);
+            if (exact != null) return QueryPlan.bitmapScan(tags, exact, simplified.toString(), null, null);
+        }
+        if (simplified instanceof TaskCondition.And and) {
+            return planConjunction(index, tags, and);
+        }
+        Candidates candidates = candidates(index, simplified);
+        if (candidates == null || !worthIt(candidates)) {
+            return QueryPlan.fullScan(tasks, simplified.compile(), simplified.toString());
+        }
+        return QueryPlan.indexScan(candidates, candidates.exact() ? null : simplified.compile(),
+                candidates.exact() ? null : simplified.toString());
+    }
+
+    // drive from the smallest indexable conjunct, probe the rest per candidate
+    private QueryPlan planConjunction(TaskIndex index, TagBitmapIndex tags, TaskCondition.And and) {
+        Candidates best = null;
+        TaskPredicate driver = null;
+        for (TaskPredicate term : and.terms()) {
+            Candidates c = candidates(index, term);
+            if (c != null && (best == null || c.estimate() < best.estimate())) {
+                best = c;
+                driver = term;
+            }
+        }
+        // intersect every tag-only conjunct as bitmaps
+        if (tags != null) {
+            CompactBitmap tagged = null;
+            List<TaskPredicate> rest = new ArrayList<>();
+            List<String> sources = new ArrayList<>();
+            for (TaskPredicate term : and.terms()) {
+                CompactBitmap b = bitmap(tags, term);
+                if (b == null) {
+                    rest.add(term);
+                } else {
+                    tagged = tagged == null ? b : CompactBitmap.and(tagged, b);
+                    sources.add(term.toString());
+                }
+            }
+            if (tagged != null && (best == null || tagged.cardinality() <= best.estimate())) {
+                TaskPredicate residual = rest.size() == 1 ? rest.get(0) : new TaskCondition.And(rest);
+                return QueryPlan.bitmapScan(tags, tagged, String.join(" and ", sources),
+                        residual.compile(), residual.toString());
+            }
+        }
+        if (best == null || !worthIt(best)) {
+            return QueryPlan.fullScan(tasks, and.compile(), and.toString());
+        }
+        List<TaskPredicate> rest = new ArrayList<>(and.terms());
+        if (best.exact()) rest.remove(driver);
+        TaskPredicate residual = rest.size() == 1 ? rest.get(0) : new TaskCondition.And(rest);
+        return QueryPlan.indexScan(best, residual.compile(), residual.toString());
+    }
+
+    private boolean worthIt(Candidates c) {
+        return c.estimate() <= tasks.size() * MAX_CANDIDATE_SHARE;
+    }
+
+    // exact ordinal set for a tag-only subtree, or null
+    private static CompactBitmap bitmap(TagBitmapIndex tags, TaskPredicate term) {
+        if (term instanceof TaskCondition.HasTag t) {
+            return t.tag() == null ? null : tags.bitmap(t.tag());
+        }
+        if (term instanceof TaskCondition.Not n) {
+            CompactBitmap inner = bitmap(tags, n.term());
+            return inner == null ? null : CompactBitmap.andNot(tags.all(), inner);
+        }
+        List<TaskPredicate> children;
+        boolean conjunction;
+        if (term instanceof TaskCondition.And a) {
+            children = a.terms();
+            conjunction = true;
+        } else if (term instanceof TaskCondition.Or o) {
+            children = o.terms();
+            conjunction = false;
+        } else {
+            return null;
+        }
+        CompactBitmap out = null;
+        for (TaskPredicate child : children) {
+            CompactBitmap b = bitmap(tags, child);
+            if (b == null) return null;
+            out = out == null ? b : conjunction ? CompactBitmap.and(out, b) : CompactBitmap.or(out, b);
+        }
+        return out;
+    }
+
+    // null when the term cannot be answered from an index
+    private static Candidates candidates(TaskIndex index, TaskPredicate term) {
+        if (term instanceof TaskCondition.StatusIn s && !s.matchesNull()) {
+            return new Candidates(term.toString(),
+                    s.statuses().stream().map(index::byStatus).toList(), true);
+        }
+        if (term instanceof TaskCondition.PriorityIn p && !p.matchesNull()) {
+            return new Candidates(term.toString(),
+                    p.priorities().stream().map(index::byPriority).toList(), true);
+        }
+        if (term instanceof TaskCondition.Overdue o && o.asOf() != null) {
+            return new Candidates(term.toString(), List.copyOf(index.overdue(o.asOf())), true);
+        }
+        if (term instanceof TaskCondition.HasTag t && t.tag() != null) {
+            return new Candidates(term.toString(), List.of(index.byTag(t.tag())), true);
+        }
+        if (term instanceof TaskCondition.And and) {
+            Candidates best = null;
+            for (TaskPredicate child : and.terms()) {
+                Candidates c = candidates(index, child);
+                if (c != null && (best == null || c.estimate() < best.estimate())) best = c;
+            }
+            return best == null ? null : new Candidates(best.source(), best.lists(), false);
+        }
+        if (term instanceof TaskCondition.Or or) {
+            List<PostingList> lists = new ArrayList<>();
+            List<String> sources = new ArrayList<>();
+            boolean exact = true;
+            for (TaskPredicate child : or.terms()) {
+                Candidates c = candidates(index, child);
+                if (c == null) return null;
+                lists.addAll(c.lists());
+                sources.add(c.source());
+                exact &= c.exact();
+            }
+            return new Candidates(String.join(" union ", sources), lists, exact);
+        }
+        return null;
+    }
+}
@@ -1,8 +1,13 @@
 package edu.trincoll.service;
 
+import edu.trincoll.functional.TaskCondition;
 import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.logging.LogLevel;
+import edu.trincoll.logging.TaskLog;
+import edu.trincoll.logging.TaskLogger;
 import edu.trincoll.model.Task;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.Predicate;
@@ -24,16 +29,34 @@ import java.util.stream.Stream;
  */
 
 public class TaskAnalyzer {
+    private static final TaskLogger LOG = TaskLog.logger(TaskAnalyzer.class);
+
     private final List<Task> tasks;
+    private final Clock clock;
 
     public TaskAnalyzer(List<Task> tasks) {
+        this(tasks, Clock.systemDefaultZone());
+    }
+
+    public TaskAnalyzer(List<Task> tasks, Clock clock) {
         // Keep a live reference so any tasks added after construction are visible
         this.tasks = java.util.Objects.requireNonNull(tasks);
+        this.clock = java.util.Objects.requireNonNull(clock);
+    }
+
+    // reference time, read once per query so a scan cannot disagree with itself
+    protected LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    public Clock getClock() {
+        return clock;
     }
 
     // streams + filter
     public List<Task> filterTasks(Predicate<Task> predicate) {
         if (predicate == null) return new ArrayList<>(tasks);
+        if (predicate instanceof TaskPredicate tp) predicate = TaskCondition.bindNow(tp, now());
         return tasks.stream().filter(predicate).toList();
     }
 
@@ -43,12 +66,9 @@ public class TaskAnalyzer {
                         t -> Objects.equals(t.id(), id))
                 .findFirst();
     }
-    // sort by priority weight desc + limit
+    // priority weight desc + limit, stable; bucketed top-K instead of a full sort
     public List<Task> getTopPriorityTasks(int limit) {
-        return tasks.stream()
-                .sorted(Comparator.comparingInt((Task t) -> t.priority().getWeight()).reversed())
-                .limit(Math.max(0, limit))
-                .toList();
+        return TopKCollector.topByPriority(tasks, limit);
     }
 
     // groupingBy status
@@ -58,7 +78,8 @@ public class TaskAnalyzer {
 
     // partitioningBy overdue
     public Map<Boolean, List<Task>> partitionByOverdue() {
-        return tasks.stream().collect(Collectors.partitioningBy(Task::isOverdue));
+        LocalDateTime now = now();
+        return tasks.stream().collect(Collectors.partitioningBy(t -> t.isOverdue(now)));
     }
 
     // unique tags via flatMap
@@ -97,14 +118,17 @@ public class TaskAnalyzer {
     // custom predicate
     public List<Task> filterWithCustomPredicate(TaskPredicate predicate) {
         if (predicate == null) return new ArrayList<>(tasks);
-        return tasks.stream().filter(predicate::test).toList();
+        return tasks.stream().filter(TaskCondition.bindNow(predicate, now())::test).toList();
     }
 
     // flatMap all tags, sorted
     public List<String> getAllTagsSorted() {
-        System.out.println("Analyzer tasks count: " + tasks.size());
-        tasks.forEach(t -> System.out.println("Task " + t.id() + " tags: " + t.tags()));
-
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("sorting tags", "tasks", tasks.size());
+            if (LOG.isEnabled(LogLevel.TRACE)) {
+                tasks.forEach(t -> LOG.log(LogLevel.TRACE, "task tags", "id", t.id(), "tags", t.tags()));
+            }
+        }
         return tasks.stream()
                 .flatMap(t -> {
                     var tags = t.tags();
@@ -133,7 +157,8 @@ public class TaskAnalyzer {
 
     // any overdue?
     public boolean hasOverdueTasks() {
-        return tasks.stream().anyMatch(Task::isOverdue);
+        LocalDateTime now = now();
+        return tasks.stream().anyMatch(t -> t.isOverdue(now));
     }
 
     // all "assigned"?
@@ -142,6 +167,25 @@ public class TaskAnalyzer {
         return tasks.stream().allMatch(t -> t.status() != Task.Status.TODO);
     }
 
+    // lazy views: nothing is copied until the caller iterates, pages or calls toList()
+    public TaskView<Task> view() {
+        return TaskView.of(tasks);
+    }
+
+    public TaskView<Task> viewTasks(Predicate<Task> predicate) {
+        if (predicate == null) return view();
+        if (predicate instanceof TaskPredicate tp) predicate = TaskCondition.bindNow(tp, now());
+        return view().filter(predicate);
+    }
+
+    public TaskView<Task> viewByStatus(Task.Status status) {
+        return view().filter(t -> t.status() == status);
+    }
+
+    public TaskView<String> viewTaskTitles() {
+        return view().map(Task::title);
+    }
+
     public List<Task> getTasks() {
         return tasks;
     }
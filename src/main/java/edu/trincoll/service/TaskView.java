@@ -0,0 +1,256 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Task;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy query result over a random-access task list. Nothing is copied until
+ * the view is iterated, paged or materialized with {@link #toList}. Unfiltered
+ * views are ranges of the source, so skip, limit and size are O(1) and their
+ * spliterators are SIZED and SUBSIZED; filtered views split by source range
+ * and report the range as their estimate. Views read the source on demand:
+ * it must not shrink while one is in use.
+ */
+public final class TaskView<T> implements Iterable<T> {
+    // rows sampled by estimateSize on filtered views
+    private static final int SAMPLE_ROWS = 1024;
+
+    private final List<Task> source;
+    private final int from;
+    private final int to;
+    // null when every row in range is part of the view
+    private final Predicate<? super Task> filter;
+    private final Function<? super Task, ? extends T> mapper;
+    // in output elements; only used when filtered, unfiltered views fold them into the range
+    private final long skip;
+    private final long limit;
+
+    private TaskView(List<Task> source, int from, int to, Predicate<? super Task> filter,
+                     Function<? super Task, ? extends T> mapper, long skip, long limit) {
+        this.source = source;
+        this.from = from;
+        this.to = to;
+        this.filter = filter;
+        this.mapper = mapper;
+        this.skip = skip;
+        this.limit = limit;
+    }
+
+    public static TaskView<Task> of(List<Task> source) {
+        if (!(source instanceof RandomAccess)) source = List.copyOf(source);
+        return new TaskView<>(source, 0, source.size(), null, Function.identity(), 0, Long.MAX_VALUE);
+    }
+
+    /** Position to resume paging from; {@code index} counts elements already returned. */
+    public record Cursor(int position, long index) {}
+
+    /** One page of a view and the cursor for the next, if there is one. */
+    public record Page<T>(List<T> items, Cursor next) {
+        public boolean hasNext() {
+            return next != null;
+        }
+    }
+
+    public TaskView<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate);
+        if (skip != 0 || limit != Long.MAX_VALUE) {
+            // filtering after a skip/limit would change which rows they count
+            throw new IllegalStateException("filter before skip or limit");
+        }
+        Function<? super Task, ? extends T> m = mapper;
+        Predicate<? super Task> f = filter;
+        Predicate<Task> combined = f == null
+                ? t -> predicate.test(m.apply(t))
+                : t -> f.test(t) && predicate.test(m.apply(t));
+        return new TaskView<>(source, from, to, combined, mapper, 0, Long.MAX_VALUE);
+    }
+
+    public <R> TaskView<R> map(Function<? super T, ? extends R> fn) {
+        Objects.requireNonNull(fn);
+        Function<? super Task, ? extends T> m = mapper;
+        return new TaskView<>(source, from, to, filter, t -> fn.apply(m.apply(t)), skip, limit);
+    }
+
+    public TaskView<T> skip(long n) {
+        if (n < 0) throw new IllegalArgumentException("skip must be >= 0");
+        if (filter == null) {
+            // clamp first: from + n would overflow for large n
+            int start = from + (int) Math.min(n, to - from);
+            return new TaskView<>(source, start, to, null, mapper, 0, Long.MAX_VALUE);
+        }
+        long remaining = limit == Long.MAX_VALUE ? limit : Math.max(0, limit - n);
+        return new TaskView<>(source, from, to, filter, mapper, saturatedAdd(skip, n), remaining);
+    }
+
+    public TaskView<T> limit(long n) {
+        if (n < 0) throw new IllegalArgumentException("limit must be >= 0");
+        if (filter == null) {
+            int end = from + (int) Math.min(n, to - from);
+            return new TaskView<>(source, from, end, null, mapper, 0, Long.MAX_VALUE);
+        }
+        return new TaskView<>(source, from, to, filter, mapper, skip, Math.min(limit, n));
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    public boolean isSized() {
+        return filter == null;
+    }
+
+    // exact for unfiltered views; otherwise extrapolated from an even sample of rows
+    public long estimateSize() {
+        int rows = to - from;
+        if (filter == null) return rows;
+        if (rows == 0) return 0;
+        int step = Math.max(1, rows / SAMPLE_ROWS);
+        int sampled = 0;
+        int matched = 0;
+        for (int i = from; i < to; i += step) {
+            sampled++;
+            if (filter.test(source.get(i))) matched++;
+        }
+        long estimate = Math.max(0, Math.round((double) matched * rows / sampled) - skip);
+        return Math.min(estimate, limit);
+    }
+
+    // exact; scans the range when filtered
+    public long count() {
+        if (filter == null) return to - from;
+        long matched = 0;
+        for (int i = from; i < to; i++) if (filter.test(source.get(i))) matched++;
+        return Math.min(limit, Math.max(0, matched - skip));
+    }
+
+    public Page<T> firstPage(int size) {
+        return page(null, size);
+    }
+
+    // the next page after cursor (null for the first); scans only the rows it returns or rejects
+    public Page<T> page(Cursor cursor, int size) {
+        if (size <= 0) throw new IllegalArgumentException("page size must be > 0");
+        int position = cursor == null ? from : Math.max(from, cursor.position());
+        long index = cursor == null ? 0 : cursor.index();
+        long toSkip = cursor == null ? skip : 0;
+        List<T> items = new ArrayList<>(Math.min(size, to - position));
+        while (position < to && items.size() < size && index < limit) {
+            Task t = source.get(position++);
+            if (filter != null && !filter.test(t)) continue;
+            if (toSkip > 0) {
+                toSkip--;
+                continue;
+            }
+            items.add(mapper.apply(t));
+            index++;
+        }
+        boolean more = index < limit && hasMatchFrom(position);
+        return new Page<>(Collections.unmodifiableList(items), more ? new Cursor(position, index) : null);
+    }
+
+    private boolean hasMatchFrom(int position) {
+        if (filter == null) return position < to;
+        for (int i = position; i < to; i++) if (filter.test(source.get(i))) return true;
+        return false;
+    }
+
+    public List<T> toList() {
+        List<T> out = new ArrayList<>(filter == null ? to - from : 16);
+        forEach(out::add);
+        return Collections.unmodifiableList(out);
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        spliterator().forEachRemaining(action);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        Spliterator<T> rows = new RangeSpliterator<>(source, from, to, filter, mapper);
+        if (filter == null || (skip == 0 && limit == Long.MAX_VALUE)) return rows;
+        // skip/limit count matches, which only a stream can do without a scan up front
+        Stream<T> window = StreamSupport.stream(rows, false).skip(skip);
+        if (limit != Long.MAX_VALUE) window = window.limit(limit);
+        return window.spliterator();
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // halves the source range on split, so parallel work stays balanced
+    private static final class RangeSpliterator<T> implements Spliterator<T> {
+        private final List<Task> source;
+        private int index;
+        private final int end;
+        private final Predicate<? super Task> filter;
+        private final Function<? super Task, ? extends T> mapper;
+
+        RangeSpliterator(List<Task> source, int index, int end, Predicate<? super Task> filter,
+                         Function<? super Task, ? extends T> mapper) {
+            this.source = source;
+            this.index = index;
+            this.end = end;
+            this.filter = filter;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (index < end) {
+                Task t = source.get(index++);
+                if (filter == null || filter.test(t)) {
+                    action.accept(mapper.apply(t));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            int i = index;
+            index = end;
+            for (; i < end; i++) {
+                Task t = source.get(i);
+                if (filter == null || filter.test(t)) action.accept(mapper.apply(t));
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (index + end) >>> 1;
+            if (mid <= index) return null;
+            Spliterator<T> prefix = new RangeSpliterator<>(source, index, mid, filter, mapper);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return filter == null ? ORDERED | SIZED | SUBSIZED : ORDERED;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Task;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Bounded top-K selection: O(n log k) time and O(k) memory instead of a full sort.
+ * Ties keep encounter order, so the result equals {@code sorted(order).limit(k)}
+ * for sequential and parallel streams alike.
+ */
+public final class TopKCollector implements Collector<Task, TopKCollector.Heap, List<Task>> {
+    private static final Comparator<Task> BY_PRIORITY_DESC =
+            Comparator.comparingInt((Task t) -> t.priority().getWeight()).reversed();
+    static final Task.Priority[] BY_WEIGHT_DESC = Arrays.stream(Task.Priority.values())
+            .sorted(Comparator.comparingInt(Task.Priority::getWeight).reversed())
+            .toArray(Task.Priority[]::new);
+
+    private final int k;
+    private final Comparator<Entry> entryOrder;
+
+    private TopKCollector(int k, Comparator<? super Task> order) {
+        this.k = Math.max(0, k);
+        this.entryOrder = Comparator.<Entry, Task>comparing(Entry::task, Objects.requireNonNull(order))
+                .thenComparingLong(Entry::seq);
+    }
+
+    // first k tasks of the stable sort by order
+    public static TopKCollector topK(int k, Comparator<? super Task> order) {
+        return new TopKCollector(k, order);
+    }
+
+    // highest priority weight first, like getTopPriorityTasks
+    public static TopKCollector byPriority(int k) {
+        return new TopKCollector(k, BY_PRIORITY_DESC);
+    }
+
+    /**
+     * Bucket shortcut for priority order: one pass with at most k tasks kept per
+     * priority, stopping as soon as k tasks of the top weight have been seen.
+     */
+    public static List<Task> topByPriority(Iterable<Task> tasks, int k) {
+        if (k <= 0) return List.of();
+        List<List<Task>> buckets = new ArrayList<>();
+        Map<Task.Priority, List<Task>> byPriority = new EnumMap<>(Task.Priority.class);
+        for (Task.Priority p : BY_WEIGHT_DESC) {
+            List<Task> bucket = new ArrayList<>();
+            buckets.add(bucket);
+            byPriority.put(p, bucket);
+        }
+        List<Task> top = buckets.get(0);
+        for (Task t : tasks) {
+            List<Task> bucket = byPriority.get(t.priority());
+            if (bucket == null) throw new NullPointerException("task " + t.id() + " has no priority");
+            if (bucket.size() < k) bucket.add(t);
+            if (top.size() == k) break;
+        }
+        List<Task> out = new ArrayList<>(k);
+        for (List<Task> bucket : buckets) {
+            for (Task t : bucket) {
+                if (out.size() == k) break;
+                out.add(t);
+            }
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    // entry seq is the encounter position, used to break ties
+    record Entry(Task task, long seq) {}
+
+    public final class Heap {
+        // root is the entry that sorts last
+        private final PriorityQueue<Entry> queue = new PriorityQueue<>(
+                Math.max(1, Math.min(k, 1024)), entryOrder.reversed());
+        private long seen;
+
+        void offer(Task task, long seq) {
+            if (k == 0) return;
+            Entry e = new Entry(task, seq);
+            if (queue.size() < k) {
+                queue.add(e);
+            } else if (entryOrder.compare(e, queue.peek()) < 0) {
+                queue.poll();
+                queue.add(e);
+            }
+        }
+    }
+
+    @Override
+    public Supplier<Heap> supplier() {
+        return Heap::new;
+    }
+
+    @Override
+    public BiConsumer<Heap, Task> accumulator() {
+        return (heap, task) -> heap.offer(task, heap.seen++);
+    }
+
+    // right-hand elements come later in encounter order
+    @Override
+    public BinaryOperator<Heap> combiner() {
+        return (left, right) -> {
+            long offset = left.seen;
+            right.queue.forEach(e -> left.offer(e.task(), offset + e.seq()));
+            left.seen += right.seen;
+            return left;
+        };
+    }
+
+    @Override
+    public Function<Heap, List<Task>> finisher() {
+        return heap -> heap.queue.stream().sorted(entryOrder).map(Entry::task).toList();
+    }
+
+    @Override
+    public Set<Characteristics> characteristics() {
+        return Set.of();
+    }
+}
@@ -0,0 +1,176 @@
+package edu.trincoll.shard;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.model.Task;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-heap shard. Queries take a read lock and run concurrently; adds take the
+ * write lock.
+ */
+public class LocalShard implements Shard {
+    static final Task.Priority[] BY_WEIGHT_DESC = Arrays.stream(Task.Priority.values())
+            .sorted(Comparator.comparingInt(Task.Priority::getWeight).reversed())
+            .toArray(Task.Priority[]::new);
+
+    private final List<Sequenced> tasks = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void add(List<Sequenced> batch) {
+        lock.writeLock().lock();
+        try {
+            for (Sequenced s : batch) tasks.add(Objects.requireNonNull(s));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Sequenced> filter(TaskPredicate predicate) {
+        lock.readLock().lock();
+        try {
+            List<Sequenced> out = new ArrayList<>();
+            for (Sequenced s : tasks) if (predicate.test(s.task())) out.add(s);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean anyMatch(TaskPredicate predicate) {
+        lock.readLock().lock();
+        try {
+            for (Sequenced s : tasks) if (predicate.test(s.task())) return true;
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            for (Sequenced s : tasks) if (Objects.equals(s.task().id(), id)) return Optional.of(s.task());
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // same buckets and early exit as TopKCollector.topByPriority, keeping sequence numbers
+    @Override
+    public List<Sequenced> topPriority(int limit) {
+        if (limit <= 0) return List.of();
+        lock.readLock().lock();
+        try {
+            Map<Task.Priority, List<Sequenced>> buckets = new EnumMap<>(Task.Priority.class);
+            for (Task.Priority p : BY_WEIGHT_DESC) buckets.put(p, new ArrayList<>());
+            List<Sequenced> top = buckets.get(BY_WEIGHT_DESC[0]);
+            for (Sequenced s : tasks) {
+                Task.Priority p = s.task().priority();
+                if (p == null) throw new NullPointerException("task " + s.task().id() + " has no priority");
+                List<Sequenced> bucket = buckets.get(p);
+                if (bucket.size() < limit) bucket.add(s);
+                if (top.size() == limit) break;
+            }
+            List<Sequenced> out = new ArrayList<>(limit);
+            for (Task.Priority p : BY_WEIGHT_DESC) {
+                for (Sequenced s : buckets.get(p)) {
+                    if (out.size() == limit) return out;
+                    out.add(s);
+                }
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Hours hours() {
+        lock.readLock().lock();
+        try {
+            long sum = 0;
+            long count = 0;
+            for (Sequenced s : tasks) {
+                Integer h = s.task().estimatedHours();
+                if (h != null) {
+                    sum += h;
+                    count++;
+                }
+            }
+            return new Hours(tasks.size(), sum, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long[] countByPriority() {
+        lock.readLock().lock();
+        try {
+            long[] counts = new long[Task.Priority.values().length + 1];
+            for (Sequenced s : tasks) {
+                Task.Priority p = s.task().priority();
+                counts[p == null ? counts.length - 1 : p.ordinal()]++;
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<Task.Status, List<Sequenced>> groupByStatus() {
+        lock.readLock().lock();
+        try {
+            Map<Task.Status, List<Sequenced>> out = new EnumMap<>(Task.Status.class);
+            for (Sequenced s : tasks) {
+                Task.Status status = Objects.requireNonNull(s.task().status(), "element cannot be mapped to a null key");
+                out.computeIfAbsent(status, k -> new ArrayList<>()).add(s);
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, TagCount> tagCounts() {
+        lock.readLock().lock();
+        try {
+            // count, first seq, first slot
+            Map<String, long[]> counts = new HashMap<>();
+            for (Sequenced s : tasks) {
+                Set<String> tags = s.task().tags();
+                if (tags == null) continue;
+                int slot = 0;
+                for (String tag : tags) {
+                    int at = slot++;
+                    counts.computeIfAbsent(tag, k -> new long[]{0, s.seq(), at})[0]++;
+                }
+            }
+            Map<String, TagCount> out = new HashMap<>(counts.size() * 2);
+            counts.forEach((tag, c) -> out.put(tag, new TagCount(c[0], c[1], (int) c[2])));
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package edu.trincoll.shard;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.model.Task;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * One partition of a {@link ShardedTaskAnalyzer}. Every query returns a
+ * partial result that the analyzer merges with the other shards'. Tasks carry
+ * the global sequence number they were added under, so merged lists come out
+ * in the same order a single analyzer would produce. Predicates reaching a
+ * shard are already bound to one reference time.
+ */
+public interface Shard {
+
+    /** A task and its position in the global insertion order. */
+    record Sequenced(long seq, Task task) {}
+
+    /** Estimated hours: tasks seen, and the sum and count of non-null hours. */
+    record Hours(long tasks, long sum, long count) {}
+
+    /** Occurrences of one tag, and where it first appeared: task sequence and position in its tag set. */
+    record TagCount(long count, long firstSeq, int firstSlot) {}
+
+    void add(List<Sequenced> tasks);
+
+    int size();
+
+    // matches in sequence order
+    List<Sequenced> filter(TaskPredicate predicate);
+
+    boolean anyMatch(TaskPredicate predicate);
+
+    Optional<Task> findById(Long id);
+
+    // at most limit tasks by priority weight, highest first, ties in sequence order
+    List<Sequenced> topPriority(int limit);
+
+    Hours hours();
+
+    // indexed by priority ordinal; the extra last slot counts null priorities
+    long[] countByPriority();
+
+    // lists in sequence order; a null status fails like Collectors.groupingBy
+    Map<Task.Status, List<Sequenced>> groupByStatus();
+
+    Map<String, TagCount> tagCounts();
+}
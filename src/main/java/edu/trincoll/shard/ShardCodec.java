@@ -0,0 +1,251 @@
+package edu.trincoll.shard;
+
+import edu.trincoll.functional.TaskCondition;
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.model.Task;
+import edu.trincoll.store.TaskColumns;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Wire format for socket shards. A request is one opcode byte and its
+// arguments; a reply is OK plus the result, or ERROR, exception class and message.
+final class ShardCodec {
+    static final byte ADD = 1;
+    static final byte SIZE = 2;
+    static final byte FILTER = 3;
+    static final byte ANY_MATCH = 4;
+    static final byte FIND_BY_ID = 5;
+    static final byte TOP_PRIORITY = 6;
+    static final byte HOURS = 7;
+    static final byte COUNT_BY_PRIORITY = 8;
+    static final byte GROUP_BY_STATUS = 9;
+    static final byte TAG_COUNTS = 10;
+
+    static final byte OK = 0;
+    static final byte ERROR = 1;
+
+    private static final byte STATUS_IN = 1;
+    private static final byte PRIORITY_IN = 2;
+    private static final byte HAS_TAG = 3;
+    private static final byte OVERDUE = 4;
+    private static final byte CONSTANT = 5;
+    private static final byte AND = 6;
+    private static final byte OR = 7;
+    private static final byte NOT = 8;
+
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+    private static final Task.Status[] STATUSES = Task.Status.values();
+
+    private ShardCodec() {}
+
+    // only inspectable TaskCondition trees can cross the wire
+    static void writePredicate(DataOutputStream out, TaskPredicate p) throws IOException {
+        if (p instanceof TaskCondition.StatusIn s) {
+            out.writeByte(STATUS_IN);
+            out.writeInt(s.mask());
+        } else if (p instanceof TaskCondition.PriorityIn q) {
+            out.writeByte(PRIORITY_IN);
+            out.writeInt(q.mask());
+        } else if (p instanceof TaskCondition.HasTag h) {
+            out.writeByte(HAS_TAG);
+            writeString(out, h.tag());
+        } else if (p instanceof TaskCondition.Overdue o) {
+            out.writeByte(OVERDUE);
+            writeTime(out, o.asOf());
+        } else if (p instanceof TaskCondition.Constant c) {
+            out.writeByte(CONSTANT);
+            out.writeBoolean(c.value());
+        } else if (p instanceof TaskCondition.And a) {
+            out.writeByte(AND);
+            writeTerms(out, a.terms());
+        } else if (p instanceof TaskCondition.Or o) {
+            out.writeByte(OR);
+            writeTerms(out, o.terms());
+        } else if (p instanceof TaskCondition.Not n) {
+            out.writeByte(NOT);
+            writePredicate(out, n.term());
+        } else {
+            throw new IllegalArgumentException("opaque predicates cannot be sent to a remote shard: " + p);
+        }
+    }
+
+    private static void writeTerms(DataOutputStream out, List<TaskPredicate> terms) throws IOException {
+        out.writeInt(terms.size());
+        for (TaskPredicate t : terms) writePredicate(out, t);
+    }
+
+    static TaskPredicate readPredicate(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        return switch (kind) {
+            case STATUS_IN -> new TaskCondition.StatusIn(in.readInt());
+            case PRIORITY_IN -> new TaskCondition.PriorityIn(in.readInt());
+            case HAS_TAG -> new TaskCondition.HasTag(readString(in));
+            case OVERDUE -> new TaskCondition.Overdue(readTime(in));
+            case CONSTANT -> TaskCondition.Constant.of(in.readBoolean());
+            case AND -> new TaskCondition.And(readTerms(in));
+            case OR -> new TaskCondition.Or(readTerms(in));
+            case NOT -> new TaskCondition.Not(readPredicate(in));
+            default -> throw new IOException("unknown predicate kind " + kind);
+        };
+    }
+
+    private static List<TaskPredicate> readTerms(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        List<TaskPredicate> terms = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) terms.add(readPredicate(in));
+        return terms;
+    }
+
+    static void writeSequenced(DataOutputStream out, List<Shard.Sequenced> tasks) throws IOException {
+        out.writeInt(tasks.size());
+        for (Shard.Sequenced s : tasks) {
+            out.writeLong(s.seq());
+            writeTask(out, s.task());
+        }
+    }
+
+    static List<Shard.Sequenced> readSequenced(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        List<Shard.Sequenced> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(new Shard.Sequenced(in.readLong(), readTask(in)));
+        return out;
+    }
+
+    static void writeOptionalTask(DataOutputStream out, Optional<Task> task) throws IOException {
+        out.writeBoolean(task.isPresent());
+        if (task.isPresent()) writeTask(out, task.get());
+    }
+
+    static Optional<Task> readOptionalTask(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Optional.of(readTask(in)) : Optional.empty();
+    }
+
+    static void writeHours(DataOutputStream out, Shard.Hours hours) throws IOException {
+        out.writeLong(hours.tasks());
+        out.writeLong(hours.sum());
+        out.writeLong(hours.count());
+    }
+
+    static Shard.Hours readHours(DataInputStream in) throws IOException {
+        return new Shard.Hours(in.readLong(), in.readLong(), in.readLong());
+    }
+
+    static void writeCounts(DataOutputStream out, long[] counts) throws IOException {
+        out.writeInt(counts.length);
+        for (long c : counts) out.writeLong(c);
+    }
+
+    static long[] readCounts(DataInputStream in) throws IOException {
+        long[] counts = new long[in.readInt()];
+        for (int i = 0; i < counts.length; i++) counts[i] = in.readLong();
+        return counts;
+    }
+
+    static void writeGroups(DataOutputStream out, Map<Task.Status, List<Shard.Sequenced>> groups) throws IOException {
+        out.writeInt(groups.size());
+        for (var e : groups.entrySet()) {
+            out.writeByte(e.getKey().ordinal());
+            writeSequenced(out, e.getValue());
+        }
+    }
+
+    static Map<Task.Status, List<Shard.Sequenced>> readGroups(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        Map<Task.Status, List<Shard.Sequenced>> groups = new EnumMap<>(Task.Status.class);
+        for (int i = 0; i < n; i++) groups.put(STATUSES[in.readByte()], readSequenced(in));
+        return groups;
+    }
+
+    static void writeTagCounts(DataOutputStream out, Map<String, Shard.TagCount> tags) throws IOException {
+        out.writeInt(tags.size());
+        for (var e : tags.entrySet()) {
+            writeString(out, e.getKey());
+            out.writeLong(e.getValue().count());
+            out.writeLong(e.getValue().firstSeq());
+            out.writeInt(e.getValue().firstSlot());
+        }
+    }
+
+    static Map<String, Shard.TagCount> readTagCounts(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        Map<String, Shard.TagCount> tags = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            String tag = readString(in);
+            tags.put(tag, new Shard.TagCount(in.readLong(), in.readLong(), in.readInt()));
+        }
+        return tags;
+    }
+
+    static void writeTask(DataOutputStream out, Task task) throws IOException {
+        out.writeBoolean(task.id() != null);
+        if (task.id() != null) out.writeLong(task.id());
+        writeString(out, task.title());
+        writeString(out, task.description());
+        out.writeByte(task.priority() == null ? TaskColumns.NULL_ORDINAL : task.priority().ordinal());
+        out.writeByte(task.status() == null ? TaskColumns.NULL_ORDINAL : task.status().ordinal());
+        if (task.tags() == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(task.tags().size());
+            for (String tag : task.tags()) writeString(out, tag);
+        }
+        writeTime(out, task.createdAt());
+        writeTime(out, task.dueDate());
+        out.writeInt(TaskColumns.encodeHours(task.estimatedHours()));
+    }
+
+    static Task readTask(DataInputStream in) throws IOException {
+        Long id = in.readBoolean() ? in.readLong() : null;
+        String title = readString(in);
+        String description = readString(in);
+        int priority = in.readByte();
+        int status = in.readByte();
+        int tagCount = in.readInt();
+        Set<String> tags = null;
+        if (tagCount >= 0) {
+            Set<String> set = new LinkedHashSet<>(Math.max(4, tagCount * 2));
+            for (int i = 0; i < tagCount; i++) set.add(readString(in));
+            tags = Collections.unmodifiableSet(set);
+        }
+        var createdAt = readTime(in);
+        var dueDate = readTime(in);
+        int hours = in.readInt();
+        return new Task(id, title, description,
+                priority == TaskColumns.NULL_ORDINAL ? null : PRIORITIES[priority],
+                status == TaskColumns.NULL_ORDINAL ? null : STATUSES[status],
+                tags, createdAt, dueDate,
+                hours == TaskColumns.NULL_HOURS ? null : hours);
+    }
+
+    private static void writeTime(DataOutputStream out, java.time.LocalDateTime time) throws IOException {
+        out.writeLong(TaskColumns.seconds(time));
+        out.writeInt(TaskColumns.nanos(time));
+    }
+
+    private static java.time.LocalDateTime readTime(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        return TaskColumns.toDateTime(seconds, in.readInt());
+    }
+
+    static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
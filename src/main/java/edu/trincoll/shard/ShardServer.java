@@ -0,0 +1,194 @@
+package edu.trincoll.shard;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.logging.LogLevel;
+import edu.trincoll.logging.LogSink;
+import edu.trincoll.logging.TaskLog;
+import edu.trincoll.logging.TaskLogger;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Serves one {@link Shard} on a loopback port for {@link SocketShard} clients.
+ * Each connection gets its own daemon thread and handles requests one at a
+ * time. Run {@link #main} to host a shard in a separate JVM.
+ */
+public final class ShardServer implements AutoCloseable {
+    private static final TaskLogger LOG = TaskLog.logger(ShardServer.class);
+
+    // writes a computed result after the OK byte
+    @FunctionalInterface
+    private interface Reply {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private final ServerSocket server;
+    private final Shard shard;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    private ShardServer(ServerSocket server, Shard shard) {
+        this.server = server;
+        this.shard = shard;
+        Thread acceptor = new Thread(this::acceptLoop, "shard-server-" + server.getLocalPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    // port 0 picks a free port; see port()
+    public static ShardServer start(int port, Shard shard) throws IOException {
+        java.util.Objects.requireNonNull(shard);
+        return new ShardServer(new ServerSocket(port, 50, InetAddress.getLoopbackAddress()), shard);
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    // prints the bound port on the first line, then serves until stdin closes
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        // stdout carries the port and the parent stops reading after it; log to stderr instead
+        TaskLog.Config config = TaskLog.config();
+        TaskLog.configure(config.threshold(), config.sampleEvery(), LogSink.to(System.err));
+        try (ShardServer server = start(port, new LocalShard())) {
+            System.out.println(server.port());
+            System.out.flush();
+            while (System.in.read() >= 0) {
+                // the parent holds stdin open for as long as it wants the shard
+            }
+        }
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                Thread handler = new Thread(() -> serve(socket), "shard-connection-" + socket.getPort());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (!server.isClosed()) LOG.log(LogLevel.WARN, "accept failed", "port", port(), "error", e);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             var out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            int op;
+            while ((op = in.read()) >= 0) {
+                // arguments are read in full before running, so a failed call leaves the stream in step
+                Supplier<Reply> call = decode((byte) op, in);
+                Reply reply;
+                try {
+                    reply = call.get();
+                } catch (RuntimeException e) {
+                    out.writeByte(ShardCodec.ERROR);
+                    ShardCodec.writeString(out, e.getClass().getName());
+                    ShardCodec.writeString(out, e.getMessage());
+                    out.flush();
+                    continue;
+                }
+                out.writeByte(ShardCodec.OK);
+                reply.write(out);
+                out.flush();
+            }
+        } catch (SocketException | EOFException e) {
+            // client went away
+        } catch (IOException e) {
+            LOG.log(LogLevel.WARN, "connection failed", "client", socket.getPort(), "error", e);
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private Supplier<Reply> decode(byte op, DataInputStream in) throws IOException {
+        switch (op) {
+            case ShardCodec.ADD: {
+                List<Shard.Sequenced> batch = ShardCodec.readSequenced(in);
+                return () -> {
+                    shard.add(batch);
+                    return out -> {};
+                };
+            }
+            case ShardCodec.SIZE:
+                return () -> {
+                    int size = shard.size();
+                    return out -> out.writeInt(size);
+                };
+            case ShardCodec.FILTER: {
+                TaskPredicate predicate = ShardCodec.readPredicate(in);
+                return () -> {
+                    List<Shard.Sequenced> matches = shard.filter(predicate);
+                    return out -> ShardCodec.writeSequenced(out, matches);
+                };
+            }
+            case ShardCodec.ANY_MATCH: {
+                TaskPredicate predicate = ShardCodec.readPredicate(in);
+                return () -> {
+                    boolean any = shard.anyMatch(predicate);
+                    return out -> out.writeBoolean(any);
+                };
+            }
+            case ShardCodec.FIND_BY_ID: {
+                Long id = in.readBoolean() ? in.readLong() : null;
+                return () -> {
+                    var task = shard.findById(id);
+                    return out -> ShardCodec.writeOptionalTask(out, task);
+                };
+            }
+            case ShardCodec.TOP_PRIORITY: {
+                int limit = in.readInt();
+                return () -> {
+                    List<Shard.Sequenced> top = shard.topPriority(limit);
+                    return out -> ShardCodec.writeSequenced(out, top);
+                };
+            }
+            case ShardCodec.HOURS:
+                return () -> {
+                    Shard.Hours hours = shard.hours();
+                    return out -> ShardCodec.writeHours(out, hours);
+                };
+            case ShardCodec.COUNT_BY_PRIORITY:
+                return () -> {
+                    long[] counts = shard.countByPriority();
+                    return out -> ShardCodec.writeCounts(out, counts);
+                };
+            case ShardCodec.GROUP_BY_STATUS:
+                return () -> {
+                    var groups = shard.groupByStatus();
+                    return out -> ShardCodec.writeGroups(out, groups);
+                };
+            case ShardCodec.TAG_COUNTS:
+                return () -> {
+                    var tags = shard.tagCounts();
+                    return out -> ShardCodec.writeTagCounts(out, tags);
+                };
+            default:
+                throw new IOException("unknown shard opcode " + op);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        for (Socket s : connections) {
+            try {
+                s.close();
+            } catch (IOException ignored) {
+                // already going away
+            }
+        }
+    }
+}
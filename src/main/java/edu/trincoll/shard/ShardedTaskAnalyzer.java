@@ -0,0 +1,373 @@
+package edu.trincoll.shard;
+
+import edu.trincoll.functional.TaskCondition;
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.model.Task;
+import edu.trincoll.service.TaskAnalyzer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * TaskAnalyzer over tasks partitioned by id hash across shards, each held in
+ * this JVM ({@link LocalShard}) or another one ({@link SocketShard}). Queries
+ * scatter to every shard on the executor and merge the partial results: sums
+ * and counts add up, groups and filters merge by the global sequence number
+ * each task was added under, top-K merges the shards' top-K. Results equal a
+ * plain TaskAnalyzer over the same tasks in the same order. Lookups by id go
+ * to the one shard that owns the id.
+ * <p>
+ * Tasks are added through {@link #add} and {@link #addAll}; {@link #getTasks}
+ * is a read-only gathered view. Remote shards accept only inspectable
+ * TaskCondition predicates.
+ */
+public class ShardedTaskAnalyzer extends TaskAnalyzer implements AutoCloseable {
+    private static final String NULL_KEY = "element cannot be mapped to a null key";
+
+    // getTasks(): every shard's tasks in sequence order, gathered again after each mutation
+    private static final class AllTasks extends AbstractList<Task> implements RandomAccess {
+        private ShardedTaskAnalyzer owner;
+        private List<Task> gathered = List.of();
+        private long gatheredAt = -1;
+
+        private synchronized List<Task> current() {
+            long mutations = owner.mutations;
+            if (gatheredAt != mutations) {
+                gathered = owner.gatherAll();
+                gatheredAt = mutations;
+            }
+            return gathered;
+        }
+
+        @Override
+        public Task get(int index) {
+            return current().get(index);
+        }
+
+        @Override
+        public int size() {
+            return current().size();
+        }
+    }
+
+    private static final Comparator<Shard.Sequenced> BY_PRIORITY_THEN_SEQ =
+            Comparator.comparingInt((Shard.Sequenced s) -> s.task().priority().getWeight()).reversed()
+                    .thenComparingLong(Shard.Sequenced::seq);
+
+    private final List<Shard> shards;
+    private final Executor executor;
+    // set when this analyzer created the executor and must shut it down
+    private final ExecutorService ownedExecutor;
+    private long nextSeq;
+    private volatile long mutations;
+
+    public ShardedTaskAnalyzer(List<? extends Shard> shards, Executor executor, Clock clock) {
+        this(shards, executor, null, clock, new AllTasks());
+    }
+
+    private ShardedTaskAnalyzer(List<? extends Shard> shards, Executor executor, ExecutorService owned,
+                                Clock clock, AllTasks all) {
+        super(all, clock);
+        if (shards.isEmpty()) throw new IllegalArgumentException("at least one shard is required");
+        this.shards = List.copyOf(shards);
+        this.executor = Objects.requireNonNull(executor);
+        this.ownedExecutor = owned;
+        all.owner = this;
+    }
+
+    // n in-heap shards queried on the common pool
+    public static ShardedTaskAnalyzer inProcess(int shards) {
+        return inProcess(shards, Clock.systemDefaultZone());
+    }
+
+    public static ShardedTaskAnalyzer inProcess(int shards, Clock clock) {
+        if (shards <= 0) throw new IllegalArgumentException("shards must be > 0");
+        List<Shard> list = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) list.add(new LocalShard());
+        return new ShardedTaskAnalyzer(list, ForkJoinPool.commonPool(), clock);
+    }
+
+    // n shards, each in its own child JVM on loopback; close() stops them
+    public static ShardedTaskAnalyzer forkedJvms(int shards, Clock clock) throws IOException {
+        if (shards <= 0) throw new IllegalArgumentException("shards must be > 0");
+        List<SocketShard> list = new ArrayList<>(shards);
+        try {
+            for (int i = 0; i < shards; i++) list.add(SocketShard.forkJvm());
+        } catch (IOException | RuntimeException e) {
+            for (SocketShard s : list) {
+                try {
+                    s.close();
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+        // socket calls block, so each shard gets a thread of its own
+        ExecutorService pool = Executors.newFixedThreadPool(shards, r -> {
+            Thread t = new Thread(r, "shard-scatter");
+            t.setDaemon(true);
+            return t;
+        });
+        return new ShardedTaskAnalyzer(list, pool, pool, clock, new AllTasks());
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    // shard that owns the id; ids without a value all live on shard 0
+    int shardOf(Long id) {
+        if (id == null) return 0;
+        long h = id * 0x9E3779B97F4A7C15L;
+        return Math.floorMod((int) (h ^ (h >>> 32)), shards.size());
+    }
+
+    public void add(Task task) {
+        addAll(List.of(Objects.requireNonNull(task)));
+    }
+
+    // sequence numbers follow call order, so merged results keep insertion order.
+    // Not atomic: if a shard fails, the batches other shards already took stay
+    // added and the failure propagates; getTasks() then shows exactly those.
+    public synchronized void addAll(Collection<Task> tasks) {
+        List<List<Shard.Sequenced>> batches = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) batches.add(new ArrayList<>());
+        for (Task t : tasks) {
+            Objects.requireNonNull(t);
+            batches.get(shardOf(t.id())).add(new Shard.Sequenced(nextSeq++, t));
+        }
+        try {
+            scatter(shard -> {
+                List<Shard.Sequenced> batch = batches.get(shards.indexOf(shard));
+                if (!batch.isEmpty()) shard.add(batch);
+                return Boolean.TRUE;
+            });
+        } finally {
+            mutations++;
+        }
+    }
+
+    public int size() {
+        long total = 0;
+        for (int n : scatter(Shard::size)) total += n;
+        return Math.toIntExact(total);
+    }
+
+    // one partial result per shard, in shard order
+    private <R> List<R> scatter(Function<Shard, R> query) {
+        if (shards.size() == 1) return List.of(query.apply(shards.get(0)));
+        List<CompletableFuture<R>> futures = new ArrayList<>(shards.size());
+        for (Shard s : shards) futures.add(CompletableFuture.supplyAsync(() -> query.apply(s), executor));
+        List<R> out = new ArrayList<>(shards.size());
+        for (CompletableFuture<R> f : futures) {
+            try {
+                out.add(f.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                if (e.getCause() instanceof Error err) throw err;
+                throw e;
+            }
+        }
+        return out;
+    }
+
+    // k-way merge of lists already in sequence order
+    private static List<Task> mergeBySeq(List<List<Shard.Sequenced>> parts) {
+        int total = 0;
+        for (List<Shard.Sequenced> p : parts) total += p.size();
+        List<Task> out = new ArrayList<>(total);
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, parts.size()),
+                Comparator.comparingLong(h -> parts.get(h[0]).get(h[1]).seq()));
+        for (int i = 0; i < parts.size(); i++) if (!parts.get(i).isEmpty()) heads.add(new int[]{i, 0});
+        while (!heads.isEmpty()) {
+            int[] h = heads.poll();
+            List<Shard.Sequenced> part = parts.get(h[0]);
+            out.add(part.get(h[1]).task());
+            if (++h[1] < part.size()) heads.add(h);
+        }
+        return out;
+    }
+
+    private List<Task> gatherAll() {
+        return Collections.unmodifiableList(mergeBySeq(scatter(s -> s.filter(TaskCondition.Constant.of(true)))));
+    }
+
+    private List<Task> filterShards(TaskPredicate predicate) {
+        return Collections.unmodifiableList(mergeBySeq(scatter(s -> s.filter(predicate))));
+    }
+
+    @Override
+    public List<Task> filterTasks(Predicate<Task> predicate) {
+        if (predicate == null) return new ArrayList<>(getTasks());
+        TaskPredicate p = predicate instanceof TaskPredicate tp ? TaskCondition.bindNow(tp, now()) : predicate::test;
+        return filterShards(p);
+    }
+
+    @Override
+    public List<Task> filterWithCustomPredicate(TaskPredicate predicate) {
+        if (predicate == null) return new ArrayList<>(getTasks());
+        return filterShards(TaskCondition.bindNow(predicate, now()));
+    }
+
+    @Override
+    public Optional<Task> findTaskById(Long id) {
+        return shards.get(shardOf(id)).findById(id);
+    }
+
+    // every shard's top limit holds the global top limit
+    @Override
+    public List<Task> getTopPriorityTasks(int limit) {
+        if (limit <= 0) return List.of();
+        List<Shard.Sequenced> candidates = new ArrayList<>();
+        for (List<Shard.Sequenced> part : scatter(s -> s.topPriority(limit))) candidates.addAll(part);
+        candidates.sort(BY_PRIORITY_THEN_SEQ);
+        List<Task> out = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (int i = 0; i < limit && i < candidates.size(); i++) out.add(candidates.get(i).task());
+        return Collections.unmodifiableList(out);
+    }
+
+    @Override
+    public Map<Task.Status, List<Task>> groupByStatus() {
+        List<Map<Task.Status, List<Shard.Sequenced>>> parts = scatter(Shard::groupByStatus);
+        Map<Task.Status, List<Task>> out = new HashMap<>();
+        for (Task.Status status : Task.Status.values()) {
+            List<List<Shard.Sequenced>> lists = new ArrayList<>();
+            for (var part : parts) {
+                List<Shard.Sequenced> l = part.get(status);
+                if (l != null) lists.add(l);
+            }
+            if (!lists.isEmpty()) out.put(status, mergeBySeq(lists));
+        }
+        return out;
+    }
+
+    @Override
+    public Map<Boolean, List<Task>> partitionByOverdue() {
+        TaskPredicate overdue = new TaskCondition.Overdue(now());
+        Map<Boolean, List<Task>> out = new HashMap<>();
+        out.put(false, filterShards(new TaskCondition.Not(overdue)));
+        out.put(true, filterShards(overdue));
+        return out;
+    }
+
+    // first appearance decides the order, as in a single pass over all tasks
+    @Override
+    public Set<String> getAllUniqueTags() {
+        Map<String, Shard.TagCount> merged = mergeTagCounts();
+        List<Map.Entry<String, Shard.TagCount>> entries = new ArrayList<>(merged.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Shard.TagCount> e) -> e.getValue().firstSeq())
+                .thenComparingInt(e -> e.getValue().firstSlot()));
+        Set<String> out = new LinkedHashSet<>(entries.size() * 2);
+        for (var e : entries) out.add(e.getKey());
+        return out;
+    }
+
+    @Override
+    public List<String> getAllTagsSorted() {
+        TreeMap<String, Long> counts = new TreeMap<>();
+        mergeTagCounts().forEach((tag, c) -> counts.put(tag, c.count()));
+        List<String> out = new ArrayList<>();
+        counts.forEach((tag, n) -> {
+            for (long i = 0; i < n; i++) out.add(tag);
+        });
+        return Collections.unmodifiableList(out);
+    }
+
+    private Map<String, Shard.TagCount> mergeTagCounts() {
+        Map<String, Shard.TagCount> merged = new HashMap<>();
+        for (Map<String, Shard.TagCount> part : scatter(Shard::tagCounts)) {
+            part.forEach((tag, c) -> merged.merge(tag, c, (a, b) -> {
+                boolean aFirst = a.firstSeq() < b.firstSeq()
+                        || (a.firstSeq() == b.firstSeq() && a.firstSlot() <= b.firstSlot());
+                Shard.TagCount first = aFirst ? a : b;
+                return new Shard.TagCount(a.count() + b.count(), first.firstSeq(), first.firstSlot());
+            }));
+        }
+        return merged;
+    }
+
+    private Shard.Hours totalHours() {
+        long tasks = 0;
+        long sum = 0;
+        long count = 0;
+        for (Shard.Hours h : scatter(Shard::hours)) {
+            tasks += h.tasks();
+            sum += h.sum();
+            count += h.count();
+        }
+        return new Shard.Hours(tasks, sum, count);
+    }
+
+    // int overflow wraps exactly as the single-JVM sum does
+    @Override
+    public Optional<Integer> getTotalEstimatedHours() {
+        Shard.Hours h = totalHours();
+        return h.tasks() == 0 ? Optional.empty() : Optional.of((int) h.sum());
+    }
+
+    @Override
+    public OptionalDouble getAverageEstimatedHours() {
+        Shard.Hours h = totalHours();
+        return h.count() == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) h.sum() / h.count());
+    }
+
+    @Override
+    public Map<Task.Priority, Long> countTasksByPriority() {
+        Task.Priority[] priorities = Task.Priority.values();
+        long[] counts = new long[priorities.length + 1];
+        for (long[] part : scatter(Shard::countByPriority)) {
+            for (int i = 0; i < counts.length; i++) counts[i] += part[i];
+        }
+        if (counts[priorities.length] > 0) throw new NullPointerException(NULL_KEY);
+        Map<Task.Priority, Long> out = new HashMap<>();
+        for (Task.Priority p : priorities) if (counts[p.ordinal()] > 0) out.put(p, counts[p.ordinal()]);
+        return out;
+    }
+
+    @Override
+    public List<String> getTaskTitles() {
+        return getTasks().stream().map(Task::title).toList();
+    }
+
+    @Override
+    public boolean hasOverdueTasks() {
+        TaskPredicate overdue = new TaskCondition.Overdue(now());
+        for (boolean any : scatter(s -> s.anyMatch(overdue))) if (any) return true;
+        return false;
+    }
+
+    @Override
+    public boolean areAllTasksAssigned() {
+        TaskPredicate todo = TaskPredicate.byStatus(Task.Status.TODO);
+        for (boolean any : scatter(s -> s.anyMatch(todo))) if (any) return false;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        RuntimeException failure = null;
+        for (Shard s : shards) {
+            if (!(s instanceof AutoCloseable c)) continue;
+            try {
+                c.close();
+            } catch (Exception e) {
+                RuntimeException wrapped = e instanceof RuntimeException re ? re
+                        : e instanceof IOException io ? new UncheckedIOException(io) : new IllegalStateException(e);
+                if (failure == null) failure = wrapped;
+                else failure.addSuppressed(wrapped);
+            }
+        }
+        if (ownedExecutor != null) ownedExecutor.shutdownNow();
+        if (failure != null) throw failure;
+    }
+}
@@ -0,0 +1,171 @@
+package edu.trincoll.shard;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.model.Task;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client for a shard served by {@link ShardServer} on the loopback interface.
+ * Calls are synchronous and serialized over one connection; I/O failures
+ * surface as {@link UncheckedIOException}. Predicates must be inspectable
+ * TaskCondition trees, since lambdas cannot be sent to another JVM.
+ */
+public final class SocketShard implements Shard, AutoCloseable {
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<R> {
+        R read(DataInputStream in) throws IOException;
+    }
+
+    // how long close() gives a forked shard to exit on its own
+    private static final long EXIT_WAIT_MILLIS = 2_000;
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    // the forked JVM hosting the shard, or null
+    private final Process process;
+
+    private SocketShard(Socket socket, Process process) throws IOException {
+        this.socket = socket;
+        this.process = process;
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    public static SocketShard connect(int port) throws IOException {
+        return new SocketShard(new Socket(InetAddress.getLoopbackAddress(), port), null);
+    }
+
+    // starts a ShardServer in a child JVM on this class path; close() stops it
+    public static SocketShard forkJvm() throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ShardServer.class.getName())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try {
+            var reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            String line = reader.readLine();
+            if (line == null) throw new IOException("shard JVM exited before binding a port");
+            return new SocketShard(new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(line.trim())), process);
+        } catch (IOException | RuntimeException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+    }
+
+    private synchronized <R> R call(byte op, Writer args, Reader<R> result) {
+        try {
+            // encode first: an argument that cannot be sent must not leave half a request on the wire
+            var request = new ByteArrayOutputStream();
+            var encoder = new DataOutputStream(request);
+            encoder.writeByte(op);
+            args.write(encoder);
+            request.writeTo(out);
+            out.flush();
+            if (in.readByte() == ShardCodec.OK) return result.read(in);
+            String type = ShardCodec.readString(in);
+            String message = ShardCodec.readString(in);
+            throw remoteFailure(type, message);
+        } catch (IOException e) {
+            throw new UncheckedIOException("shard on port " + socket.getPort() + " failed", e);
+        }
+    }
+
+    // argument and null errors keep their type; anything else is the remote side's state
+    private static RuntimeException remoteFailure(String type, String message) {
+        if (NullPointerException.class.getName().equals(type)) return new NullPointerException(message);
+        if (IllegalArgumentException.class.getName().equals(type)) return new IllegalArgumentException(message);
+        return new IllegalStateException(type + ": " + message);
+    }
+
+    private static void none(DataOutputStream out) {
+    }
+
+    @Override
+    public void add(List<Sequenced> tasks) {
+        call(ShardCodec.ADD, o -> ShardCodec.writeSequenced(o, tasks), i -> null);
+    }
+
+    @Override
+    public int size() {
+        return call(ShardCodec.SIZE, SocketShard::none, DataInputStream::readInt);
+    }
+
+    @Override
+    public List<Sequenced> filter(TaskPredicate predicate) {
+        return call(ShardCodec.FILTER, o -> ShardCodec.writePredicate(o, predicate), ShardCodec::readSequenced);
+    }
+
+    @Override
+    public boolean anyMatch(TaskPredicate predicate) {
+        return call(ShardCodec.ANY_MATCH, o -> ShardCodec.writePredicate(o, predicate), DataInputStream::readBoolean);
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return call(ShardCodec.FIND_BY_ID, o -> {
+            o.writeBoolean(id != null);
+            if (id != null) o.writeLong(id);
+        }, ShardCodec::readOptionalTask);
+    }
+
+    @Override
+    public List<Sequenced> topPriority(int limit) {
+        return call(ShardCodec.TOP_PRIORITY, o -> o.writeInt(limit), ShardCodec::readSequenced);
+    }
+
+    @Override
+    public Hours hours() {
+        return call(ShardCodec.HOURS, SocketShard::none, ShardCodec::readHours);
+    }
+
+    @Override
+    public long[] countByPriority() {
+        return call(ShardCodec.COUNT_BY_PRIORITY, SocketShard::none, ShardCodec::readCounts);
+    }
+
+    @Override
+    public Map<Task.Status, List<Sequenced>> groupByStatus() {
+        return call(ShardCodec.GROUP_BY_STATUS, SocketShard::none, ShardCodec::readGroups);
+    }
+
+    @Override
+    public Map<String, TagCount> tagCounts() {
+        return call(ShardCodec.TAG_COUNTS, SocketShard::none, ShardCodec::readTagCounts);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            socket.close();
+        } finally {
+            if (process != null) {
+                // closing stdin lets the child exit cleanly; destroy covers a stuck one
+                try {
+                    process.getOutputStream().close();
+                    if (!process.waitFor(EXIT_WAIT_MILLIS, TimeUnit.MILLISECONDS)) process.destroy();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    process.destroy();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package edu.trincoll.store;
+
+/**
+ * Aggregation loops over raw {@link TaskStore} columns: the hours sum and
+ * non-null count, and ordinal histograms for the priority and status
+ * columns. {@link #vector()} runs them as SIMD loops on the incubating JDK
+ * Vector API and needs {@code --add-modules jdk.incubator.vector};
+ * {@link #scalar()} is the plain fallback. {@link #best()} picks the vector
+ * kernels when the module is present. Both give identical results.
+ */
+public interface ColumnKernels {
+
+    /** Sum and count of the non-null hours in a range. */
+    record HoursTotal(long sum, long count) {
+        public double average() {
+            return (double) sum / count;
+        }
+    }
+
+    // hours in [from, to); NULL_HOURS entries are skipped
+    HoursTotal hours(int[] column, int from, int to);
+
+    // counts of ordinals 0..buckets-1 in [from, to); the extra last slot counts everything else (NULL_ORDINAL)
+    long[] histogram(byte[] column, int from, int to, int buckets);
+
+    static ColumnKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    static ColumnKernels vector() {
+        if (!isVectorSupported()) {
+            throw new UnsupportedOperationException("jdk.incubator.vector is not available; run with --add-modules jdk.incubator.vector");
+        }
+        return VectorKernels.INSTANCE;
+    }
+
+    static ColumnKernels best() {
+        return isVectorSupported() ? VectorKernels.INSTANCE : ScalarKernels.INSTANCE;
+    }
+
+    // true when the Vector API module is loaded and its preferred shape has more than one int lane
+    static boolean isVectorSupported() {
+        return VectorSupport.AVAILABLE;
+    }
+}
@@ -0,0 +1,227 @@
+package edu.trincoll.store;
+
+import edu.trincoll.model.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link TaskColumns} over a memory-mapped {@link TaskFile}. Numeric
+ * columns are read in place; strings are decoded from the heap on access and
+ * tag names are cached after first use. Hand it to
+ * {@link edu.trincoll.service.ColumnarTaskAnalyzer} to query the file directly.
+ *
+ * <p>The mapping is released when the object is garbage collected; close() only
+ * drops the references and makes further reads fail.
+ */
+public final class MappedTaskFile extends AbstractList<Task> implements TaskColumns, RandomAccess, AutoCloseable {
+    private final Path path;
+    private final int rows;
+    private final int dictionarySize;
+    private ByteBuffer flags;
+    private ByteBuffer priorities;
+    private ByteBuffer statuses;
+    private ByteBuffer ids;
+    private ByteBuffer hours;
+    private ByteBuffer createdSeconds;
+    private ByteBuffer createdNanos;
+    private ByteBuffer dueSeconds;
+    private ByteBuffer dueNanos;
+    private ByteBuffer titleRefs;
+    private ByteBuffer descriptionRefs;
+    private ByteBuffer tagStart;
+    private ByteBuffer tagIds;
+    private ByteBuffer dictionaryRefs;
+    private ByteBuffer[] heap;
+    private final String[] tagNames;
+
+    private MappedTaskFile(Path path, int rows, int dictionarySize) {
+        this.path = path;
+        this.rows = rows;
+        this.dictionarySize = dictionarySize;
+        this.tagNames = new String[dictionarySize];
+    }
+
+    static MappedTaskFile map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < TaskFile.HEADER_BYTES) throw new IOException("not a task file: " + file);
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TaskFile.HEADER_BYTES).order(TaskFile.ORDER);
+            if (header.getLong() != TaskFile.MAGIC) throw new IOException("not a task file: " + file);
+            int version = header.getInt();
+            if (version != TaskFile.VERSION) throw new IOException("unsupported task file version " + version);
+            int rows = header.getInt();
+            int dictionarySize = header.getInt();
+            int tagRefs = header.getInt();
+            TaskFile.Section[] sections = TaskFile.Section.values();
+            long[] offsets = new long[sections.length];
+            for (int i = 0; i < offsets.length; i++) offsets[i] = header.getLong();
+            long heapLength = header.getLong();
+            if (offsets[TaskFile.Section.HEAP.ordinal()] + heapLength > fileSize) {
+                throw new IOException("truncated task file: " + file);
+            }
+
+            MappedTaskFile f = new MappedTaskFile(file, rows, dictionarySize);
+            Mapper m = (section) -> {
+                long bytes = section.count(rows, tagRefs, dictionarySize) * section.width;
+                return channel.map(FileChannel.MapMode.READ_ONLY, offsets[section.ordinal()], bytes).order(TaskFile.ORDER);
+            };
+            f.flags = m.map(TaskFile.Section.FLAGS);
+            f.priorities = m.map(TaskFile.Section.PRIORITY);
+            f.statuses = m.map(TaskFile.Section.STATUS);
+            f.ids = m.map(TaskFile.Section.ID);
+            f.hours = m.map(TaskFile.Section.HOURS);
+            f.createdSeconds = m.map(TaskFile.Section.CREATED_SECONDS);
+            f.createdNanos = m.map(TaskFile.Section.CREATED_NANOS);
+            f.dueSeconds = m.map(TaskFile.Section.DUE_SECONDS);
+            f.dueNanos = m.map(TaskFile.Section.DUE_NANOS);
+            f.titleRefs = m.map(TaskFile.Section.TITLE_REF);
+            f.descriptionRefs = m.map(TaskFile.Section.DESCRIPTION_REF);
+            f.tagStart = m.map(TaskFile.Section.TAG_START);
+            f.tagIds = m.map(TaskFile.Section.TAG_IDS);
+            f.dictionaryRefs = m.map(TaskFile.Section.DICTIONARY_REF);
+
+            long heapStart = offsets[TaskFile.Section.HEAP.ordinal()];
+            int chunks = (int) ((heapLength + TaskFile.HEAP_CHUNK - 1) >>> TaskFile.HEAP_CHUNK_BITS);
+            f.heap = new ByteBuffer[chunks];
+            for (int c = 0; c < chunks; c++) {
+                long start = (long) c << TaskFile.HEAP_CHUNK_BITS;
+                f.heap[c] = channel.map(FileChannel.MapMode.READ_ONLY, heapStart + start,
+                        Math.min(TaskFile.HEAP_CHUNK, heapLength - start)).order(TaskFile.ORDER);
+            }
+            return f;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Mapper {
+        ByteBuffer map(TaskFile.Section section) throws IOException;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    private String string(long ref) {
+        if (ref == TaskFile.NULL_REF) return null;
+        ByteBuffer chunk = heap[(int) (ref >>> TaskFile.HEAP_CHUNK_BITS)];
+        int pos = (int) (ref & (TaskFile.HEAP_CHUNK - 1));
+        int length = chunk.getInt(pos);
+        byte[] bytes = new byte[length];
+        chunk.get(pos + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Task get(int row) {
+        Objects.checkIndex(row, rows);
+        return task(row);
+    }
+
+    @Override
+    public int size() {
+        return rows;
+    }
+
+    @Override
+    public List<Task> asList() {
+        return this;
+    }
+
+    @Override
+    public boolean hasId(int row) {
+        return (flags.get(row) & TaskFile.FLAG_NULL_ID) == 0;
+    }
+
+    @Override
+    public long id(int row) {
+        return ids.getLong(row << 3);
+    }
+
+    @Override
+    public String title(int row) {
+        return string(titleRefs.getLong(row << 3));
+    }
+
+    @Override
+    public String description(int row) {
+        return string(descriptionRefs.getLong(row << 3));
+    }
+
+    @Override
+    public int priorityOrdinal(int row) {
+        return priorities.get(row);
+    }
+
+    @Override
+    public int statusOrdinal(int row) {
+        return statuses.get(row);
+    }
+
+    @Override
+    public int tagCount(int row) {
+        if ((flags.get(row) & TaskFile.FLAG_NULL_TAGS) != 0) return -1;
+        return tagStart.getInt((row + 1) << 2) - tagStart.getInt(row << 2);
+    }
+
+    @Override
+    public int tagId(int row, int index) {
+        return tagIds.getInt((tagStart.getInt(row << 2) + index) << 2);
+    }
+
+    @Override
+    public String tagName(int tagId) {
+        String name = tagNames[tagId];
+        if (name == null) {
+            name = string(dictionaryRefs.getLong(tagId << 3));
+            tagNames[tagId] = name;
+        }
+        return name;
+    }
+
+    @Override
+    public int tagDictionarySize() {
+        return dictionarySize;
+    }
+
+    @Override
+    public long createdAtSeconds(int row) {
+        return createdSeconds.getLong(row << 3);
+    }
+
+    @Override
+    public int createdAtNanos(int row) {
+        return createdNanos.getInt(row << 2);
+    }
+
+    @Override
+    public long dueDateSeconds(int row) {
+        return dueSeconds.getLong(row << 3);
+    }
+
+    @Override
+    public int dueDateNanos(int row) {
+        return dueNanos.getInt(row << 2);
+    }
+
+    @Override
+    public int hours(int row) {
+        return hours.getInt(row << 2);
+    }
+
+    @Override
+    public void close() {
+        flags = priorities = statuses = ids = hours = null;
+        createdSeconds = createdNanos = dueSeconds = dueNanos = null;
+        titleRefs = descriptionRefs = tagStart = tagIds = dictionaryRefs = null;
+        heap = new ByteBuffer[0];
+    }
+}
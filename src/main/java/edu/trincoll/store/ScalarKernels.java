@@ -0,0 +1,54 @@
+package edu.trincoll.store;
+
+import java.util.Objects;
+
+// one element at a time; the fallback when the Vector API is missing
+final class ScalarKernels implements ColumnKernels {
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {}
+
+    @Override
+    public HoursTotal hours(int[] column, int from, int to) {
+        Objects.checkFromToIndex(from, to, column.length);
+        return hoursTail(column, from, to, 0, 0);
+    }
+
+    // also finishes the vector loop's remainder
+    static HoursTotal hoursTail(int[] column, int from, int to, long sum, long count) {
+        for (int i = from; i < to; i++) {
+            int h = column[i];
+            if (h != TaskColumns.NULL_HOURS) {
+                sum += h;
+                count++;
+            }
+        }
+        return new HoursTotal(sum, count);
+    }
+
+    @Override
+    public long[] histogram(byte[] column, int from, int to, int buckets) {
+        Objects.checkFromToIndex(from, to, column.length);
+        long[] counts = new long[checkBuckets(buckets) + 1];
+        histogramTail(column, from, to, counts);
+        return counts;
+    }
+
+    static void histogramTail(byte[] column, int from, int to, long[] counts) {
+        int buckets = counts.length - 1;
+        for (int i = from; i < to; i++) {
+            int v = column[i];
+            counts[v >= 0 && v < buckets ? v : buckets]++;
+        }
+    }
+
+    static int checkBuckets(int buckets) {
+        if (buckets <= 0 || buckets > Byte.MAX_VALUE) throw new IllegalArgumentException("buckets must be in 1..127");
+        return buckets;
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,111 @@
+package edu.trincoll.store;
+
+import edu.trincoll.model.Task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Column-oriented, read-only access to a task table. Numbers are primitive,
+ * enums are ordinals, dates are UTC epoch seconds plus nanos, tags are
+ * dictionary ids. Null values use the sentinels below.
+ */
+public interface TaskColumns {
+    int NULL_HOURS = Integer.MIN_VALUE;
+    long NULL_TIME = Long.MIN_VALUE;
+    int NULL_ORDINAL = -1;
+
+    int size();
+
+    boolean hasId(int row);
+
+    long id(int row);
+
+    String title(int row);
+
+    String description(int row);
+
+    int priorityOrdinal(int row);
+
+    int statusOrdinal(int row);
+
+    // -1 when the task has no tag set at all
+    int tagCount(int row);
+
+    int tagId(int row, int index);
+
+    String tagName(int tagId);
+
+    int tagDictionarySize();
+
+    long createdAtSeconds(int row);
+
+    int createdAtNanos(int row);
+
+    long dueDateSeconds(int row);
+
+    int dueDateNanos(int row);
+
+    int hours(int row);
+
+    // ---- materialization ---------------------------------------------------
+
+    default Task task(int row) {
+        return new Task(
+                hasId(row) ? id(row) : null,
+                title(row),
+                description(row),
+                priorityOrdinal(row) == NULL_ORDINAL ? null : Task.Priority.values()[priorityOrdinal(row)],
+                statusOrdinal(row) == NULL_ORDINAL ? null : Task.Status.values()[statusOrdinal(row)],
+                tags(row),
+                toDateTime(createdAtSeconds(row), createdAtNanos(row)),
+                toDateTime(dueDateSeconds(row), dueDateNanos(row)),
+                hours(row) == NULL_HOURS ? null : hours(row));
+    }
+
+    default Set<String> tags(int row) {
+        int n = tagCount(row);
+        if (n < 0) return null;
+        Set<String> out = new LinkedHashSet<>(Math.max(4, n * 2));
+        for (int j = 0; j < n; j++) out.add(tagName(tagId(row, j)));
+        return Collections.unmodifiableSet(out);
+    }
+
+    // list view that builds a Task record per get
+    default List<Task> asList() {
+        TaskColumns columns = this;
+        class View extends AbstractList<Task> implements RandomAccess {
+            @Override
+            public Task get(int i) {
+                Objects.checkIndex(i, columns.size());
+                return columns.task(i);
+            }
+
+            @Override
+            public int size() {
+                return columns.size();
+            }
+        }
+        return new View();
+    }
+
+    // NULL_HOURS stands for a missing estimate, so that value cannot be stored as a real one
+    static int encodeHours(Integer hours) {
+        if (hours == null) return NULL_HOURS;
+        if (hours == NULL_HOURS) throw new IllegalArgumentException("estimatedHours " + NULL_HOURS + " is reserved for null");
+        return hours;
+    }
+
+    static LocalDateTime toDateTime(long seconds, int nanos) {
+        return seconds == NULL_TIME ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    static long seconds(LocalDateTime time) {
+        return time == null ? NULL_TIME : time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static int nanos(LocalDateTime time) {
+        return time == null ? 0 : time.getNano();
+    }
+}
@@ -0,0 +1,236 @@
+package edu.trincoll.store;
+
+import edu.trincoll.model.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Binary task snapshot: a 256-byte header, one fixed-width little-endian section
+ * per column (8-byte aligned), then a string heap holding titles, descriptions
+ * and tag names as length-prefixed UTF-8. {@link #open} maps the file and reads
+ * it in place, so opening costs the same for ten tasks or twenty million.
+ *
+ * <p>Header: magic, version, row count, tag dictionary size, total tag refs,
+ * then the offset of every section in {@link Section} order and the heap length.
+ */
+public final class TaskFile {
+    static final long MAGIC = 0x314c4f434b534154L; // "TASKCOL1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 256;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    // a string never straddles a chunk, so each chunk can be its own mapping
+    static final int HEAP_CHUNK_BITS = 30;
+    static final long HEAP_CHUNK = 1L << HEAP_CHUNK_BITS;
+    static final long NULL_REF = -1;
+
+    static final byte FLAG_NULL_ID = 1;
+    static final byte FLAG_NULL_TAGS = 2;
+
+    enum Section {
+        FLAGS(1), PRIORITY(1), STATUS(1), ID(8), HOURS(4), CREATED_SECONDS(8), CREATED_NANOS(4),
+        DUE_SECONDS(8), DUE_NANOS(4), TITLE_REF(8), DESCRIPTION_REF(8), TAG_START(4), TAG_IDS(4),
+        DICTIONARY_REF(8), HEAP(1);
+
+        final int width;
+
+        Section(int width) {
+            this.width = width;
+        }
+
+        long count(int rows, int tagRefs, int dictionarySize) {
+            return switch (this) {
+                case TAG_START -> rows + 1L;
+                case TAG_IDS -> tagRefs;
+                case DICTIONARY_REF -> dictionarySize;
+                case HEAP -> 0;
+                default -> rows;
+            };
+        }
+    }
+
+    private TaskFile() {}
+
+    public static void write(Path file, Collection<Task> tasks) throws IOException {
+        write(file, tasks instanceof TaskColumns columns ? columns : new TaskStore(tasks));
+    }
+
+    // writes to a sibling temp file and moves it into place
+    public static void write(Path file, TaskColumns columns) throws IOException {
+        int rows = columns.size();
+        int dictionarySize = columns.tagDictionarySize();
+        long tagRefs = 0;
+        for (int row = 0; row < rows; row++) tagRefs += Math.max(0, columns.tagCount(row));
+        if (tagRefs > Integer.MAX_VALUE) throw new IOException("too many tag references: " + tagRefs);
+
+        Section[] sections = Section.values();
+        long[] offsets = new long[sections.length];
+        long position = HEADER_BYTES;
+        for (Section s : sections) {
+            offsets[s.ordinal()] = position;
+            long bytes = s.count(rows, (int) tagRefs, dictionarySize) * s.width;
+            if (bytes > Integer.MAX_VALUE) throw new IOException(s + " section exceeds 2 GB");
+            position = align(position + bytes);
+        }
+
+        Path target = file.toAbsolutePath();
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter[] out = new SectionWriter[sections.length];
+            for (Section s : sections) out[s.ordinal()] = new SectionWriter(channel, offsets[s.ordinal()]);
+            HeapWriter heap = new HeapWriter(out[Section.HEAP.ordinal()]);
+
+            int tagEnd = 0;
+            out[Section.TAG_START.ordinal()].putInt(0);
+            for (int row = 0; row < rows; row++) {
+                int tagCount = columns.tagCount(row);
+                byte flags = 0;
+                if (!columns.hasId(row)) flags |= FLAG_NULL_ID;
+                if (tagCount < 0) flags |= FLAG_NULL_TAGS;
+                out[Section.FLAGS.ordinal()].put(flags);
+                out[Section.PRIORITY.ordinal()].put((byte) columns.priorityOrdinal(row));
+                out[Section.STATUS.ordinal()].put((byte) columns.statusOrdinal(row));
+                out[Section.ID.ordinal()].putLong(columns.hasId(row) ? columns.id(row) : 0);
+                out[Section.HOURS.ordinal()].putInt(columns.hours(row));
+                out[Section.CREATED_SECONDS.ordinal()].putLong(columns.createdAtSeconds(row));
+                out[Section.CREATED_NANOS.ordinal()].putInt(columns.createdAtNanos(row));
+                out[Section.DUE_SECONDS.ordinal()].putLong(columns.dueDateSeconds(row));
+                out[Section.DUE_NANOS.ordinal()].putInt(columns.dueDateNanos(row));
+                out[Section.TITLE_REF.ordinal()].putLong(heap.add(columns.title(row)));
+                out[Section.DESCRIPTION_REF.ordinal()].putLong(heap.add(columns.description(row)));
+                for (int j = 0; j < tagCount; j++) out[Section.TAG_IDS.ordinal()].putInt(columns.tagId(row, j));
+                tagEnd += Math.max(0, tagCount);
+                out[Section.TAG_START.ordinal()].putInt(tagEnd);
+            }
+            for (int id = 0; id < dictionarySize; id++) {
+                out[Section.DICTIONARY_REF.ordinal()].putLong(heap.add(columns.tagName(id)));
+            }
+            for (SectionWriter w : out) w.flush();
+            // trailing empty sections still have to lie inside the file
+            long end = offsets[Section.HEAP.ordinal()] + heap.length();
+            if (channel.size() < end) channel.write(ByteBuffer.allocate((int) (end - channel.size())), channel.size());
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+            header.putLong(MAGIC).putInt(VERSION).putInt(rows).putInt(dictionarySize).putInt((int) tagRefs);
+            for (Section s : sections) header.putLong(offsets[s.ordinal()]);
+            header.putLong(heap.length());
+            header.flip();
+            while (header.hasRemaining()) channel.write(header, header.position());
+            channel.force(true);
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static MappedTaskFile open(Path file) throws IOException {
+        return MappedTaskFile.map(file);
+    }
+
+    static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    // buffered sequential writes starting at a fixed file offset
+    private static final class SectionWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ORDER);
+        private long position;
+        private long written;
+
+        SectionWriter(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        void put(byte b) throws IOException {
+            ensure(1);
+            buffer.put(b);
+        }
+
+        void putInt(int v) throws IOException {
+            ensure(4);
+            buffer.putInt(v);
+        }
+
+        void putLong(long v) throws IOException {
+            ensure(8);
+            buffer.putLong(v);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            for (int off = 0; off < bytes.length; ) {
+                ensure(1);
+                int n = Math.min(buffer.remaining(), bytes.length - off);
+                buffer.put(bytes, off, n);
+                off += n;
+            }
+        }
+
+        // leaves a hole; the file system fills it with zeros
+        void skip(long bytes) throws IOException {
+            flush();
+            position += bytes;
+            written += bytes;
+        }
+
+        long written() {
+            return written + buffer.position();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                int n = channel.write(buffer, position);
+                position += n;
+                written += n;
+            }
+            buffer.clear();
+        }
+    }
+
+    // strings as int length + UTF-8 bytes; refs are heap-relative offsets
+    private static final class HeapWriter {
+        private final SectionWriter out;
+
+        HeapWriter(SectionWriter out) {
+            this.out = out;
+        }
+
+        long add(String s) throws IOException {
+            if (s == null) return NULL_REF;
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            long need = 4L + bytes.length;
+            if (need > HEAP_CHUNK) throw new IOException("string longer than " + HEAP_CHUNK + " bytes");
+            long offset = out.written();
+            long room = HEAP_CHUNK - (offset & (HEAP_CHUNK - 1));
+            if (need > room) {
+                out.skip(room);
+                offset += room;
+            }
+            out.putInt(bytes.length);
+            out.put(bytes);
+            return offset;
+        }
+
+        long length() {
+            return out.written();
+        }
+    }
+}
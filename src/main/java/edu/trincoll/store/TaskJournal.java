@@ -0,0 +1,152 @@
+package edu.trincoll.store;
+
+import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.model.Task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Durable, id-keyed task set. Each change is applied in memory and appended to
+ * a {@link WriteAheadLog}; the returned future completes once it is on disk.
+ * Every snapshotEvery mutations a compacted snapshot is written in the
+ * background. Opening a directory recovers the previous state.
+ */
+public final class TaskJournal implements AutoCloseable {
+    private final Map<Long, Task> tasks = new LinkedHashMap<>();
+    private final WriteAheadLog log;
+    private final WalOptions options;
+    private final ExecutorService snapshots;
+    private long sinceSnapshot;
+    private CompletableFuture<Void> lastSnapshot = CompletableFuture.completedFuture(null);
+
+    private TaskJournal(Path directory, WalOptions options) throws IOException {
+        this.options = options;
+        this.log = WriteAheadLog.open(directory, options, tasks);
+        this.snapshots = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "task-journal-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static TaskJournal open(Path directory) throws IOException {
+        return open(directory, WalOptions.defaults());
+    }
+
+    public static TaskJournal open(Path directory, WalOptions options) throws IOException {
+        return new TaskJournal(directory, Objects.requireNonNull(options));
+    }
+
+    // what open() found on disk
+    public WriteAheadLog.Recovery recovery() {
+        return log.recovery();
+    }
+
+    public CompletableFuture<Long> create(Task task) {
+        Objects.requireNonNull(task);
+        if (task.id() == null) throw new IllegalArgumentException("task needs an id");
+        // the writer thread encodes later; reject what it cannot encode while the caller can see it
+        TaskColumns.encodeHours(task.estimatedHours());
+        synchronized (this) {
+            if (tasks.containsKey(task.id())) throw new IllegalArgumentException("duplicate task id " + task.id());
+            return apply(new TaskMutation.Create(task));
+        }
+    }
+
+    // logs the transformer's result as the task's new after-image
+    public CompletableFuture<Long> transform(long id, TaskTransformer transformer) {
+        Objects.requireNonNull(transformer);
+        synchronized (this) {
+            Task current = tasks.get(id);
+            if (current == null) throw new NoSuchElementException("no task " + id);
+            Task next = transformer.apply(current);
+            if (next == null || !Objects.equals(next.id(), current.id())) {
+                throw new IllegalArgumentException("transformer must keep the task id");
+            }
+            TaskColumns.encodeHours(next.estimatedHours());
+            return apply(new TaskMutation.Update(next));
+        }
+    }
+
+    public CompletableFuture<Long> delete(long id) {
+        synchronized (this) {
+            if (!tasks.containsKey(id)) throw new NoSuchElementException("no task " + id);
+            return apply(new TaskMutation.Delete(id));
+        }
+    }
+
+    // caller holds the lock, so log order matches the order changes were applied
+    private CompletableFuture<Long> apply(TaskMutation mutation) {
+        CompletableFuture<Long> durable = log.append(mutation);
+        mutation.applyTo(tasks);
+        if (options.snapshotEvery() > 0 && ++sinceSnapshot >= options.snapshotEvery()) {
+            scheduleSnapshot();
+        }
+        return durable;
+    }
+
+    public synchronized Optional<Task> get(long id) {
+        return Optional.ofNullable(tasks.get(id));
+    }
+
+    public synchronized int size() {
+        return tasks.size();
+    }
+
+    // copy of the current tasks in creation order
+    public synchronized List<Task> tasks() {
+        return List.copyOf(tasks.values());
+    }
+
+    public synchronized long lastSequence() {
+        return log.lastSequence();
+    }
+
+    // completes once every change made so far is durable
+    public CompletableFuture<Long> sync() {
+        return log.sync();
+    }
+
+    /** Writes a compacted snapshot of the current state now and waits for it. */
+    public void snapshot() throws IOException {
+        try {
+            synchronized (this) {
+                scheduleSnapshot();
+            }
+            lastSnapshot.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+            throw e;
+        }
+    }
+
+    // copies the state under the lock; writing happens on the snapshot thread
+    private void scheduleSnapshot() {
+        sinceSnapshot = 0;
+        List<Task> copy = List.copyOf(tasks.values());
+        long sequence = log.lastSequence();
+        lastSnapshot = lastSnapshot.handle((v, e) -> null).thenRunAsync(() -> {
+            try {
+                log.snapshot(copy, sequence);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, snapshots);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            lastSnapshot.handle((v, e) -> null).join();
+        }
+        snapshots.shutdown();
+        log.close();
+    }
+}
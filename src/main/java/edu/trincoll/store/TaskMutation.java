@@ -0,0 +1,59 @@
+package edu.trincoll.store;
+
+import edu.trincoll.model.Task;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One logged change to a keyed task set. Updates carry the full after-image,
+ * so replaying a mutation twice leaves the same state.
+ */
+public sealed interface TaskMutation {
+
+    long taskId();
+
+    // applies the change to a map keyed by task id
+    void applyTo(Map<Long, Task> tasks);
+
+    record Create(Task task) implements TaskMutation {
+        public Create {
+            Objects.requireNonNull(task);
+            Objects.requireNonNull(task.id(), "logged tasks need an id");
+        }
+
+        @Override
+        public long taskId() {
+            return task.id();
+        }
+
+        @Override
+        public void applyTo(Map<Long, Task> tasks) {
+            tasks.put(task.id(), task);
+        }
+    }
+
+    record Update(Task task) implements TaskMutation {
+        public Update {
+            Objects.requireNonNull(task);
+            Objects.requireNonNull(task.id(), "logged tasks need an id");
+        }
+
+        @Override
+        public long taskId() {
+            return task.id();
+        }
+
+        @Override
+        public void applyTo(Map<Long, Task> tasks) {
+            tasks.replace(task.id(), task);
+        }
+    }
+
+    record Delete(long taskId) implements TaskMutation {
+        @Override
+        public void applyTo(Map<Long, Task> tasks) {
+            tasks.remove(taskId);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package edu.trincoll.store;
+
+import edu.trincoll.index.TagDictionary;
+import edu.trincoll.model.Task;
+
+import java.util.*;
+
+/**
+ * Append-only columnar task table. Ids, hours and dates live in primitive arrays,
+ * priority and status in byte columns, and tags as dictionary ids in one shared
+ * int array. {@link #get} builds a Task record on demand, so a TaskStore can be
+ * handed to any TaskAnalyzer, while {@link edu.trincoll.service.ColumnarTaskAnalyzer}
+ * aggregates straight over the columns.
+ */
+public class TaskStore extends AbstractList<Task> implements TaskColumns, RandomAccess {
+    private final TagDictionary dictionary = new TagDictionary();
+
+    private int size;
+    private long[] ids;
+    private long[] idNulls;
+    private String[] titles;
+    private String[] descriptions;
+    private byte[] priorities;
+    private byte[] statuses;
+    private long[] createdSeconds;
+    private int[] createdNanos;
+    private long[] dueSeconds;
+    private int[] dueNanos;
+    private int[] hours;
+    // tags of row i are tagIds[tagStart[i] .. tagStart[i + 1]); tagNulls marks a null set
+    private int[] tagStart;
+    private int[] tagIds;
+    private long[] tagNulls;
+    private int tagEnd;
+
+    public TaskStore() {
+        this(16);
+    }
+
+    public TaskStore(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    public TaskStore(Collection<Task> tasks) {
+        this(tasks.size());
+        // the private append, so a subclass's add never sees a half-built store
+        for (Task task : tasks) append(task);
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        idNulls = new long[(capacity + 63) / 64];
+        titles = new String[capacity];
+        descriptions = new String[capacity];
+        priorities = new byte[capacity];
+        statuses = new byte[capacity];
+        createdSeconds = new long[capacity];
+        createdNanos = new int[capacity];
+        dueSeconds = new long[capacity];
+        dueNanos = new int[capacity];
+        hours = new int[capacity];
+        tagStart = new int[capacity + 1];
+        tagIds = new int[capacity * 2];
+        tagNulls = new long[(capacity + 63) / 64];
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        idNulls = Arrays.copyOf(idNulls, (capacity + 63) / 64);
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        createdSeconds = Arrays.copyOf(createdSeconds, capacity);
+        createdNanos = Arrays.copyOf(createdNanos, capacity);
+        dueSeconds = Arrays.copyOf(dueSeconds, capacity);
+        dueNanos = Arrays.copyOf(dueNanos, capacity);
+        hours = Arrays.copyOf(hours, capacity);
+        tagStart = Arrays.copyOf(tagStart, capacity + 1);
+        tagNulls = Arrays.copyOf(tagNulls, (capacity + 63) / 64);
+    }
+
+    // appends only; other positions are rejected
+    @Override
+    public void add(int index, Task task) {
+        if (index != size) throw new UnsupportedOperationException("TaskStore is append-only");
+        append(task);
+    }
+
+    private void append(Task task) {
+        Objects.requireNonNull(task);
+        int estimate = TaskColumns.encodeHours(task.estimatedHours());
+        if (size == ids.length) grow();
+        int row = size;
+        if (task.id() == null) idNulls[row >>> 6] |= 1L << row;
+        else ids[row] = task.id();
+        titles[row] = task.title();
+        descriptions[row] = task.description();
+        priorities[row] = (byte) (task.priority() == null ? NULL_ORDINAL : task.priority().ordinal());
+        statuses[row] = (byte) (task.status() == null ? NULL_ORDINAL : task.status().ordinal());
+        createdSeconds[row] = TaskColumns.seconds(task.createdAt());
+        createdNanos[row] = TaskColumns.nanos(task.createdAt());
+        dueSeconds[row] = TaskColumns.seconds(task.dueDate());
+        dueNanos[row] = TaskColumns.nanos(task.dueDate());
+        hours[row] = estimate;
+        if (task.tags() == null) {
+            tagNulls[row >>> 6] |= 1L << row;
+        } else {
+            for (String tag : task.tags()) {
+                if (tagEnd == tagIds.length) tagIds = Arrays.copyOf(tagIds, tagIds.length * 2);
+                tagIds[tagEnd++] = dictionary.intern(tag);
+            }
+        }
+        tagStart[row + 1] = tagEnd;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task get(int row) {
+        Objects.checkIndex(row, size);
+        return task(row);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<Task> asList() {
+        return this;
+    }
+
+    public TagDictionary dictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public boolean hasId(int row) {
+        return (idNulls[row >>> 6] & (1L << row)) == 0;
+    }
+
+    @Override
+    public long id(int row) {
+        return ids[row];
+    }
+
+    @Override
+    public String title(int row) {
+        return titles[row];
+    }
+
+    @Override
+    public String description(int row) {
+        return descriptions[row];
+    }
+
+    @Override
+    public int priorityOrdinal(int row) {
+        return priorities[row];
+    }
+
+    @Override
+    public int statusOrdinal(int row) {
+        return statuses[row];
+    }
+
+    @Override
+    public int tagCount(int row) {
+        if ((tagNulls[row >>> 6] & (1L << row)) != 0) return -1;
+        return tagStart[row + 1] - tagStart[row];
+    }
+
+    @Override
+    public int tagId(int row, int index) {
+        return tagIds[tagStart[row] + index];
+    }
+
+    @Override
+    public String tagName(int tagId) {
+        return dictionary.tag(tagId);
+    }
+
+    @Override
+    public int tagDictionarySize() {
+        return dictionary.size();
+    }
+
+    @Override
+    public long createdAtSeconds(int row) {
+        return createdSeconds[row];
+    }
+
+    @Override
+    public int createdAtNanos(int row) {
+        return createdNanos[row];
+    }
+
+    @Override
+    public long dueDateSeconds(int row) {
+        return dueSeconds[row];
+    }
+
+    @Override
+    public int dueDateNanos(int row) {
+        return dueNanos[row];
+    }
+
+    @Override
+    public int hours(int row) {
+        return hours[row];
+    }
+
+    // the raw columns, for kernels that loop over them directly (valid up to size())
+    public int[] hoursColumn() {
+        return hours;
+    }
+
+    public byte[] priorityColumn() {
+        return priorities;
+    }
+
+    public byte[] statusColumn() {
+        return statuses;
+    }
+}
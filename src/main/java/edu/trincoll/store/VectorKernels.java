@@ -0,0 +1,82 @@
+package edu.trincoll.store;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Objects;
+
+/**
+ * SIMD kernels on the preferred vector shape. Only loaded once
+ * {@link VectorSupport} has found the module, so the rest of the store
+ * works without it.
+ */
+final class VectorKernels implements ColumnKernels {
+    static final VectorKernels INSTANCE = new VectorKernels();
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    // hours are summed as 16-bit halves in int lanes; this many rounds cannot overflow
+    // even after the lanes are added together
+    private static final int ROUNDS_PER_FLUSH = Integer.MAX_VALUE / (0x10000 * INTS.length());
+
+    private VectorKernels() {}
+
+    static int intLanes() {
+        return INTS.length();
+    }
+
+    @Override
+    public HoursTotal hours(int[] column, int from, int to) {
+        Objects.checkFromToIndex(from, to, column.length);
+        int step = INTS.length();
+        int bound = from + INTS.loopBound(to - from);
+        IntVector zero = IntVector.zero(INTS);
+        long sum = 0;
+        long count = 0;
+        int i = from;
+        while (i < bound) {
+            int flushAt = (int) Math.min(bound, i + (long) ROUNDS_PER_FLUSH * step);
+            IntVector low = zero;
+            IntVector high = zero;
+            IntVector present = zero;
+            for (; i < flushAt; i += step) {
+                IntVector v = IntVector.fromArray(INTS, column, i);
+                VectorMask<Integer> notNull = v.compare(VectorOperators.NE, TaskColumns.NULL_HOURS);
+                v = zero.blend(v, notNull);
+                low = low.add(v.and(0xFFFF));
+                high = high.add(v.lanewise(VectorOperators.ASHR, 16));
+                present = present.lanewise(VectorOperators.ADD, 1, notNull);
+            }
+            sum += (high.reduceLanesToLong(VectorOperators.ADD) << 16) + low.reduceLanesToLong(VectorOperators.ADD);
+            count += present.reduceLanesToLong(VectorOperators.ADD);
+        }
+        return ScalarKernels.hoursTail(column, bound, to, sum, count);
+    }
+
+    @Override
+    public long[] histogram(byte[] column, int from, int to, int buckets) {
+        Objects.checkFromToIndex(from, to, column.length);
+        long[] counts = new long[ScalarKernels.checkBuckets(buckets) + 1];
+        int bound = from + BYTES.loopBound(to - from);
+        long matched = 0;
+        for (int i = from; i < bound; i += BYTES.length()) {
+            ByteVector v = ByteVector.fromArray(BYTES, column, i);
+            for (int b = 0; b < buckets; b++) {
+                int n = v.eq((byte) b).trueCount();
+                counts[b] += n;
+                matched += n;
+            }
+        }
+        counts[buckets] = (bound - from) - matched;
+        ScalarKernels.histogramTail(column, bound, to, counts);
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return "vector(" + INTS.vectorBitSize() + "-bit)";
+    }
+}
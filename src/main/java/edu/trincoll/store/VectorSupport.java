@@ -0,0 +1,18 @@
+package edu.trincoll.store;
+
+// capability check, kept apart from VectorKernels so probing never links the Vector API classes
+final class VectorSupport {
+    static final boolean AVAILABLE = detect();
+
+    private VectorSupport() {}
+
+    private static boolean detect() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return false;
+        try {
+            // one lane means no SIMD unit worth using; the API would only add overhead
+            return VectorKernels.intLanes() > 1;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
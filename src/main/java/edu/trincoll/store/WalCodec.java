@@ -0,0 +1,142 @@
+package edu.trincoll.store;
+
+import edu.trincoll.model.Task;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+// Record layout: int payloadLength, int crc32c(payload), payload.
+// Payload: long sequence, byte type, then the task after-image or the deleted id.
+final class WalCodec {
+    static final int HEADER_BYTES = 8;
+    private static final byte CREATE = 1;
+    private static final byte UPDATE = 2;
+    private static final byte DELETE = 3;
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+    private static final Task.Status[] STATUSES = Task.Status.values();
+
+    record Entry(long sequence, TaskMutation mutation) {}
+
+    private WalCodec() {}
+
+    // appends one record; grows the buffer as needed and returns it
+    static ByteBuffer encode(ByteBuffer out, long sequence, TaskMutation mutation) {
+        int start = out.position();
+        while (true) {
+            try {
+                out.position(start + HEADER_BYTES);
+                out.putLong(sequence);
+                if (mutation instanceof TaskMutation.Create c) putTask(out.put(CREATE), c.task());
+                else if (mutation instanceof TaskMutation.Update u) putTask(out.put(UPDATE), u.task());
+                else out.put(DELETE).putLong(mutation.taskId());
+                break;
+            } catch (BufferOverflowException e) {
+                ByteBuffer bigger = ByteBuffer.allocate(out.capacity() * 2);
+                out.flip();
+                out.limit(start);
+                bigger.put(out);
+                out = bigger;
+            }
+        }
+        int end = out.position();
+        int length = end - start - HEADER_BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(out.array(), start + HEADER_BYTES, length);
+        out.putInt(start, length).putInt(start + 4, (int) crc.getValue());
+        return out;
+    }
+
+    // next record at the buffer's position, or null at a torn or corrupt tail
+    static Entry decode(ByteBuffer in) {
+        int start = in.position();
+        if (in.remaining() < HEADER_BYTES) return null;
+        int length = in.getInt(start);
+        int checksum = in.getInt(start + 4);
+        if (length <= 0 || length > in.remaining() - HEADER_BYTES) return null;
+        ByteBuffer payload = in.slice(start + HEADER_BYTES, length);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != checksum) return null;
+        try {
+            long sequence = payload.getLong();
+            TaskMutation mutation = switch (payload.get()) {
+                case CREATE -> new TaskMutation.Create(getTask(payload));
+                case UPDATE -> new TaskMutation.Update(getTask(payload));
+                case DELETE -> new TaskMutation.Delete(payload.getLong());
+                default -> null;
+            };
+            if (mutation == null) return null;
+            in.position(start + HEADER_BYTES + length);
+            return new Entry(sequence, mutation);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private static void putTask(ByteBuffer out, Task task) {
+        out.putLong(task.id());
+        putString(out, task.title());
+        putString(out, task.description());
+        out.put((byte) (task.priority() == null ? TaskColumns.NULL_ORDINAL : task.priority().ordinal()));
+        out.put((byte) (task.status() == null ? TaskColumns.NULL_ORDINAL : task.status().ordinal()));
+        if (task.tags() == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(task.tags().size());
+            for (String tag : task.tags()) putString(out, tag);
+        }
+        out.putLong(TaskColumns.seconds(task.createdAt())).putInt(TaskColumns.nanos(task.createdAt()));
+        out.putLong(TaskColumns.seconds(task.dueDate())).putInt(TaskColumns.nanos(task.dueDate()));
+        out.putInt(TaskColumns.encodeHours(task.estimatedHours()));
+    }
+
+    private static Task getTask(ByteBuffer in) {
+        long id = in.getLong();
+        String title = getString(in);
+        String description = getString(in);
+        int priority = in.get();
+        int status = in.get();
+        int tagCount = in.getInt();
+        Set<String> tags = null;
+        if (tagCount >= 0) {
+            Set<String> set = new LinkedHashSet<>(Math.max(4, tagCount * 2));
+            for (int i = 0; i < tagCount; i++) set.add(getString(in));
+            tags = Collections.unmodifiableSet(set);
+        }
+        long createdSeconds = in.getLong();
+        int createdNanos = in.getInt();
+        long dueSeconds = in.getLong();
+        int dueNanos = in.getInt();
+        int hours = in.getInt();
+        return new Task(id, title, description,
+                priority == TaskColumns.NULL_ORDINAL ? null : PRIORITIES[priority],
+                status == TaskColumns.NULL_ORDINAL ? null : STATUSES[status],
+                tags,
+                TaskColumns.toDateTime(createdSeconds, createdNanos),
+                TaskColumns.toDateTime(dueSeconds, dueNanos),
+                hours == TaskColumns.NULL_HOURS ? null : hours);
+    }
+
+    private static void putString(ByteBuffer out, String s) {
+        if (s == null) {
+            out.putInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+package edu.trincoll.store;
+
+/**
+ * Tuning for a {@link WriteAheadLog}. Instances are immutable; the with-methods
+ * return modified copies.
+ */
+public final class WalOptions {
+    public static final long DEFAULT_SEGMENT_BYTES = 64L << 20;
+    public static final int DEFAULT_MAX_BATCH = 4096;
+    public static final int DEFAULT_QUEUE_CAPACITY = 65_536;
+    public static final long DEFAULT_SNAPSHOT_EVERY = 1_000_000;
+
+    private final long segmentBytes;
+    private final int maxBatch;
+    private final int queueCapacity;
+    private final boolean fsync;
+    private final long snapshotEvery;
+
+    private WalOptions(long segmentBytes, int maxBatch, int queueCapacity, boolean fsync, long snapshotEvery) {
+        if (segmentBytes <= 0 || segmentBytes > 1L << 30) {
+            throw new IllegalArgumentException("segmentBytes must be in (0, 1 GB]");
+        }
+        if (maxBatch <= 0) throw new IllegalArgumentException("maxBatch must be > 0");
+        if (queueCapacity <= 0) throw new IllegalArgumentException("queueCapacity must be > 0");
+        if (snapshotEvery < 0) throw new IllegalArgumentException("snapshotEvery must be >= 0");
+        this.segmentBytes = segmentBytes;
+        this.maxBatch = maxBatch;
+        this.queueCapacity = queueCapacity;
+        this.fsync = fsync;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    // fsync once per group-committed batch; snapshot every million mutations
+    public static WalOptions defaults() {
+        return new WalOptions(DEFAULT_SEGMENT_BYTES, DEFAULT_MAX_BATCH, DEFAULT_QUEUE_CAPACITY, true,
+                DEFAULT_SNAPSHOT_EVERY);
+    }
+
+    // roll to a new segment file once the current one passes this size
+    public WalOptions withSegmentBytes(long segmentBytes) {
+        return new WalOptions(segmentBytes, maxBatch, queueCapacity, fsync, snapshotEvery);
+    }
+
+    // most mutations written and synced together
+    public WalOptions withMaxBatch(int maxBatch) {
+        return new WalOptions(segmentBytes, maxBatch, queueCapacity, fsync, snapshotEvery);
+    }
+
+    // appends block once this many are waiting for the writer
+    public WalOptions withQueueCapacity(int queueCapacity) {
+        return new WalOptions(segmentBytes, maxBatch, queueCapacity, fsync, snapshotEvery);
+    }
+
+    // false leaves flushing to the OS: faster, but a crash can lose acknowledged writes
+    public WalOptions withFsync(boolean fsync) {
+        return new WalOptions(segmentBytes, maxBatch, queueCapacity, fsync, snapshotEvery);
+    }
+
+    // 0 disables automatic snapshots
+    public WalOptions withSnapshotEvery(long snapshotEvery) {
+        return new WalOptions(segmentBytes, maxBatch, queueCapacity, fsync, snapshotEvery);
+    }
+
+    public long segmentBytes() {
+        return segmentBytes;
+    }
+
+    public int maxBatch() {
+        return maxBatch;
+    }
+
+    public int queueCapacity() {
+        return queueCapacity;
+    }
+
+    public boolean fsync() {
+        return fsync;
+    }
+
+    public long snapshotEvery() {
+        return snapshotEvery;
+    }
+}
@@ -0,0 +1,295 @@
+package edu.trincoll.store;
+
+import edu.trincoll.model.Task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, segmented log of task mutations with group commit. Callers
+ * enqueue; one writer thread encodes whatever has queued up (up to maxBatch),
+ * writes it with a single call and fsyncs once, then completes every future in
+ * the batch. Compacted snapshots are {@link TaskFile}s named after the last
+ * sequence they contain; segments wholly covered by a snapshot are deleted.
+ *
+ * <p>Directory layout: wal-&lt;first sequence&gt;.log, snapshot-&lt;last sequence&gt;.bin.
+ */
+public final class WriteAheadLog implements AutoCloseable {
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    /** State rebuilt from the newest snapshot plus the log after it. */
+    public record Recovery(List<Task> tasks, long lastSequence, long snapshotSequence, long replayed) {}
+
+    // mutation is null for a sync barrier
+    private record Pending(long sequence, TaskMutation mutation, CompletableFuture<Long> done) {}
+
+    private final Path directory;
+    private final WalOptions options;
+    private final Recovery recovery;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    private long nextSequence;
+    private volatile long durableSequence;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    private FileChannel segment;
+    private long segmentSize;
+    private ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+
+    private WriteAheadLog(Path directory, WalOptions options, Recovery recovery) throws IOException {
+        this.directory = directory;
+        this.options = options;
+        this.recovery = recovery;
+        this.queue = new ArrayBlockingQueue<>(options.queueCapacity());
+        this.nextSequence = recovery.lastSequence() + 1;
+        this.durableSequence = recovery.lastSequence();
+        openSegment(nextSequence);
+        this.writer = new Thread(this::writeLoop, "task-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Replays the directory and opens the log for appending after the last
+     * intact record, leaving the recovered tasks in state. A torn record at the
+     * end of the newest segment is cut off.
+     */
+    public static WriteAheadLog open(Path directory, WalOptions options, Map<Long, Task> state) throws IOException {
+        return new WriteAheadLog(directory, options, recover(directory, state));
+    }
+
+    /** Rebuilds state into the given map (cleared first) without opening the log. */
+    public static Recovery recover(Path directory, Map<Long, Task> state) throws IOException {
+        Files.createDirectories(directory);
+        state.clear();
+        long snapshotSequence = 0;
+        Optional<Path> snapshot = newest(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        if (snapshot.isPresent()) {
+            snapshotSequence = sequenceOf(snapshot.get(), SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            try (MappedTaskFile file = TaskFile.open(snapshot.get())) {
+                for (int row = 0; row < file.size(); row++) {
+                    Task task = file.task(row);
+                    state.put(task.id(), task);
+                }
+            }
+        }
+
+        long last = snapshotSequence;
+        long replayed = 0;
+        List<Path> segments = list(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        for (int i = 0; i < segments.size(); i++) {
+            Path path = segments.get(i);
+            boolean newest = i == segments.size() - 1;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                if (channel.size() > Integer.MAX_VALUE) throw new IOException("segment too large: " + path);
+                ByteBuffer in = ByteBuffer.allocate((int) channel.size());
+                while (in.hasRemaining() && channel.read(in) >= 0) {
+                    // fill
+                }
+                in.flip();
+                WalCodec.Entry entry;
+                while ((entry = WalCodec.decode(in)) != null) {
+                    if (entry.sequence() <= last) continue;
+                    entry.mutation().applyTo(state);
+                    last = entry.sequence();
+                    replayed++;
+                }
+                if (in.hasRemaining()) {
+                    if (!newest) throw new IOException("corrupt record in " + path + " at byte " + in.position());
+                    channel.truncate(in.position());
+                    channel.force(true);
+                }
+            }
+        }
+        return new Recovery(List.copyOf(state.values()), last, snapshotSequence, replayed);
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    // what open() found on disk
+    public Recovery recovery() {
+        return recovery;
+    }
+
+    // highest sequence known to be on disk (or handed to the OS when fsync is off)
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    // last sequence handed out; the log's own records end here
+    public synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Queues a mutation; it gets the next sequence number. The future completes
+     * with that sequence once the batch containing it has been written and
+     * synced. Blocks only while the queue is full.
+     */
+    public synchronized CompletableFuture<Long> append(TaskMutation mutation) {
+        Objects.requireNonNull(mutation);
+        return enqueue(mutation, nextSequence++);
+    }
+
+    // completes once every mutation appended before the call is durable
+    public synchronized CompletableFuture<Long> sync() {
+        return enqueue(null, nextSequence - 1);
+    }
+
+    private CompletableFuture<Long> enqueue(TaskMutation mutation, long sequence) {
+        if (closed) throw new IllegalStateException("log is closed");
+        if (failure != null) throw new UncheckedIOException("log writer failed", failure);
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        try {
+            queue.put(new Pending(sequence, mutation, done));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while appending", e);
+        }
+        return done;
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(options.maxBatch());
+        while (true) {
+            try {
+                Pending first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed && queue.isEmpty()) break;
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, options.maxBatch() - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                if (closed && queue.isEmpty()) break;
+            } catch (IOException | RuntimeException e) {
+                IOException io = e instanceof IOException x ? x : new IOException(e);
+                failure = io;
+                batch.forEach(p -> p.done().completeExceptionally(io));
+                List<Pending> rest = new ArrayList<>();
+                queue.drainTo(rest);
+                rest.forEach(p -> p.done().completeExceptionally(io));
+                if (closed) break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Pending> batch) throws IOException {
+        if (failure != null) throw failure;
+        buffer.clear();
+        for (Pending p : batch) {
+            // sync barriers carry no mutation
+            if (p.mutation() != null) buffer = WalCodec.encode(buffer, p.sequence(), p.mutation());
+        }
+        buffer.flip();
+        int bytes = buffer.remaining();
+        while (buffer.hasRemaining()) segment.write(buffer);
+        if (options.fsync()) segment.force(false);
+        segmentSize += bytes;
+        long last = batch.get(batch.size() - 1).sequence();
+        durableSequence = last;
+        for (Pending p : batch) p.done().complete(p.sequence());
+        if (segmentSize >= options.segmentBytes()) {
+            segment.close();
+            openSegment(last + 1);
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(name(SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        segment = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        segmentSize = segment.size();
+        if (options.fsync()) syncDirectory();
+    }
+
+    /**
+     * Writes a compacted snapshot of state as of sequence, then deletes older
+     * snapshots and every segment whose records all fall at or below it. The
+     * caller guarantees tasks reflect exactly the mutations up to sequence.
+     */
+    public void snapshot(Collection<Task> tasks, long sequence) throws IOException {
+        Path target = directory.resolve(name(SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        TaskFile.write(target, tasks);
+        if (options.fsync()) syncDirectory();
+        for (Path old : list(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (sequenceOf(old, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < sequence) Files.deleteIfExists(old);
+        }
+        // a segment is covered when the one after it starts at or below sequence + 1
+        List<Path> segments = list(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (sequenceOf(segments.get(i + 1), SEGMENT_PREFIX, SEGMENT_SUFFIX) <= sequence + 1) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segment.close();
+        if (failure != null) throw failure;
+    }
+
+    private void syncDirectory() {
+        // directory fsync makes new file names durable; not supported on every platform
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException ignored) {
+            // best effort
+        }
+    }
+
+    private static String name(String prefix, long sequence, String suffix) {
+        return String.format("%s%020d%s", prefix, sequence, suffix);
+    }
+
+    private static long sequenceOf(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    // zero-padded names sort by sequence
+    private static List<Path> list(Path directory, String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                        String n = p.getFileName().toString();
+                        return n.startsWith(prefix) && n.endsWith(suffix)
+                                && n.length() == prefix.length() + 20 + suffix.length();
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Optional<Path> newest(Path directory, String prefix, String suffix) throws IOException {
+        List<Path> files = list(directory, prefix, suffix);
+        return files.isEmpty() ? Optional.empty() : Optional.of(files.get(files.size() - 1));
+    }
+}
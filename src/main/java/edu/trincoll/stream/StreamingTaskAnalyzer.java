@@ -0,0 +1,188 @@
+package edu.trincoll.stream;
+
+import edu.trincoll.model.Task;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Analyzer for task feeds too large to hold: every task is folded into fixed-size
+ * aggregates and dropped. Memory depends on the window spec and tag capacity,
+ * never on how many tasks have been seen. Snapshots may be taken from any thread
+ * while a feed is running.
+ */
+public class StreamingTaskAnalyzer implements Consumer<Task> {
+    public static final int DEFAULT_TAG_CAPACITY = 256;
+    public static final int DEFAULT_TOP_TAGS = 10;
+    static final int REQUEST_BATCH = 256;
+
+    private final WindowSpec windows;
+    private final Clock clock;
+    private final int tagCapacity;
+    private final TaskStats totals;
+    // pane index (event time / slide) -> aggregates for that slice
+    private final NavigableMap<Long, TaskStats> panes = new TreeMap<>();
+    private long latestPane = Long.MIN_VALUE;
+    private long late;
+
+    // totals only, no windows
+    public StreamingTaskAnalyzer() {
+        this(null);
+    }
+
+    public StreamingTaskAnalyzer(WindowSpec windows) {
+        this(windows, Clock.systemDefaultZone(), DEFAULT_TAG_CAPACITY);
+    }
+
+    // clock stamps tasks without a creation time; tagCapacity bounds the heavy-hitter table
+    public StreamingTaskAnalyzer(WindowSpec windows, Clock clock, int tagCapacity) {
+        if (tagCapacity <= 0) throw new IllegalArgumentException("tagCapacity must be > 0");
+        this.windows = windows;
+        this.clock = Objects.requireNonNull(clock);
+        this.tagCapacity = tagCapacity;
+        this.totals = new TaskStats(tagCapacity);
+    }
+
+    @Override
+    public synchronized void accept(Task task) {
+        if (task == null) return;
+        totals.add(task);
+        if (windows == null) return;
+
+        long pane = Math.floorDiv(eventMillis(task), windows.slide().toMillis());
+        if (pane > latestPane) {
+            latestPane = pane;
+            evict();
+        }
+        if (pane < oldestLivePane()) {
+            late++;
+            return;
+        }
+        panes.computeIfAbsent(pane, p -> new TaskStats(tagCapacity)).add(task);
+    }
+
+    // drains the stream on the calling thread; an infinite stream never returns,
+    // so run it elsewhere and take snapshots meanwhile
+    public StreamingTaskAnalyzer consume(Stream<Task> tasks) {
+        if (tasks != null) tasks.forEach(this);
+        return this;
+    }
+
+    // requests in batches of REQUEST_BATCH; completes with the totals when the publisher does
+    public CompletableFuture<TaskStatsSnapshot> subscribe(Flow.Publisher<Task> publisher) {
+        FeedSubscriber subscriber = new FeedSubscriber();
+        publisher.subscribe(subscriber);
+        return subscriber.done;
+    }
+
+    public synchronized TaskStatsSnapshot totals() {
+        return totals.snapshot(DEFAULT_TOP_TAGS);
+    }
+
+    public synchronized TaskStatsSnapshot totals(int topTags) {
+        return totals.snapshot(topTags);
+    }
+
+    public synchronized long count() {
+        return totals.count();
+    }
+
+    // tasks that arrived after their window had been evicted; still in totals()
+    public synchronized long lateCount() {
+        return late;
+    }
+
+    public Optional<WindowSpec> windowSpec() {
+        return Optional.ofNullable(windows);
+    }
+
+    // retained windows with at least one task, oldest first
+    public synchronized List<WindowSnapshot> windows() {
+        if (windows == null || panes.isEmpty()) return List.of();
+        List<WindowSnapshot> result = new ArrayList<>();
+        for (long end = latestPane - windows.retained() + 1; end <= latestPane; end++) {
+            window(end).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    // the window ending with the most recent pane
+    public synchronized Optional<WindowSnapshot> currentWindow() {
+        if (windows == null || panes.isEmpty()) return Optional.empty();
+        return window(latestPane);
+    }
+
+    private Optional<WindowSnapshot> window(long endPane) {
+        long startPane = endPane - windows.panesPerWindow() + 1;
+        SortedMap<Long, TaskStats> slice = panes.subMap(startPane, endPane + 1);
+        if (slice.isEmpty()) return Optional.empty();
+        TaskStats merged;
+        if (slice.size() == 1) {
+            merged = slice.values().iterator().next();
+        } else {
+            merged = new TaskStats(tagCapacity);
+            slice.values().forEach(merged::mergeFrom);
+        }
+        long slide = windows.slide().toMillis();
+        return Optional.of(new WindowSnapshot(toDateTime(startPane * slide), toDateTime((endPane + 1) * slide),
+                merged.snapshot(DEFAULT_TOP_TAGS)));
+    }
+
+    // panes still needed by the oldest retained window
+    private long oldestLivePane() {
+        return latestPane - windows.retained() - windows.panesPerWindow() + 2;
+    }
+
+    private void evict() {
+        panes.headMap(oldestLivePane(), false).clear();
+    }
+
+    private long eventMillis(Task task) {
+        LocalDateTime created = task.createdAt() != null ? task.createdAt() : LocalDateTime.now(clock);
+        return created.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+                Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private final class FeedSubscriber implements Flow.Subscriber<Task> {
+        final CompletableFuture<TaskStatsSnapshot> done = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private int outstanding;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            outstanding = REQUEST_BATCH;
+            subscription.request(REQUEST_BATCH);
+        }
+
+        // Reactive Streams calls onNext serially, so no locking here
+        @Override
+        public void onNext(Task task) {
+            accept(task);
+            if (--outstanding <= REQUEST_BATCH / 2) {
+                outstanding += REQUEST_BATCH;
+                subscription.request(REQUEST_BATCH);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            done.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(totals());
+        }
+    }
+}
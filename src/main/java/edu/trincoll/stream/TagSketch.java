@@ -0,0 +1,171 @@
+package edu.trincoll.stream;
+
+import java.util.*;
+
+// Bounded-memory tag summary: Space-Saving heavy hitters for the most frequent
+// tags plus a HyperLogLog distinct count. Both merge, so panes can be combined.
+final class TagSketch {
+    private static final int PRECISION = 12;
+    private static final int REGISTERS = 1 << PRECISION;
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    // buckets of equal counts in ascending order; the first holds the eviction candidates
+    private Bucket lowest;
+    private final byte[] registers = new byte[REGISTERS];
+    private long occurrences;
+
+    // one tracked tag; count lives in its bucket, error is the overestimate inherited on eviction
+    private static final class Counter {
+        final String tag;
+        long error;
+        Bucket bucket;
+        Counter prev;
+        Counter next;
+
+        Counter(String tag, long error) {
+            this.tag = tag;
+            this.error = error;
+        }
+    }
+
+    private static final class Bucket {
+        final long count;
+        Bucket prev;
+        Bucket next;
+        Counter first;
+
+        Bucket(long count) {
+            this.count = count;
+        }
+    }
+
+    TagSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    void add(String tag) {
+        add(tag, 1, 0);
+        occurrences++;
+        long hash = mix(tag.hashCode());
+        int index = (int) (hash >>> (64 - PRECISION));
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (rank > registers[index]) registers[index] = (byte) rank;
+    }
+
+    // Space-Saving: a new tag in a full table replaces the smallest counter and inherits its count.
+    // The stream-summary buckets make a +1 and an eviction O(1); merges walk forward by count
+    private void add(String tag, long count, long error) {
+        Counter counter = counters.get(tag);
+        if (counter != null) {
+            counter.error += error;
+            move(counter, bucketFor(counter.bucket.count + count, counter.bucket));
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(tag, error);
+            counters.put(tag, counter);
+            attach(counter, bucketFor(count, null));
+            return;
+        }
+        Bucket floor = lowest;
+        Counter victim = floor.first;
+        counters.remove(victim.tag);
+        counter = new Counter(tag, floor.count + error);
+        counters.put(tag, counter);
+        attach(counter, bucketFor(floor.count + count, floor));
+        detach(victim);
+    }
+
+    // the bucket holding exactly count, linked in after `from` (null: the front) when missing;
+    // from's count must not exceed it
+    private Bucket bucketFor(long count, Bucket from) {
+        Bucket before = from;
+        Bucket after = from == null ? lowest : from.next;
+        while (after != null && after.count <= count) {
+            before = after;
+            after = after.next;
+        }
+        if (before != null && before.count == count) return before;
+        Bucket bucket = new Bucket(count);
+        bucket.prev = before;
+        bucket.next = after;
+        if (before == null) lowest = bucket;
+        else before.next = bucket;
+        if (after != null) after.prev = bucket;
+        return bucket;
+    }
+
+    private void move(Counter counter, Bucket to) {
+        if (counter.bucket == to) return;
+        detach(counter);
+        attach(counter, to);
+    }
+
+    private static void attach(Counter counter, Bucket bucket) {
+        counter.bucket = bucket;
+        counter.prev = null;
+        counter.next = bucket.first;
+        if (bucket.first != null) bucket.first.prev = counter;
+        bucket.first = counter;
+    }
+
+    // unlinks the counter, dropping its bucket once empty
+    private void detach(Counter counter) {
+        Bucket bucket = counter.bucket;
+        if (counter.prev != null) counter.prev.next = counter.next;
+        else bucket.first = counter.next;
+        if (counter.next != null) counter.next.prev = counter.prev;
+        if (bucket.first != null) return;
+        if (bucket.prev != null) bucket.prev.next = bucket.next;
+        else lowest = bucket.next;
+        if (bucket.next != null) bucket.next.prev = bucket.prev;
+    }
+
+    void mergeFrom(TagSketch other) {
+        other.counters.forEach((tag, c) -> add(tag, c.bucket.count, c.error));
+        occurrences += other.occurrences;
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) registers[i] = other.registers[i];
+        }
+    }
+
+    long occurrences() {
+        return occurrences;
+    }
+
+    long distinctEstimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) zeros++;
+        }
+        double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        double estimate = alpha * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    // most frequent first; ties by tag name
+    List<TaskStatsSnapshot.TagCount> top(int limit) {
+        return counters.values().stream()
+                .sorted(Comparator.<Counter>comparingLong(c -> -c.bucket.count).thenComparing(c -> c.tag))
+                .limit(limit)
+                .map(c -> new TaskStatsSnapshot.TagCount(c.tag, c.bucket.count, c.error))
+                .toList();
+    }
+
+    // 64-bit finalizer from MurmurHash3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,62 @@
+package edu.trincoll.stream;
+
+import edu.trincoll.model.Task;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Mutable, mergeable aggregates over any number of tasks in fixed memory
+final class TaskStats {
+    private static final Task.Status[] STATUSES = Task.Status.values();
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+
+    private long count;
+    private final long[] byStatus = new long[STATUSES.length];
+    private final long[] byPriority = new long[PRIORITIES.length];
+    private long hoursSum;
+    private long hoursCount;
+    private final TagSketch tags;
+
+    TaskStats(int tagCapacity) {
+        this.tags = new TagSketch(tagCapacity);
+    }
+
+    void add(Task task) {
+        count++;
+        if (task.status() != null) byStatus[task.status().ordinal()]++;
+        if (task.priority() != null) byPriority[task.priority().ordinal()]++;
+        if (task.estimatedHours() != null) {
+            hoursSum += task.estimatedHours();
+            hoursCount++;
+        }
+        if (task.tags() != null) task.tags().forEach(tags::add);
+    }
+
+    void mergeFrom(TaskStats other) {
+        count += other.count;
+        for (int i = 0; i < byStatus.length; i++) byStatus[i] += other.byStatus[i];
+        for (int i = 0; i < byPriority.length; i++) byPriority[i] += other.byPriority[i];
+        hoursSum += other.hoursSum;
+        hoursCount += other.hoursCount;
+        tags.mergeFrom(other.tags);
+    }
+
+    long count() {
+        return count;
+    }
+
+    TaskStatsSnapshot snapshot(int topTags) {
+        return new TaskStatsSnapshot(count, nonZero(Task.Status.class, STATUSES, byStatus),
+                nonZero(Task.Priority.class, PRIORITIES, byPriority), hoursSum, hoursCount,
+                tags.occurrences(), tags.distinctEstimate(), tags.top(topTags));
+    }
+
+    // like groupingBy + counting: only keys that occurred
+    private static <E extends Enum<E>> Map<E, Long> nonZero(Class<E> type, E[] keys, long[] counts) {
+        Map<E, Long> map = new EnumMap<>(type);
+        for (int i = 0; i < keys.length; i++) {
+            if (counts[i] > 0) map.put(keys[i], counts[i]);
+        }
+        return map;
+    }
+}
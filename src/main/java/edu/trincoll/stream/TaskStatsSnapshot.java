@@ -0,0 +1,36 @@
+package edu.trincoll.stream;
+
+import edu.trincoll.model.Task;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+/**
+ * Immutable aggregates over a stream or window. Tag figures are estimates:
+ * topTags counts may overstate a tag by at most its error, and distinctTags is
+ * a HyperLogLog estimate (about 1.6% standard error).
+ */
+public record TaskStatsSnapshot(long count,
+                                Map<Task.Status, Long> countsByStatus,
+                                Map<Task.Priority, Long> countsByPriority,
+                                long totalHours,
+                                long tasksWithHours,
+                                long tagOccurrences,
+                                long distinctTags,
+                                List<TagCount> topTags) {
+
+    public record TagCount(String tag, long count, long error) {}
+
+    public TaskStatsSnapshot {
+        countsByStatus = Collections.unmodifiableMap(countsByStatus);
+        countsByPriority = Collections.unmodifiableMap(countsByPriority);
+        topTags = List.copyOf(topTags);
+    }
+
+    // same contract as TaskAnalyzer.getAverageEstimatedHours
+    public OptionalDouble averageHours() {
+        return tasksWithHours == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) totalHours / tasksWithHours);
+    }
+}
@@ -0,0 +1,6 @@
+package edu.trincoll.stream;
+
+import java.time.LocalDateTime;
+
+/** Aggregates for tasks created in [start, end). */
+public record WindowSnapshot(LocalDateTime start, LocalDateTime end, TaskStatsSnapshot stats) {}
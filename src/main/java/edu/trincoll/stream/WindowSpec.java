@@ -0,0 +1,43 @@
+package edu.trincoll.stream;
+
+import java.time.Duration;
+
+/**
+ * Event-time windows over task creation time. A sliding window advances by
+ * slide, which must divide size; tumbling windows are the case slide == size.
+ * retained is how many of the most recent windows stay queryable.
+ */
+public record WindowSpec(Duration size, Duration slide, int retained) {
+    public static final int DEFAULT_RETAINED = 16;
+
+    public WindowSpec {
+        if (size == null || slide == null || size.isNegative() || size.isZero() || slide.isNegative() || slide.isZero()) {
+            throw new IllegalArgumentException("size and slide must be positive");
+        }
+        if (slide.toMillis() == 0 || size.toMillis() % slide.toMillis() != 0) {
+            throw new IllegalArgumentException("slide must divide size in whole milliseconds");
+        }
+        if (retained <= 0) throw new IllegalArgumentException("retained must be > 0");
+    }
+
+    public static WindowSpec tumbling(Duration size) {
+        return new WindowSpec(size, size, DEFAULT_RETAINED);
+    }
+
+    public static WindowSpec sliding(Duration size, Duration slide) {
+        return new WindowSpec(size, slide, DEFAULT_RETAINED);
+    }
+
+    public WindowSpec retaining(int windows) {
+        return new WindowSpec(size, slide, windows);
+    }
+
+    public boolean isTumbling() {
+        return size.equals(slide);
+    }
+
+    // slide-sized panes that make up one window
+    int panesPerWindow() {
+        return (int) (size.toMillis() / slide.toMillis());
+    }
+}
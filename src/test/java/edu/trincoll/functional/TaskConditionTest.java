@@ -0,0 +1,72 @@
+package edu.trincoll.functional;
+
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaskConditionTest {
+
+    private static List<Task> sampleTasks() {
+        Random random = new Random(7);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(new Task((long) i, "Task " + i, "Generated",
+                Task.Priority.values()[random.nextInt(4)],
+                random.nextInt(10) == 0 ? null : Task.Status.values()[random.nextInt(5)],
+                Set.of("tag" + random.nextInt(3)), LocalDateTime.now(),
+                LocalDateTime.now().plusDays(random.nextInt(5) - 2), 1));
+        }
+        return tasks;
+    }
+
+    @Test
+    @DisplayName("Should fold status and priority terms into masks")
+    void simplify() {
+        TaskPredicate predicate = TaskPredicate.hasTag("x")
+            .and(TaskPredicate.byStatus(Task.Status.DONE))
+            .and(TaskPredicate.isActive().or(TaskPredicate.byStatus(Task.Status.DONE)));
+
+        assertThat(TaskCondition.simplify(predicate))
+            .hasToString("(status in [DONE] and tag = x)");
+        assertThat(TaskCondition.simplify(TaskPredicate.isActive().and(TaskPredicate.byStatus(Task.Status.DONE))))
+            .isEqualTo(TaskCondition.Constant.FALSE);
+        assertThat(TaskCondition.simplify(TaskPredicate.byPriority(Task.Priority.LOW).negate().negate()))
+            .isEqualTo(TaskPredicate.byPriority(Task.Priority.LOW));
+    }
+
+    @Test
+    @DisplayName("Should evaluate cheap terms first")
+    void ordersByCost() {
+        TaskPredicate opaque = task -> true;
+        TaskPredicate predicate = TaskPredicate.hasTag("x").and(opaque).and(TaskPredicate.isOverdue())
+            .and(TaskPredicate.byPriority(Task.Priority.HIGH));
+
+        assertThat(((TaskCondition.And) TaskCondition.simplify(predicate)).terms())
+            .containsExactly(TaskPredicate.byPriority(Task.Priority.HIGH), TaskPredicate.isOverdue(),
+                TaskPredicate.hasTag("x"), opaque);
+        assertThat(TaskCondition.isInspectable(predicate)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should give the same answers once compiled")
+    void compileIsEquivalent() {
+        TaskPredicate opaque = task -> task.id() % 2 == 0;
+        List<TaskPredicate> predicates = List.of(
+            TaskPredicate.byStatus(Task.Status.TODO).or(TaskPredicate.hasTag("tag1")).negate(),
+            TaskPredicate.isActive().and(TaskPredicate.byPriority(Task.Priority.HIGH).negate()).and(opaque),
+            TaskPredicate.isOverdue().or(TaskPredicate.byStatus(null)).or(TaskPredicate.hasTag("tag2")),
+            TaskPredicate.byStatus(Task.Status.DONE).negate().and(TaskPredicate.byStatus(Task.Status.BLOCKED).negate())
+        );
+
+        for (TaskPredicate predicate : predicates) {
+            TaskPredicate compiled = predicate.compile();
+            assertThat(sampleTasks())
+                .allSatisfy(t -> assertThat(compiled.test(t)).isEqualTo(predicate.test(t)));
+        }
+    }
+}
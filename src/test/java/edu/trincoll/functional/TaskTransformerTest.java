@@ -0,0 +1,70 @@
+package edu.trincoll.functional;
+
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaskTransformerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private static Task task(Task.Status status, Task.Priority priority) {
+        return new Task(1L, "Task", "d", priority, status, Set.of("a"), NOW, NOW.plusDays(1), 3);
+    }
+
+    @Test
+    @DisplayName("Should merge a chain of setters into one field update")
+    void mergesSetters() {
+        TaskTransformer chain = TaskTransformer.withStatus(Task.Status.DONE)
+            .andThen(TaskTransformer.withPriority(Task.Priority.HIGH))
+            .andThen(TaskTransformer.withDueDate(null))
+            .andThen(TaskTransformer.withStatus(Task.Status.IN_PROGRESS));
+
+        assertThat(chain).isInstanceOf(FieldUpdate.class);
+        FieldUpdate update = (FieldUpdate) chain;
+        assertThat(update.fields())
+            .containsExactlyInAnyOrder(FieldUpdate.Field.STATUS, FieldUpdate.Field.PRIORITY, FieldUpdate.Field.DUE_DATE);
+        assertThat(update.value(FieldUpdate.Field.STATUS)).isEqualTo(Task.Status.IN_PROGRESS);
+
+        Task result = chain.apply(task(Task.Status.TODO, Task.Priority.LOW));
+        assertThat(result).isEqualTo(new Task(1L, "Task", "d", Task.Priority.HIGH, Task.Status.IN_PROGRESS,
+            Set.of("a"), NOW, null, 3));
+    }
+
+    @Test
+    @DisplayName("Should return the same task when nothing would change")
+    void identityElision() {
+        Task task = task(Task.Status.DONE, Task.Priority.HIGH);
+
+        assertThat(TaskTransformer.withStatus(Task.Status.DONE).apply(task)).isSameAs(task);
+        assertThat(TaskTransformer.withStatus(Task.Status.DONE)
+            .andThen(TaskTransformer.withPriority(Task.Priority.HIGH))
+            .andThen(TaskTransformer.withTags(Set.of("a")))
+            .apply(task)).isSameAs(task);
+        assertThat(TaskTransformer.identity().apply(task)).isSameAs(task);
+        assertThat(TaskTransformer.withStatus(Task.Status.TODO).apply(task)).isNotSameAs(task);
+    }
+
+    @Test
+    @DisplayName("Should keep step order around opaque transformers")
+    void opaqueSteps() {
+        TaskTransformer bump = t -> new Task(t.id(), t.title() + "!", t.description(), t.priority(), t.status(),
+            t.tags(), t.createdAt(), t.dueDate(), t.estimatedHours() + 1);
+        TaskTransformer chain = TaskTransformer.withEstimatedHours(10)
+            .andThen(TaskTransformer.withTitle("T"))
+            .andThen(bump)
+            .andThen(TaskTransformer.withStatus(Task.Status.DONE))
+            .andThen(TaskTransformer.withPriority(Task.Priority.CRITICAL));
+
+        assertThat(((TransformerChain) chain).steps()).hasSize(3);
+        Task result = chain.apply(task(Task.Status.TODO, Task.Priority.LOW));
+        assertThat(result.title()).isEqualTo("T!");
+        assertThat(result.estimatedHours()).isEqualTo(11);
+        assertThat(result.status()).isEqualTo(Task.Status.DONE);
+        assertThat(result.priority()).isEqualTo(Task.Priority.CRITICAL);
+    }
+}
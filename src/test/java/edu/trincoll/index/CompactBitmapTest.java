@@ -0,0 +1,77 @@
+package edu.trincoll.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompactBitmapTest {
+
+    private static CompactBitmap bitmapOf(Collection<Integer> values) {
+        CompactBitmap bitmap = new CompactBitmap();
+        values.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static int[] sorted(Collection<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    @Test
+    @DisplayName("Should behave like a sorted set across sparse and dense chunks")
+    void matchesTreeSet() {
+        Random random = new Random(11);
+        TreeSet<Integer> expected = new TreeSet<>();
+        CompactBitmap bitmap = new CompactBitmap();
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(i % 2 == 0 ? 10_000 : 400_000);
+            expected.add(value);
+            bitmap.add(value);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(10_000);
+            expected.remove(value);
+            bitmap.remove(value);
+        }
+
+        assertThat(bitmap.toArray()).containsExactly(sorted(expected));
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+        assertThat(bitmap.first()).isEqualTo(expected.first());
+        assertThat(bitmap.contains(expected.last())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should compute and, or and and-not")
+    void setOperations() {
+        Random random = new Random(13);
+        Set<Integer> a = new HashSet<>();
+        Set<Integer> b = new HashSet<>();
+        for (int i = 0; i < 12_000; i++) {
+            a.add(random.nextInt(100_000));
+            b.add(random.nextInt(100_000));
+        }
+        Set<Integer> and = new HashSet<>(a);
+        and.retainAll(b);
+        Set<Integer> or = new HashSet<>(a);
+        or.addAll(b);
+        Set<Integer> andNot = new HashSet<>(a);
+        andNot.removeAll(b);
+
+        assertThat(CompactBitmap.and(bitmapOf(a), bitmapOf(b)).toArray()).containsExactly(sorted(and));
+        assertThat(CompactBitmap.or(bitmapOf(a), bitmapOf(b)).toArray()).containsExactly(sorted(or));
+        assertThat(CompactBitmap.andNot(bitmapOf(a), bitmapOf(b)).toArray()).containsExactly(sorted(andNot));
+    }
+
+    @Test
+    @DisplayName("Should report empty state")
+    void empty() {
+        CompactBitmap bitmap = bitmapOf(List.of(5));
+        bitmap.remove(5);
+
+        assertThat(bitmap.isEmpty()).isTrue();
+        assertThat(bitmap.first()).isEqualTo(-1);
+        assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
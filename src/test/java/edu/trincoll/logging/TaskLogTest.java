@@ -0,0 +1,185 @@
+package edu.trincoll.logging;
+
+import edu.trincoll.functional.TaskProcessor;
+import edu.trincoll.model.Task;
+import edu.trincoll.service.TaskAnalyzer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaskLogTest {
+    private final Queue<LogEvent> events = new ConcurrentLinkedQueue<>();
+
+    @AfterEach
+    void restoreDefaults() {
+        TaskLog.reset();
+    }
+
+    private static List<Task> tasks() {
+        return List.of(
+            new Task(1L, "Write tests", "d", Task.Priority.HIGH, Task.Status.TODO,
+                Set.of("testing"), LocalDateTime.now(), null, 2),
+            new Task(2L, "Ship it", "d", Task.Priority.LOW, Task.Status.DONE,
+                Set.of("release"), LocalDateTime.now(), null, 1));
+    }
+
+    @Nested
+    @DisplayName("Levels and Sampling")
+    class LevelTests {
+
+        @Test
+        @DisplayName("Should drop events below the threshold")
+        void threshold() {
+            TaskLog.configure(LogLevel.INFO, 1, events::add);
+            TaskLogger log = TaskLog.logger("test");
+
+            log.debug("hidden", "k", 1);
+            log.info("shown", "k", 2);
+
+            assertThat(log.isDebugEnabled()).isFalse();
+            assertThat(events).extracting(LogEvent::message).containsExactly("shown");
+        }
+
+        @Test
+        @DisplayName("Should keep one in every n events below WARN")
+        void sampling() {
+            TaskLog.configure(LogLevel.DEBUG, 10, events::add);
+            TaskLogger log = TaskLog.logger("sampled");
+
+            for (int i = 0; i < 100; i++) log.debug("tick", "i", i);
+            log.log(LogLevel.WARN, "always", "k", "v");
+
+            assertThat(events).hasSize(11);
+            assertThat(events).extracting(e -> e.field("i")).contains(0, 10, 90);
+        }
+
+        @Test
+        @DisplayName("Should render structured fields")
+        void render() {
+            LogEvent event = new LogEvent(0, LogLevel.INFO, "a.B", "batch", new Object[]{"size", 3, "title", "Write tests"});
+
+            assertThat(event.render())
+                .isEqualTo("1970-01-01T00:00:00Z INFO  a.B batch size=3 title=\"Write tests\"");
+        }
+    }
+
+    @Nested
+    @DisplayName("Ring Buffer")
+    class RingBufferTests {
+
+        @Test
+        @DisplayName("Should deliver events in order on the drain thread")
+        void deliversInOrder() {
+            try (RingBufferLogSink ring = new RingBufferLogSink(events::add, 64)) {
+                for (int i = 0; i < 1_000; i++) ring.write(new LogEvent(0, LogLevel.INFO, "t", "e", new Object[]{"i", i}));
+                ring.flush();
+
+                List<LogEvent> delivered = events.stream().filter(e -> e.message().equals("e")).toList();
+                assertThat(delivered).hasSize(1_000 - (int) ring.droppedCount());
+                assertThat(delivered).extracting(e -> (Integer) e.field("i")).isSorted();
+            }
+        }
+
+        @Test
+        @DisplayName("Should drop rather than block when full, then report the drops")
+        void dropsWhenFull() throws InterruptedException {
+            CountDownLatch release = new CountDownLatch(1);
+            LogSink slow = event -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                events.add(event);
+            };
+            try (RingBufferLogSink ring = new RingBufferLogSink(slow, 4)) {
+                for (int i = 0; i < 20; i++) ring.write(new LogEvent(0, LogLevel.INFO, "t", "e", null));
+
+                assertThat(ring.droppedCount()).isBetween(15L, 16L);
+                release.countDown();
+                ring.close();
+                long dropped = ring.droppedCount();
+                assertThat(events).filteredOn(e -> e.message().equals("e")).hasSize(20 - (int) dropped);
+                assertThat(events).filteredOn(e -> e.level() == LogLevel.WARN)
+                    .singleElement()
+                    .satisfies(e -> assertThat(e.field("dropped")).isEqualTo(dropped));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Call Sites")
+    class CallSiteTests {
+
+        @Test
+        @DisplayName("Should not log from getAllTagsSorted below DEBUG")
+        void analyzerQuiet() {
+            TaskLog.configure(LogLevel.INFO, 1, events::add);
+
+            assertThat(new TaskAnalyzer(tasks()).getAllTagsSorted()).containsExactly("release", "testing");
+            assertThat(events).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should log per-task tags at TRACE")
+        void analyzerTrace() {
+            TaskLog.configure(LogLevel.TRACE, 1, events::add);
+
+            new TaskAnalyzer(tasks()).getAllTagsSorted();
+
+            assertThat(events).extracting(LogEvent::level)
+                .containsExactly(LogLevel.DEBUG, LogLevel.TRACE, LogLevel.TRACE);
+        }
+
+        @Test
+        @DisplayName("Should log one event per batch, with the titles at DEBUG")
+        void logTasks() {
+            TaskLog.configure(LogLevel.INFO, 1, events::add);
+
+            TaskProcessor.logTasks("batch").process(tasks());
+
+            assertThat(events).extracting(e -> e.render().substring(e.render().indexOf("batch")))
+                .containsExactly("batch tasks=2");
+
+            events.clear();
+            TaskLog.setLevel(LogLevel.DEBUG);
+            TaskProcessor.logTasks("batch").process(tasks());
+
+            assertThat(events).extracting(e -> e.render().substring(e.render().indexOf("batch")))
+                .containsExactly("batch tasks=2", "batch titles=\"[Write tests, Ship it]\"");
+        }
+
+        @Test
+        @DisplayName("Should keep large batches to a constant number of events")
+        void logTasksLargeBatch() {
+            TaskLog.configure(LogLevel.DEBUG, 1, events::add);
+            List<Task> many = Collections.nCopies(20_000, tasks().get(0));
+
+            TaskProcessor.logTasks("batch").process(many);
+
+            assertThat(events).hasSize(2);
+            assertThat((Object[]) events.stream().toList().get(1).field("titles")).hasSize(20_000);
+        }
+
+        @Test
+        @DisplayName("Should do nothing in logTasks when INFO is off")
+        void logTasksDisabled() {
+            TaskLog.configure(LogLevel.WARN, 1, events::add);
+
+            TaskProcessor.logTasks("batch").process(tasks());
+
+            assertThat(events).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package edu.trincoll.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class MetricsRegistryTest {
+
+    @Nested
+    @DisplayName("Recording")
+    class RecordingTests {
+
+        @Test
+        @DisplayName("Should count calls and elements per stage")
+        void countsCallsAndElements() {
+            MetricsRegistry registry = MetricsRegistry.create();
+            StageMetrics stage = registry.stage("filter");
+
+            stage.start().stop(10, 4);
+            stage.start().stop(6, 6);
+
+            MetricsSnapshot.StageSnapshot snapshot = registry.snapshot().stage("filter").orElseThrow();
+            assertThat(snapshot.calls()).isEqualTo(2);
+            assertThat(snapshot.elementsIn()).isEqualTo(16);
+            assertThat(snapshot.elementsOut()).isEqualTo(10);
+            assertThat(snapshot.maxNanos()).isGreaterThanOrEqualTo(snapshot.percentileNanos(0.5));
+        }
+
+        @Test
+        @DisplayName("Should return the same stage for the same name")
+        void stagesAreShared() {
+            MetricsRegistry registry = MetricsRegistry.create();
+
+            assertThat(registry.stage("sort")).isSameAs(registry.stage("sort"));
+        }
+
+        @Test
+        @DisplayName("Should estimate allocation on the calling thread")
+        void measuresAllocation() {
+            assumeTrue(MetricsRegistry.measuresAllocation());
+            MetricsRegistry registry = MetricsRegistry.create();
+
+            StageMetrics.Sample sample = registry.stage("alloc").start();
+            List<long[]> garbage = new ArrayList<>();
+            for (int i = 0; i < 100; i++) garbage.add(new long[1024]);
+            sample.stop(garbage.size(), 0);
+
+            assertThat(registry.snapshot().stage("alloc").orElseThrow().allocatedBytes())
+                .isGreaterThanOrEqualTo(100L * 8 * 1024);
+        }
+
+        @Test
+        @DisplayName("Should record nothing when disabled")
+        void disabledIsNoop() {
+            MetricsRegistry registry = MetricsRegistry.disabled();
+            StageMetrics stage = registry.stage("filter");
+
+            stage.start().stop(10, 4);
+
+            assertThat(stage).isSameAs(StageMetrics.NOOP);
+            assertThat(stage.isEnabled()).isFalse();
+            assertThat(registry.snapshot().stages()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should zero stages on reset")
+        void reset() {
+            MetricsRegistry registry = MetricsRegistry.create();
+            registry.stage("filter").start().stop(3, 3);
+
+            registry.reset();
+
+            assertThat(registry.snapshot().stage("filter").orElseThrow().calls()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Histogram")
+    class HistogramTests {
+
+        @Test
+        @DisplayName("Should place every value in a bucket whose bound covers it within 25%")
+        void bucketBounds() {
+            for (long v : new long[]{0, 1, 3, 4, 7, 8, 9, 1_000, 123_456_789L, Long.MAX_VALUE / 2}) {
+                int bucket = LatencyHistogram.bucketOf(v);
+                long upper = LatencyHistogram.upperBound(bucket);
+                assertThat(upper).isGreaterThanOrEqualTo(v);
+                assertThat((double) upper).isLessThanOrEqualTo(Math.max(3, v * 1.25));
+            }
+        }
+
+        @Test
+        @DisplayName("Should report percentiles from the bucket counts")
+        void percentiles() {
+            long[] histogram = new long[LatencyHistogram.BUCKETS];
+            histogram[LatencyHistogram.bucketOf(100)] = 90;
+            histogram[LatencyHistogram.bucketOf(10_000)] = 10;
+            var stage = new MetricsSnapshot.StageSnapshot("s", 100, 0, 0, 0, 19_000, 10_000, histogram);
+
+            assertThat(stage.percentileNanos(0.5)).isBetween(100L, 125L);
+            assertThat(stage.percentileNanos(0.99)).isEqualTo(10_000L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Export")
+    class ExportTests {
+
+        @Test
+        @DisplayName("Should dump JSON to a file")
+        void jsonFile(@TempDir Path dir) throws Exception {
+            MetricsRegistry registry = MetricsRegistry.create();
+            registry.stage("engine.transformAll").start().stop(5, 5);
+            Path file = dir.resolve("metrics.json");
+
+            registry.export(MetricsExporter.jsonFile(file));
+
+            assertThat(Files.readString(file))
+                .startsWith("{\"stages\":[")
+                .contains("\"name\":\"engine.transformAll\"", "\"calls\":1", "\"elementsIn\":5");
+        }
+
+        @Test
+        @DisplayName("Should dump Prometheus text format to a file")
+        void prometheusFile(@TempDir Path dir) throws Exception {
+            MetricsRegistry registry = MetricsRegistry.create();
+            registry.stage("engine.topK").start().stop(8, 2);
+            Path file = dir.resolve("metrics.prom");
+
+            registry.export(MetricsExporter.prometheusFile(file));
+
+            assertThat(Files.readString(file))
+                .contains("# TYPE tasks_stage_calls_total counter")
+                .contains("tasks_stage_elements_in_total{stage=\"engine.topK\"} 8")
+                .contains("tasks_stage_latency_seconds{stage=\"engine.topK\",quantile=\"0.99\"}")
+                .contains("tasks_stage_latency_seconds_count{stage=\"engine.topK\"} 1");
+        }
+
+        @Test
+        @DisplayName("Should accept custom exporters")
+        void customExporter() throws Exception {
+            MetricsRegistry registry = MetricsRegistry.create();
+            registry.stage("a").start().stop(1, 1);
+            List<MetricsSnapshot> exported = new ArrayList<>();
+
+            registry.export(exported::add);
+
+            assertThat(exported).singleElement()
+                .satisfies(s -> assertThat(s.stages()).extracting(MetricsSnapshot.StageSnapshot::name)
+                    .containsExactly("a"));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package edu.trincoll.processor;
+
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SortEngineTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    // few distinct values so ties are common; some of every field is null
+    private static List<Task> sampleTasks(int n, boolean wideKeys) {
+        Random random = new Random(11);
+        List<Task> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Long id = random.nextInt(10) == 0 ? null : (long) random.nextInt(n) - n / 2;
+            LocalDateTime due = random.nextInt(6) == 0 ? null
+                : wideKeys && random.nextBoolean() ? LocalDateTime.MAX.minusSeconds(random.nextInt(3))
+                : BASE.plusSeconds(random.nextInt(100)).plusNanos(random.nextInt(3));
+            tasks.add(new Task(id, "Task " + i, "Generated",
+                random.nextInt(8) == 0 ? null : Task.Priority.values()[random.nextInt(4)],
+                random.nextInt(8) == 0 ? null : Task.Status.values()[random.nextInt(5)],
+                Set.of(), BASE, due, 1));
+        }
+        return tasks;
+    }
+
+    private static void assertSameAsComparatorSort(List<Task> tasks, List<Comparator<Task>> order) {
+        Comparator<Task> composite = order.get(0);
+        for (int i = 1; i < order.size(); i++) composite = composite.thenComparing(order.get(i));
+        List<Task> expected = new ArrayList<>(tasks);
+        expected.sort(composite);
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            List<Task> sorted = SortEngine.sort(tasks, order, parallel);
+            assertThat(sorted).hasSameSizeAs(expected);
+            for (int i = 0; i < sorted.size(); i++) {
+                assertThat(sorted.get(i)).as("%s parallel=%s at %d", order, parallel, i).isSameAs(expected.get(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should match a stable comparator sort on packed keys")
+    void packedKeys() {
+        List<Task> tasks = sampleTasks(20_000, false);
+
+        assertSameAsComparatorSort(tasks, List.of(SortKey.priority().reversed(), SortKey.dueDate(), SortKey.id()));
+        assertSameAsComparatorSort(tasks, List.of(SortKey.status(), SortKey.priority()));
+        assertSameAsComparatorSort(tasks, List.of(SortKey.dueDate().reversed()));
+    }
+
+    @Test
+    @DisplayName("Should match a stable comparator sort when keys need more than 64 bits")
+    void wideKeys() {
+        List<Task> tasks = sampleTasks(20_000, true);
+
+        assertSameAsComparatorSort(tasks, List.of(SortKey.dueDate(), SortKey.id().reversed()));
+        assertSameAsComparatorSort(tasks, List.of(SortKey.id(), SortKey.dueDate().reversed(), SortKey.status()));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the composed comparator for other comparators")
+    void fallback() {
+        List<Task> tasks = sampleTasks(5_000, false);
+
+        assertThat(SortEngine.isPrimitive(List.of(SortKey.id(), Comparator.comparing(Task::title)))).isFalse();
+        assertSameAsComparatorSort(tasks, List.of(SortKey.priority(), Comparator.comparing(Task::title)));
+    }
+
+    @Test
+    @DisplayName("Should order nulls last, and first once reversed")
+    void nulls() {
+        Task dated = new Task(1L, "a", "d", Task.Priority.LOW, Task.Status.TODO, Set.of(), BASE, BASE, 1);
+        Task undated = new Task(2L, "b", "d", Task.Priority.LOW, Task.Status.TODO, Set.of(), BASE, null, 1);
+
+        assertThat(SortEngine.sort(List.of(undated, dated), List.of(SortKey.dueDate()), false))
+            .containsExactly(dated, undated);
+        assertThat(SortEngine.sort(List.of(dated, undated), List.of(SortKey.dueDate().reversed()), false))
+            .containsExactly(undated, dated);
+    }
+}
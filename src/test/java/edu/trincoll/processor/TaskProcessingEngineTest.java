@@ -3,7 +3,10 @@ package edu.trincoll.processor;
 import edu.trincoll.functional.TaskPredicate;
 import edu.trincoll.functional.TaskProcessor;
 import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.metrics.MetricsRegistry;
+import edu.trincoll.metrics.MetricsSnapshot;
 import edu.trincoll.model.Task;
+import edu.trincoll.repository.TaskVector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -81,6 +84,71 @@ class TaskProcessingEngineTest {
 
             assertThat(result).isEqualTo(testTasks);
         }
+
+        @Test
+        @DisplayName("Should fuse filter, map, sort and limit stages")
+        void fusedPipeline() {
+            TaskPipeline pipeline = TaskPipeline.start()
+                .filter(t -> t.status() == Task.Status.TODO)
+                .map(TaskTransformer.withStatus(Task.Status.IN_PROGRESS)::apply)
+                .sort(Comparator.comparing(Task::dueDate).reversed())
+                .limit(1);
+
+            List<Task> result = engine.processPipeline(testTasks, pipeline);
+
+            assertThat(pipeline.materializations()).isEqualTo(2);
+            assertThat(result)
+                .singleElement()
+                .satisfies(t -> {
+                    assertThat(t.id()).isEqualTo(3L);
+                    assertThat(t.status()).isEqualTo(Task.Status.IN_PROGRESS);
+                });
+        }
+
+        @Test
+        @DisplayName("Should sort the previous sort's list in place instead of copying it")
+        void adjacentSorts() {
+            TaskPipeline pipeline = TaskPipeline.start()
+                .sort(Comparator.comparing(Task::title))
+                .sort(Comparator.comparing(Task::estimatedHours).reversed());
+
+            assertThat(pipeline.materializations()).isEqualTo(1);
+            assertThat(engine.processPipeline(testTasks, pipeline))
+                .isEqualTo(testTasks.stream()
+                    .sorted(Comparator.comparing(Task::estimatedHours).reversed())
+                    .toList());
+            assertThat(testTasks).extracting(Task::id).containsExactly(1L, 2L, 3L);
+        }
+
+        @Test
+        @DisplayName("Should stop reading input once a limit is reached")
+        void limitShortCircuits() {
+            AtomicInteger evaluated = new AtomicInteger();
+            TaskPipeline pipeline = TaskPipeline.start()
+                .filter(t -> evaluated.incrementAndGet() > 0)
+                .limit(2);
+
+            assertThat(engine.processPipeline(testTasks, pipeline))
+                .extracting(Task::id)
+                .containsExactly(1L, 2L);
+            assertThat(evaluated.get()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should match the equivalent list-function pipeline")
+        void matchesFunctionPipeline() {
+            List<Function<List<Task>, List<Task>>> operations = List.of(
+                tasks -> tasks.stream().filter(t -> t.estimatedHours() > 2).toList(),
+                tasks -> tasks.stream().sorted(Comparator.comparing(Task::title).reversed()).toList()
+            );
+            TaskPipeline pipeline = TaskPipeline.start()
+                .filter(t -> t.estimatedHours() > 2)
+                .sort(Comparator.comparing(Task::title).reversed());
+
+            assertThat(engine.processPipeline(testTasks, pipeline))
+                .containsExactlyElementsOf(engine.processPipeline(testTasks, operations));
+            assertThat(testTasks).extracting(Task::id).containsExactly(1L, 2L, 3L);
+        }
     }
 
     @Nested
@@ -235,6 +303,20 @@ class TaskProcessingEngineTest {
                 .extracting(Task::status)
                 .containsOnly(Task.Status.IN_PROGRESS);
         }
+
+        @Test
+        @DisplayName("Should share unchanged tasks when transforming a TaskVector")
+        void transformVector() {
+            TaskVector tasks = TaskVector.of(testTasks);
+            TaskTransformer finishFirst = TaskTransformer.withStatus(Task.Status.DONE);
+
+            TaskVector transformed = engine.transformAll(tasks, t -> t.id() == 1L ? finishFirst.apply(t) : t);
+
+            assertThat(transformed.get(0).status()).isEqualTo(Task.Status.DONE);
+            assertThat(transformed.get(1)).isSameAs(tasks.get(1));
+            assertThat(tasks.get(0).status()).isEqualTo(Task.Status.TODO);
+            assertThat(engine.transformAll(tasks, UnaryOperator.identity())).isSameAs(tasks);
+        }
     }
 
     @Nested
@@ -259,6 +341,19 @@ class TaskProcessingEngineTest {
                 .containsExactlyInAnyOrder(1L, 3L);
         }
 
+        @Test
+        @DisplayName("Should filter and transform a TaskVector")
+        void filterAndTransformVector() {
+            TaskVector tasks = TaskVector.of(testTasks);
+
+            TaskVector result = engine.filterAndTransform(tasks,
+                TaskPredicate.byStatus(Task.Status.TODO), TaskTransformer.withPriority(Task.Priority.CRITICAL));
+
+            assertThat(result).extracting(Task::id).containsExactly(1L, 3L);
+            assertThat(result).extracting(Task::priority).containsOnly(Task.Priority.CRITICAL);
+            assertThat(engine.filterAndTransform(tasks, null, null)).isSameAs(tasks);
+        }
+
         @Test
         @DisplayName("Should process in batches")
         void batchProcess() {
@@ -316,6 +411,18 @@ class TaskProcessingEngineTest {
                 .containsExactly(1L, 3L, 2L);
         }
 
+        @Test
+        @DisplayName("Should sort by primitive sort keys")
+        void sortBySortKeys() {
+            List<Comparator<Task>> keys = List.of(SortKey.priority().reversed(), SortKey.dueDate(), SortKey.id());
+
+            List<Task> sorted = engine.sortByMultipleCriteria(testTasks, keys);
+
+            assertThat(sorted)
+                .extracting(Task::id)
+                .containsExactly(1L, 3L, 2L);
+        }
+
         @Test
         @DisplayName("Should handle single comparator")
         void sortBySingleCriterion() {
@@ -330,4 +437,254 @@ class TaskProcessingEngineTest {
                 .containsExactly("Task 1", "Task 2", "Task 3");
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Execution Modes")
+    class ExecutionModeTests {
+
+        private List<Task> manyTasks() {
+            Task.Priority[] priorities = Task.Priority.values();
+            Task.Status[] statuses = Task.Status.values();
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                tasks.add(new Task((long) i, "Task " + i, "Generated",
+                    priorities[i % priorities.length], statuses[i % statuses.length],
+                    Set.of(), LocalDateTime.now(), LocalDateTime.now().plusDays(i % 7), i % 9));
+            }
+            return tasks;
+        }
+
+        private void assertSameAsSequential(TaskProcessingEngine parallel) {
+            List<Task> tasks = manyTasks();
+            List<Comparator<Task>> comparators = List.of(
+                Comparator.comparing(Task::priority).reversed(),
+                Comparator.comparing(Task::dueDate));
+            TaskPredicate filter = TaskPredicate.byStatus(Task.Status.TODO);
+            TaskTransformer transformer = TaskTransformer.withPriority(Task.Priority.LOW);
+
+            assertThat(parallel.filterAndTransform(tasks, filter, transformer))
+                .containsExactlyElementsOf(engine.filterAndTransform(tasks, filter, transformer));
+            assertThat(parallel.transformAll(tasks, transformer::apply))
+                .containsExactlyElementsOf(engine.transformAll(tasks, transformer::apply));
+            assertThat(parallel.sortByMultipleCriteria(tasks, comparators))
+                .containsExactlyElementsOf(engine.sortByMultipleCriteria(tasks, comparators));
+        }
+
+        @Test
+        @DisplayName("Should keep encounter order on the common pool")
+        void commonPool() {
+            assertSameAsSequential(new TaskProcessingEngine(ExecutionMode.commonPool(0)));
+        }
+
+        @Test
+        @DisplayName("Should keep encounter order on a dedicated pool")
+        void dedicatedPool() {
+            ExecutionMode mode = ExecutionMode.forkJoin(4, 0);
+            try {
+                assertSameAsSequential(new TaskProcessingEngine(mode));
+            } finally {
+                mode.pool().shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Should stay sequential below the threshold")
+        void threshold() {
+            ExecutionMode mode = ExecutionMode.commonPool(100);
+
+            assertThat(mode.goesParallel(99)).isFalse();
+            assertThat(mode.goesParallel(100)).isTrue();
+            assertThat(ExecutionMode.sequential().goesParallel(Integer.MAX_VALUE)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Async Batch Processing")
+    class AsyncBatchTests {
+
+        private List<Task> manyTasks(int n) {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                tasks.add(new Task((long) i, "Task " + i, "Generated", Task.Priority.LOW,
+                    Task.Status.TODO, Set.of(), LocalDateTime.now(), null, 1));
+            }
+            return tasks;
+        }
+
+        @Test
+        @DisplayName("Should process every batch without exceeding the in-flight limit")
+        void boundedInFlight() {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            AtomicInteger processed = new AtomicInteger();
+            TaskProcessor processor = tasks -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                processed.addAndGet(tasks.size());
+                running.decrementAndGet();
+            };
+            var pool = java.util.concurrent.Executors.newFixedThreadPool(8);
+            try {
+                BatchCompletion done = engine.batchProcessAsync(manyTasks(100), 7, processor,
+                    BatchOptions.on(pool).withMaxInFlight(3)).join();
+
+                assertThat(done.batchCount()).isEqualTo(15);
+                assertThat(done.hasFailures()).isFalse();
+                assertThat(processed.get()).isEqualTo(100);
+                assertThat(peak.get()).isBetween(1, 3);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Should report per-batch failures and keep going")
+        void failures() {
+            AtomicInteger processed = new AtomicInteger();
+            TaskProcessor processor = tasks -> {
+                if (tasks.get(0).id() == 4L) throw new IllegalStateException("downstream down");
+                processed.addAndGet(tasks.size());
+            };
+
+            BatchCompletion done = engine.batchProcessAsync(manyTasks(10), 2, processor,
+                BatchOptions.virtualThreads()).join();
+
+            assertThat(done.finishedBatches()).isEqualTo(5);
+            assertThat(processed.get()).isEqualTo(8);
+            assertThat(done.failures())
+                .singleElement()
+                .satisfies(f -> {
+                    assertThat(f.batch()).isEqualTo(2);
+                    assertThat(f.fromIndex()).isEqualTo(4);
+                    assertThat(f.error()).hasMessage("downstream down");
+                });
+        }
+
+        @Test
+        @DisplayName("Should run one batch when the batch size exceeds the list")
+        void hugeBatchSize() {
+            AtomicInteger processed = new AtomicInteger();
+
+            BatchCompletion done = engine.batchProcessAsync(manyTasks(10), Integer.MAX_VALUE,
+                tasks -> processed.addAndGet(tasks.size()), BatchOptions.on(Runnable::run)).join();
+
+            assertThat(done.batchCount()).isEqualTo(1);
+            assertThat(processed.get()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Should record every batch an executor rejects without recursing")
+        void rejectingExecutor() {
+            BatchCompletion done = engine.batchProcessAsync(manyTasks(100_000), 1, tasks -> {},
+                BatchOptions.on(r -> {
+                    throw new java.util.concurrent.RejectedExecutionException("full");
+                })).join();
+
+            assertThat(done.batchCount()).isEqualTo(100_000);
+            assertThat(done.failures()).hasSize(100_000);
+        }
+
+        @Test
+        @DisplayName("Should run thousands of batches on a same-thread executor without deep recursion")
+        void directExecutor() {
+            AtomicInteger processed = new AtomicInteger();
+
+            BatchCompletion done = engine.batchProcessAsync(manyTasks(200_000), 1,
+                tasks -> processed.addAndGet(tasks.size()),
+                BatchOptions.on(Runnable::run).withMaxInFlight(4)).join();
+
+            assertThat(done.isDone()).isTrue();
+            assertThat(done.hasFailures()).isFalse();
+            assertThat(processed.get()).isEqualTo(200_000);
+        }
+
+        @Test
+        @DisplayName("Should stay iterative when a saturated pool runs batches on the caller")
+        void callerRunsPolicy() {
+            var pool = new java.util.concurrent.ThreadPoolExecutor(1, 1, 0, java.util.concurrent.TimeUnit.SECONDS,
+                new java.util.concurrent.SynchronousQueue<>(), new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+            try {
+                AtomicInteger processed = new AtomicInteger();
+
+                BatchCompletion done = engine.batchProcessAsync(manyTasks(50_000), 1,
+                    tasks -> processed.addAndGet(tasks.size()),
+                    BatchOptions.on(pool).withMaxInFlight(8)).join();
+
+                assertThat(done.hasFailures()).isFalse();
+                assertThat(processed.get()).isEqualTo(50_000);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Should let an Error end the run instead of recording it as a batch failure")
+        void errorPropagates() {
+            AssertionError boom = new AssertionError("broken invariant");
+
+            assertThatThrownBy(() -> engine.batchProcessAsync(manyTasks(10), 2, tasks -> {
+                throw boom;
+            }, BatchOptions.on(Runnable::run)))
+                .isSameAs(boom);
+        }
+
+        @Test
+        @DisplayName("Should complete immediately for invalid input")
+        void invalidInput() {
+            assertThat(engine.batchProcessAsync(null, 2, tasks -> {}, null).isDone()).isTrue();
+            assertThat(engine.batchProcessAsync(testTasks, 0, tasks -> {}, null).batchCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Should time each pipeline operation with its element counts")
+        void pipelineStages() {
+            MetricsRegistry metrics = MetricsRegistry.create();
+            TaskProcessingEngine instrumented = new TaskProcessingEngine(ExecutionMode.sequential(), metrics);
+
+            instrumented.processPipeline(testTasks, List.of(
+                tasks -> tasks.stream().filter(t -> t.priority() != Task.Priority.LOW).toList(),
+                tasks -> tasks.stream().limit(1).toList()));
+
+            MetricsSnapshot snapshot = metrics.snapshot();
+            assertThat(snapshot.stage("engine.processPipeline.op0").orElseThrow())
+                .satisfies(s -> {
+                    assertThat(s.elementsIn()).isEqualTo(testTasks.size());
+                    assertThat(s.elementsOut()).isEqualTo(testTasks.size() - 1);
+                });
+            assertThat(snapshot.stage("engine.processPipeline.op1").orElseThrow().elementsOut()).isEqualTo(1);
+            assertThat(snapshot.stage("engine.processPipeline").orElseThrow().calls()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should record one sample per batch")
+        void batchThroughput() {
+            MetricsRegistry metrics = MetricsRegistry.create();
+            TaskProcessingEngine instrumented = new TaskProcessingEngine(ExecutionMode.sequential(), metrics);
+
+            instrumented.batchProcess(testTasks, 2, tasks -> {});
+
+            MetricsSnapshot.StageSnapshot batches = metrics.snapshot().stage("engine.batchProcess.batch").orElseThrow();
+            assertThat(batches.calls()).isEqualTo((testTasks.size() + 1) / 2);
+            assertThat(batches.elementsIn()).isEqualTo(testTasks.size());
+            assertThat(batches.throughputPerSecond()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should record nothing by default")
+        void disabledByDefault() {
+            engine.transformAll(testTasks, UnaryOperator.identity());
+
+            assertThat(engine.getMetrics().isEnabled()).isFalse();
+            assertThat(engine.getMetrics().snapshot().stages()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaskRepositoryTest {
+
+    private static Task task(long id, int hours) {
+        return new Task(id, "Task " + id, "d", Task.Priority.MEDIUM, Task.Status.TODO,
+            Set.of("t"), LocalDateTime.now(), null, hours);
+    }
+
+    @Nested
+    @DisplayName("Writes")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Should add, update and remove with a new version each time")
+        void versions() {
+            TaskRepository repo = new TaskRepository(List.of(task(1, 2)));
+
+            assertThat(repo.add(task(2, 3))).isEqualTo(1);
+            assertThat(repo.update(1, TaskTransformer.withStatus(Task.Status.DONE)::apply)).isTrue();
+            assertThat(repo.removeById(2)).isTrue();
+
+            assertThat(repo.version()).isEqualTo(3);
+            assertThat(repo.snapshot().tasks()).singleElement()
+                .extracting(Task::status).isEqualTo(Task.Status.DONE);
+        }
+
+        @Test
+        @DisplayName("Should not publish a version when nothing changes")
+        void noOpWrites() {
+            TaskRepository repo = new TaskRepository(List.of(task(1, 2)));
+
+            assertThat(repo.update(9, t -> t)).isFalse();
+            assertThat(repo.removeIf(t -> t.estimatedHours() > 5)).isZero();
+            assertThat(repo.version()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshot Isolation")
+    class IsolationTests {
+
+        @Test
+        @DisplayName("Should keep an older snapshot unchanged while writes continue")
+        void isolation() {
+            TaskRepository repo = new TaskRepository(List.of(task(1, 2), task(2, 3)));
+            TaskRepository.Snapshot before = repo.snapshot();
+
+            repo.add(task(3, 4));
+            repo.removeById(1);
+
+            assertThat(before.tasks()).extracting(Task::id).containsExactly(1L, 2L);
+            assertThat(before.analyzer().getTotalEstimatedHours()).contains(5);
+            assertThat(repo.read(a -> a.getTotalEstimatedHours())).contains(7);
+            assertThatThrownBy(() -> before.tasks().add(task(9, 1)))
+                .isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        @DisplayName("Should give readers consistent versions while writers run")
+        void concurrentReadersAndWriters() throws Exception {
+            TaskRepository repo = new TaskRepository();
+            AtomicBoolean writing = new AtomicBoolean(true);
+            ExecutorService pool = Executors.newFixedThreadPool(6);
+            try {
+                List<Future<?>> writers = new ArrayList<>();
+                for (int w = 0; w < 2; w++) {
+                    long base = w * 1_000_000L;
+                    writers.add(pool.submit(() -> {
+                        for (int i = 0; i < 2_000; i++) repo.add(task(base + i, 1));
+                    }));
+                }
+                List<Future<Integer>> readers = new ArrayList<>();
+                for (int r = 0; r < 4; r++) {
+                    readers.add(pool.submit(() -> {
+                        int checks = 0;
+                        while (writing.get()) {
+                            TaskRepository.Snapshot s = repo.snapshot();
+                            // every task carries one hour, so the sum must equal the size of the version
+                            int total = s.analyzer().getTotalEstimatedHours().orElse(0);
+                            if (total != s.size() || s.size() != s.version()) throw new AssertionError("torn read");
+                            checks++;
+                        }
+                        return checks;
+                    }));
+                }
+                for (Future<?> w : writers) w.get(30, TimeUnit.SECONDS);
+                writing.set(false);
+                for (Future<Integer> r : readers) assertThat(r.get(30, TimeUnit.SECONDS)).isPositive();
+
+                assertThat(repo.snapshot().size()).isEqualTo(4_000);
+                assertThat(repo.version()).isEqualTo(4_000);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaskVectorTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private static Task task(long id) {
+        return new Task(id, "Task " + id, "d", Task.Priority.LOW, Task.Status.TODO, Set.of(), NOW, null, 1);
+    }
+
+    private static List<Task> tasks(int n) {
+        List<Task> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(task(i));
+        return out;
+    }
+
+    @Nested
+    @DisplayName("Building and Reading")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Should match a plain list across trie level boundaries")
+        void matchesList() {
+            for (int n : new int[]{0, 1, 31, 32, 33, 1024, 1056, 1057, 40_000}) {
+                List<Task> expected = tasks(n);
+                TaskVector built = TaskVector.of(expected);
+                TaskVector appended = TaskVector.empty();
+                for (Task t : expected) appended = appended.append(t);
+
+                assertThat(built).as("built %d", n).isEqualTo(expected);
+                assertThat(appended).as("appended %d", n).isEqualTo(expected);
+                assertThat(built.hashCode()).isEqualTo(expected.hashCode());
+                List<Task> visited = new ArrayList<>();
+                built.forEach(visited::add);
+                assertThat(visited).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject the java.util.List mutators")
+        void immutable() {
+            TaskVector v = TaskVector.of(tasks(3));
+
+            assertThatThrownBy(() -> v.add(task(9))).isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> v.set(0, task(9))).isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> v.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Versions")
+    class VersionTests {
+
+        @Test
+        @DisplayName("Should leave older versions untouched")
+        void persistence() {
+            List<Task> base = tasks(5_000);
+            TaskVector v1 = TaskVector.of(base);
+            TaskVector v2 = v1.with(17, task(-17)).with(4_999, task(-1)).append(task(5_000));
+
+            assertThat(v1).isEqualTo(base);
+            assertThat(v2).hasSize(5_001);
+            assertThat(v2.get(17).id()).isEqualTo(-17L);
+            assertThat(v2.get(4_999).id()).isEqualTo(-1L);
+            assertThat(v2.get(18)).isSameAs(v1.get(18));
+        }
+
+        @Test
+        @DisplayName("Should return the same vector when nothing changes")
+        void noOps() {
+            TaskVector v = TaskVector.of(tasks(100));
+
+            assertThat(v.map(UnaryOperator.identity())).isSameAs(v);
+            assertThat(v.filter(t -> true)).isSameAs(v);
+            assertThat(v.with(40, v.get(40))).isSameAs(v);
+        }
+
+        @Test
+        @DisplayName("Should map only the tasks that change")
+        void map() {
+            TaskVector v = TaskVector.of(tasks(2_000));
+
+            TaskVector mapped = v.map(t -> t.id() % 500 == 0 ? task(-t.id()) : t);
+
+            assertThat(mapped).hasSize(2_000);
+            assertThat(mapped.get(500).id()).isEqualTo(-500L);
+            assertThat(mapped.get(501)).isSameAs(v.get(501));
+            assertThat(v.get(500).id()).isEqualTo(500L);
+        }
+
+        @Test
+        @DisplayName("Should filter like a stream filter")
+        void filter() {
+            List<Task> base = tasks(3_000);
+            TaskVector v = TaskVector.of(base);
+
+            TaskVector odd = v.filter(t -> t.id() % 2 == 1);
+            TaskVector tailOnly = v.filter(t -> t.id() < 2_990);
+
+            assertThat(odd).isEqualTo(base.stream().filter(t -> t.id() % 2 == 1).toList());
+            assertThat(tailOnly).isEqualTo(base.subList(0, 2_990));
+            assertThat(v).isEqualTo(base);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package edu.trincoll.service;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.index.IndexedTaskList;
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingTaskAnalyzerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private static Task task(long i) {
+        Task.Status[] statuses = Task.Status.values();
+        return new Task(i, "Task " + i, "d", Task.Priority.values()[(int) (i % 4)], statuses[(int) (i % statuses.length)],
+            Set.of("t" + (i % 7)), NOW, NOW.plusDays(1), (int) (i % 5));
+    }
+
+    private static List<Task> tasks(int n) {
+        List<Task> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(task(i));
+        return out;
+    }
+
+    @Nested
+    @DisplayName("Caching")
+    class CachingTests {
+        private IndexedTaskList list;
+        private QueryCache cache;
+        private CachingTaskAnalyzer analyzer;
+
+        @BeforeEach
+        void setUp() {
+            list = new IndexedTaskList(tasks(500));
+            cache = QueryCache.create();
+            analyzer = CachingTaskAnalyzer.of(new IndexedTaskAnalyzer(list), cache);
+        }
+
+        @Test
+        @DisplayName("Should share one entry between equivalent predicates")
+        void canonicalKeys() {
+            List<Task> first = analyzer.filterTasks(TaskPredicate.byStatus(Task.Status.TODO).and(TaskPredicate.hasTag("t1")));
+            List<Task> second = analyzer.filterTasks(TaskPredicate.hasTag("t1").and(TaskPredicate.byStatus(Task.Status.TODO)));
+
+            assertThat(second).isSameAs(first);
+            assertThat(cache.stats().hits()).isEqualTo(1);
+            assertThat(cache.stats().misses()).isEqualTo(1);
+            assertThatThrownBy(() -> first.add(task(999))).isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        @DisplayName("Should invalidate when the data changes")
+        void invalidation() {
+            assertThat(analyzer.getTotalEstimatedHours()).contains(1_000);
+            assertThat(analyzer.getTotalEstimatedHours()).contains(1_000);
+
+            list.add(task(504));
+
+            assertThat(analyzer.getTotalEstimatedHours()).contains(1_004);
+            assertThat(cache.stats().invalidations()).isEqualTo(1);
+            assertThat(cache.stats().hitRate()).isEqualTo(1.0 / 3);
+        }
+
+        @Test
+        @DisplayName("Should bypass opaque and clock-dependent queries")
+        void bypass() {
+            analyzer.filterTasks(t -> t.id() % 2 == 0);
+            analyzer.filterTasks(TaskPredicate.isOverdue().and(TaskPredicate.hasTag("t2")));
+            analyzer.hasOverdueTasks();
+
+            assertThat(cache.stats().bypassed()).isEqualTo(3);
+            assertThat(cache.stats().size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction")
+    class EvictionTests {
+
+        private double hitRate(QueryCacheOptions.Policy policy) {
+            QueryCache cache = new QueryCache(QueryCacheOptions.defaults().withMaxEntries(100).withPolicy(policy));
+            CachingTaskAnalyzer analyzer = new CachingTaskAnalyzer(new TaskAnalyzer(tasks(50)), cache, () -> 0);
+            Random random = new Random(3);
+            int oneOff = 1_000;
+            for (int q = 0; q < 30_000; q++) {
+                // a hot set of 150 queries, skewed towards the first, mixed with one-off scans
+                int limit = random.nextInt(3) == 0 ? oneOff++ : (int) Math.min(149, Math.abs(random.nextGaussian()) * 50);
+                analyzer.getTopPriorityTasks(limit);
+            }
+            assertThat(cache.stats().size()).isLessThanOrEqualTo(100);
+            return cache.stats().hitRate();
+        }
+
+        @Test
+        @DisplayName("Should keep frequent queries through a scan with TinyLFU")
+        void tinyLfuResistsScans() {
+            assertThat(hitRate(QueryCacheOptions.Policy.TINY_LFU)).isGreaterThan(hitRate(QueryCacheOptions.Policy.LRU));
+        }
+
+        @Test
+        @DisplayName("Should stay within the weight bound")
+        void weightBound() {
+            QueryCache cache = new QueryCache(QueryCacheOptions.defaults().withMaxWeight(120));
+            CachingTaskAnalyzer analyzer = new CachingTaskAnalyzer(new TaskAnalyzer(tasks(500)), cache, () -> 0);
+
+            for (int limit = 30; limit < 60; limit++) analyzer.getTopPriorityTasks(limit);
+            analyzer.getTaskTitles();
+
+            assertThat(cache.stats().weight()).isLessThanOrEqualTo(120);
+            assertThat(cache.stats().evictions()).isPositive();
+        }
+    }
+}
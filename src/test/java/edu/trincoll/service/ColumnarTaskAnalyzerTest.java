@@ -0,0 +1,96 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Task;
+import edu.trincoll.store.ColumnKernels;
+import edu.trincoll.store.TaskStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarTaskAnalyzerTest {
+    private List<Task> tasks;
+    private TaskStore store;
+    private TaskAnalyzer plain;
+    private ColumnarTaskAnalyzer columnar;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(21);
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            tasks.add(new Task(
+                random.nextInt(20) == 0 ? null : (long) i,
+                "Task " + i, "Generated",
+                Task.Priority.values()[random.nextInt(4)],
+                Task.Status.values()[random.nextInt(5)],
+                random.nextInt(15) == 0 ? null : Set.of("area" + random.nextInt(12), "team" + random.nextInt(4)),
+                LocalDateTime.now().minusMinutes(random.nextInt(10_000)),
+                random.nextInt(6) == 0 ? null : LocalDateTime.now().plusMinutes(random.nextInt(4_000) - 2_000),
+                random.nextInt(6) == 0 ? null : random.nextInt(12)));
+        }
+        store = new TaskStore(tasks);
+        plain = new TaskAnalyzer(tasks);
+        columnar = new ColumnarTaskAnalyzer(store);
+    }
+
+    @Test
+    @DisplayName("Should round-trip tasks through the columns")
+    void roundTrip() {
+        assertThat(store).containsExactlyElementsOf(tasks);
+        assertThat(store.hoursColumn()[0]).isEqualTo(
+            tasks.get(0).estimatedHours() == null ? TaskStore.NULL_HOURS : tasks.get(0).estimatedHours());
+        assertThatThrownBy(() -> store.add(0, tasks.get(0)))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should aggregate over columns exactly like the list analyzer")
+    void aggregates() {
+        assertThat(columnar.getTotalEstimatedHours()).isEqualTo(plain.getTotalEstimatedHours());
+        assertThat(columnar.getAverageEstimatedHours()).isEqualTo(plain.getAverageEstimatedHours());
+        assertThat(columnar.countTasksByPriority()).isEqualTo(plain.countTasksByPriority());
+        assertThat(columnar.hasOverdueTasks()).isEqualTo(plain.hasOverdueTasks());
+        assertThat(columnar.areAllTasksAssigned()).isEqualTo(plain.areAllTasksAssigned());
+        assertThat(columnar.countTasksByStatus())
+            .containsAllEntriesOf(Map.of(Task.Status.TODO, (long) plain.groupByStatus().get(Task.Status.TODO).size()));
+    }
+
+    @Test
+    @DisplayName("Should aggregate the same with scalar kernels")
+    void scalarKernels() {
+        ColumnarTaskAnalyzer scalar = new ColumnarTaskAnalyzer(store, Clock.systemDefaultZone(), ColumnKernels.scalar());
+
+        assertThat(scalar.getTotalEstimatedHours()).isEqualTo(plain.getTotalEstimatedHours());
+        assertThat(scalar.getAverageEstimatedHours()).isEqualTo(plain.getAverageEstimatedHours());
+        assertThat(scalar.countTasksByPriority()).isEqualTo(plain.countTasksByPriority());
+        assertThat(scalar.countTasksByStatus()).isEqualTo(columnar.countTasksByStatus());
+    }
+
+    @Test
+    @DisplayName("Should answer lookups and tag listings from columns")
+    void lookups() {
+        assertThat(columnar.findTaskById(42L)).isEqualTo(plain.findTaskById(42L));
+        assertThat(columnar.findTaskById(null)).isEqualTo(plain.findTaskById(null));
+        assertThat(columnar.findTaskById(9_999L)).isEmpty();
+        assertThat(columnar.getTaskTitles()).containsExactlyElementsOf(plain.getTaskTitles());
+        assertThat(columnar.getAllUniqueTags()).containsExactlyElementsOf(plain.getAllUniqueTags());
+        assertThat(columnar.getAllTagsSorted()).containsExactlyElementsOf(plain.getAllTagsSorted());
+    }
+
+    @Test
+    @DisplayName("Should handle an empty store")
+    void emptyStore() {
+        ColumnarTaskAnalyzer empty = new ColumnarTaskAnalyzer(new TaskStore());
+
+        assertThat(empty.getTotalEstimatedHours()).isEmpty();
+        assertThat(empty.getAverageEstimatedHours()).isEmpty();
+        assertThat(empty.countTasksByPriority()).isEmpty();
+        assertThat(empty.hasOverdueTasks()).isFalse();
+    }
+}
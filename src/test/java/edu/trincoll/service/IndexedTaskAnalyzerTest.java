@@ -0,0 +1,419 @@
+package edu.trincoll.service;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.index.IndexedTaskList;
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IndexedTaskAnalyzerTest {
+    private IndexedTaskList tasks;
+    private IndexedTaskAnalyzer analyzer;
+
+    @BeforeEach
+    void setUp() {
+        tasks = new IndexedTaskList(List.of(
+            task(1L, "Write unit tests", Task.Priority.HIGH, Task.Status.IN_PROGRESS, 8, "testing", "development"),
+            task(2L, "Code review", Task.Priority.MEDIUM, Task.Status.TODO, 3, "review", "development"),
+            task(3L, "Deploy to production", Task.Priority.CRITICAL, Task.Status.TODO, 5, "deployment"),
+            task(4L, "Update documentation", Task.Priority.LOW, Task.Status.DONE, null, "documentation")
+        ));
+        analyzer = new IndexedTaskAnalyzer(tasks);
+    }
+
+    private static Task task(Long id, String title, Task.Priority priority, Task.Status status,
+                             Integer hours, String... tags) {
+        return new Task(id, title, title, priority, status, Set.of(tags),
+            LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), hours);
+    }
+
+    @Nested
+    @DisplayName("Index Lookups")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should find task by ID through the index")
+        void findTaskById() {
+            assertThat(analyzer.findTaskById(3L))
+                .isPresent()
+                .get()
+                .extracting(Task::title)
+                .isEqualTo("Deploy to production");
+            assertThat(analyzer.findTaskById(999L)).isEmpty();
+            assertThat(analyzer.getTaskSummary(2L)).isEqualTo("Code review - TODO");
+        }
+
+        @Test
+        @DisplayName("Should answer secondary index lookups in list order")
+        void secondaryIndexes() {
+            assertThat(analyzer.findByStatus(Task.Status.TODO))
+                .extracting(Task::id)
+                .containsExactly(2L, 3L);
+            assertThat(analyzer.findByPriority(Task.Priority.LOW))
+                .extracting(Task::id)
+                .containsExactly(4L);
+            assertThat(analyzer.findByTag("development"))
+                .extracting(Task::id)
+                .containsExactly(1L, 2L);
+            assertThat(analyzer.findByTag("missing")).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Live Backing List")
+    class MutationTests {
+
+        @Test
+        @DisplayName("Should see tasks added and removed after construction")
+        void addAndRemove() {
+            tasks.add(task(5L, "Fix bug", Task.Priority.CRITICAL, Task.Status.TODO, 2, "bug"));
+            tasks.remove(0);
+
+            assertThat(analyzer.findTaskById(5L)).isPresent();
+            assertThat(analyzer.findTaskById(1L)).isEmpty();
+            assertThat(analyzer.findByTag("development"))
+                .extracting(Task::id)
+                .containsExactly(2L);
+            assertThat(analyzer.findByStatus(Task.Status.TODO))
+                .extracting(Task::id)
+                .containsExactly(2L, 3L, 5L);
+        }
+
+        @Test
+        @DisplayName("Should replace in place without a rebuild")
+        void replaceInPlace() {
+            tasks.set(3, task(4L, "Update documentation", Task.Priority.LOW, Task.Status.TODO, null, "development"));
+
+            assertThat(tasks.index().isOrdered()).isTrue();
+            assertThat(analyzer.findByStatus(Task.Status.TODO))
+                .extracting(Task::id)
+                .containsExactly(2L, 3L, 4L);
+            assertThat(analyzer.filterWithCustomPredicate(TaskPredicate.hasTag("development")))
+                .extracting(Task::id)
+                .containsExactly(1L, 2L, 4L);
+
+            tasks.set(0, task(1L, "Write unit tests", Task.Priority.HIGH, Task.Status.TODO, 8, "development"));
+
+            assertThat(analyzer.findByStatus(Task.Status.TODO))
+                .extracting(Task::id)
+                .containsExactly(1L, 2L, 3L, 4L);
+            assertThat(analyzer.findByTag("development"))
+                .extracting(Task::id)
+                .containsExactly(1L, 2L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should keep list order after replace and mid-list insert")
+        void replaceAndInsert() {
+            tasks.set(2, task(3L, "Deploy to production", Task.Priority.CRITICAL, Task.Status.DONE, 5));
+            tasks.add(0, task(6L, "Plan sprint", Task.Priority.LOW, Task.Status.DONE, 1));
+
+            assertThat(analyzer.findByStatus(Task.Status.DONE))
+                .extracting(Task::id)
+                .containsExactly(6L, 3L, 4L);
+            assertThat(analyzer.findByStatus(Task.Status.TODO))
+                .extracting(Task::id)
+                .containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Should keep equal tasks at their own list positions")
+        void duplicateRecords() {
+            Task a = task(7L, "Triage", Task.Priority.HIGH, Task.Status.BLOCKED, 1, "ops");
+            Task b = task(8L, "Escalate", Task.Priority.HIGH, Task.Status.BLOCKED, 2, "ops");
+            tasks.clear();
+            tasks.addAll(List.of(a, b, a));
+
+            assertThat(analyzer.findByStatus(Task.Status.BLOCKED)).containsExactly(a, b, a);
+            assertThat(analyzer.filterWithCustomPredicate(TaskPredicate.byPriority(Task.Priority.HIGH)))
+                .containsExactly(a, b, a);
+
+            tasks.remove(0);
+
+            assertThat(analyzer.findByStatus(Task.Status.BLOCKED)).containsExactly(b, a);
+            assertThat(analyzer.filterWithCustomPredicate(TaskPredicate.byStatus(Task.Status.BLOCKED)
+                .or(TaskPredicate.byPriority(Task.Priority.HIGH)))).containsExactly(b, a);
+        }
+
+        @Test
+        @DisplayName("Should stop listening to the list once closed")
+        void close() {
+            IndexedTaskAnalyzer second = new IndexedTaskAnalyzer(tasks);
+            second.close();
+            tasks.add(task(9L, "Late", Task.Priority.LOW, Task.Status.TODO, 4));
+
+            assertThat(analyzer.getTotalEstimatedHours()).contains(20);
+            assertThat(second.getTotalEstimatedHours()).contains(16);
+            assertThat(tasks.removeListener(tasks.index())).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should agree with the plain analyzer after mutations")
+        void matchesScan() {
+            tasks.removeIf(t -> t.priority() == Task.Priority.MEDIUM);
+            TaskAnalyzer plain = new TaskAnalyzer(new ArrayList<>(tasks));
+
+            for (long id = 0; id <= 5; id++) {
+                assertThat(analyzer.findTaskById(id)).isEqualTo(plain.findTaskById(id));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Aggregates")
+    class AggregateTests {
+
+        private void assertMatchesScan() {
+            TaskAnalyzer plain = new TaskAnalyzer(new ArrayList<>(tasks));
+
+            assertThat(analyzer.getTotalEstimatedHours()).isEqualTo(plain.getTotalEstimatedHours());
+            assertThat(analyzer.getAverageEstimatedHours()).isEqualTo(plain.getAverageEstimatedHours());
+            assertThat(analyzer.countTasksByPriority()).isEqualTo(plain.countTasksByPriority());
+            assertThat(analyzer.groupByStatus()).isEqualTo(plain.groupByStatus());
+            assertThat(analyzer.hasOverdueTasks()).isEqualTo(plain.hasOverdueTasks());
+        }
+
+        @Test
+        @DisplayName("Should match stream results on the initial list")
+        void initialAggregates() {
+            assertThat(analyzer.getTotalEstimatedHours()).hasValue(16);
+            assertThat(analyzer.getAverageEstimatedHours()).hasValue(16 / 3.0);
+            assertMatchesScan();
+        }
+
+        @Test
+        @DisplayName("Should track add, remove and replace")
+        void mutations() {
+            tasks.add(new Task(7L, "Late", "Late", Task.Priority.HIGH, Task.Status.TODO,
+                Set.of(), LocalDateTime.now().minusDays(3), LocalDateTime.now().minusDays(1), 4));
+            assertThat(analyzer.hasOverdueTasks()).isTrue();
+            assertMatchesScan();
+
+            tasks.set(4, TaskTransformer.withStatus(Task.Status.DONE).apply(tasks.get(4)));
+            assertThat(analyzer.hasOverdueTasks()).isFalse();
+            assertMatchesScan();
+
+            tasks.remove(1);
+            assertMatchesScan();
+        }
+
+        @Test
+        @DisplayName("Should fail like the stream collectors on null priority or status")
+        void nullKeys() {
+            tasks.add(new Task(8L, "Unsorted", "Unsorted", null, null, Set.of(), LocalDateTime.now(), null, 2));
+
+            assertThatThrownBy(analyzer::countTasksByPriority)
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("element cannot be mapped to a null key");
+            assertThatThrownBy(analyzer::groupByStatus)
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("element cannot be mapped to a null key");
+
+            tasks.remove(tasks.size() - 1);
+            assertMatchesScan();
+        }
+
+        @Test
+        @DisplayName("Should return a fresh, caller-owned status grouping")
+        void groupByStatusCopy() {
+            Map<Task.Status, List<Task>> first = analyzer.groupByStatus();
+            first.clear();
+
+            assertThat(analyzer.groupByStatus()).isNotSameAs(first).isEqualTo(new TaskAnalyzer(new ArrayList<>(tasks)).groupByStatus());
+        }
+
+        @Test
+        @DisplayName("Should report empty aggregates for an empty list")
+        void emptyList() {
+            tasks.clear();
+
+            assertThat(analyzer.getTotalEstimatedHours()).isEmpty();
+            assertThat(analyzer.getAverageEstimatedHours()).isEmpty();
+            assertThat(analyzer.countTasksByPriority()).isEmpty();
+            assertThat(analyzer.groupByStatus()).isEmpty();
+            assertThat(analyzer.hasOverdueTasks()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Planner")
+    class PlannerTests {
+
+        @BeforeEach
+        void addBulk() {
+            for (long id = 10; id < 40; id++) {
+                tasks.add(task(id, "Bulk " + id, Task.Priority.MEDIUM, Task.Status.TODO, 1, "bulk"));
+            }
+        }
+
+        @Test
+        @DisplayName("Should drive a conjunction from its most selective index")
+        void conjunction() {
+            TaskPredicate predicate = TaskPredicate.isActive().and(TaskPredicate.byPriority(Task.Priority.HIGH));
+
+            QueryPlan plan = analyzer.explain(predicate);
+
+            assertThat(plan.kind()).isEqualTo(QueryPlan.Kind.INDEX_SCAN);
+            assertThat(plan.explain())
+                .isEqualTo("IndexScan[priority in [HIGH]] rows~1 -> Filter status in [TODO, IN_PROGRESS]");
+            assertThat(analyzer.filterWithCustomPredicate(predicate))
+                .extracting(Task::id)
+                .containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Should union posting lists in list order")
+        void disjunction() {
+            TaskPredicate predicate = TaskPredicate.hasTag("documentation")
+                .or(TaskPredicate.byPriority(Task.Priority.CRITICAL))
+                .or(TaskPredicate.hasTag("testing"));
+
+            assertThat(analyzer.explain(predicate).explain()).doesNotContain("Filter");
+            assertThat(analyzer.filterTasks(predicate))
+                .extracting(Task::id)
+                .containsExactly(1L, 3L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should fall back to a scan for unselective or opaque filters")
+        void fullScan() {
+            assertThat(analyzer.explain(TaskPredicate.byStatus(Task.Status.TODO)).kind())
+                .isEqualTo(QueryPlan.Kind.FULL_SCAN);
+            assertThat(analyzer.explain(TaskPredicate.isOverdue()).kind())
+                .isEqualTo(QueryPlan.Kind.FULL_SCAN);
+            assertThat(analyzer.filterTasks(t -> t.id() == 3L))
+                .extracting(Task::id)
+                .containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("Should plan contradictions as empty")
+        void contradiction() {
+            TaskPredicate predicate = TaskPredicate.byStatus(Task.Status.DONE).and(TaskPredicate.isActive());
+
+            assertThat(analyzer.explain(predicate).kind()).isEqualTo(QueryPlan.Kind.EMPTY);
+            assertThat(analyzer.filterWithCustomPredicate(predicate)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Tag Bitmaps")
+    class TagBitmapTests {
+
+        @Test
+        @DisplayName("Should list tags from the dictionary like the scan does")
+        void tagListings() {
+            tasks.add(task(5L, "Fix bug", Task.Priority.CRITICAL, Task.Status.TODO, 2, "bug", "review"));
+            tasks.remove(1);
+            TaskAnalyzer plain = new TaskAnalyzer(new ArrayList<>(tasks));
+
+            assertThat(analyzer.getAllUniqueTags()).containsExactlyElementsOf(plain.getAllUniqueTags());
+            assertThat(analyzer.getAllTagsSorted()).containsExactlyElementsOf(plain.getAllTagsSorted());
+        }
+
+        @Test
+        @DisplayName("Should drop the removed occurrence of a repeated task from the bitmaps")
+        void duplicateRemoval() {
+            Task a = task(7L, "Triage", Task.Priority.HIGH, Task.Status.BLOCKED, 1, "ops");
+            Task b = task(8L, "Escalate", Task.Priority.HIGH, Task.Status.BLOCKED, 2, "ops");
+            tasks.clear();
+            tasks.addAll(List.of(a, b, a));
+
+            tasks.remove(0);
+
+            assertThat(analyzer.explain(TaskPredicate.hasTag("ops")).kind()).isEqualTo(QueryPlan.Kind.BITMAP_SCAN);
+            assertThat(analyzer.filterWithCustomPredicate(TaskPredicate.hasTag("ops"))).containsExactly(b, a);
+        }
+
+        @Test
+        @DisplayName("Should answer tag-only queries with bitmap operations")
+        void tagQueries() {
+            TaskPredicate predicate = TaskPredicate.hasTag("development")
+                .and(TaskPredicate.hasTag("testing").negate())
+                .or(TaskPredicate.hasTag("documentation"));
+
+            assertThat(analyzer.explain(predicate).kind()).isEqualTo(QueryPlan.Kind.BITMAP_SCAN);
+            assertThat(analyzer.filterWithCustomPredicate(predicate))
+                .extracting(Task::id)
+                .containsExactly(2L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should intersect tag bitmaps and filter the remaining terms")
+        void mixedQuery() {
+            TaskPredicate predicate = TaskPredicate.hasTag("development")
+                .and(TaskPredicate.hasTag("review").negate())
+                .and(TaskPredicate.byPriority(Task.Priority.HIGH));
+
+            assertThat(analyzer.explain(predicate).explain())
+                .isEqualTo("BitmapScan[tag = development and not tag = review] rows=1 -> Filter priority in [HIGH]");
+            assertThat(analyzer.filterWithCustomPredicate(predicate))
+                .extracting(Task::id)
+                .containsExactly(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Clock-Injected Overdue")
+    class OverdueTests {
+        private final LocalDateTime start = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+        private Task due(long id, Task.Status status, LocalDateTime dueDate) {
+            return new Task(id, "Task " + id, "Due", Task.Priority.MEDIUM, status,
+                Set.of(), start.minusDays(1), dueDate, 1);
+        }
+
+        private Clock at(LocalDateTime time) {
+            return Clock.fixed(time.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        }
+
+        @Test
+        @DisplayName("Should evaluate overdue against the injected clock")
+        void injectedClock() {
+            IndexedTaskList list = new IndexedTaskList(List.of(
+                due(1L, Task.Status.TODO, start.minusHours(1)),
+                due(2L, Task.Status.DONE, start.minusHours(2)),
+                due(3L, Task.Status.IN_PROGRESS, start.plusHours(1)),
+                due(4L, Task.Status.BLOCKED, start.plusHours(3)),
+                due(5L, Task.Status.TODO, null)));
+
+            IndexedTaskAnalyzer before = new IndexedTaskAnalyzer(list, at(start));
+            assertThat(before.partitionByOverdue().get(true)).extracting(Task::id).containsExactly(1L);
+            assertThat(before.partitionByOverdue().get(false)).extracting(Task::id).containsExactly(2L, 3L, 4L, 5L);
+
+            IndexedTaskAnalyzer later = new IndexedTaskAnalyzer(list, at(start.plusHours(2)));
+            assertThat(later.countOverdueTasks()).isEqualTo(2);
+            assertThat(later.filterWithCustomPredicate(TaskPredicate.isOverdue()))
+                .extracting(Task::id)
+                .containsExactly(1L, 3L);
+            assertThat(new TaskAnalyzer(list, at(start.plusHours(2))).partitionByOverdue())
+                .isEqualTo(later.partitionByOverdue());
+        }
+
+        @Test
+        @DisplayName("Should keep the overdue count current as time and tasks change")
+        void incrementalCount() {
+            IndexedTaskList list = new IndexedTaskList();
+            for (int i = 0; i < 10; i++) list.add(due(i, Task.Status.TODO, start.plusMinutes(i * 10L)));
+
+            assertThat(new IndexedTaskAnalyzer(list, at(start.plusMinutes(35))).countOverdueTasks()).isEqualTo(4);
+            assertThat(new IndexedTaskAnalyzer(list, at(start.plusMinutes(95))).countOverdueTasks()).isEqualTo(10);
+
+            list.set(9, due(9L, Task.Status.DONE, start.plusMinutes(90)));
+            list.remove(0);
+            IndexedTaskAnalyzer rewound = new IndexedTaskAnalyzer(list, at(start.plusMinutes(15)));
+            assertThat(rewound.countOverdueTasks()).isEqualTo(1);
+            assertThat(rewound.hasOverdueTasks()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package edu.trincoll.service;
+
+import edu.trincoll.index.IndexedTaskList;
+import edu.trincoll.metrics.MetricsRegistry;
+import edu.trincoll.metrics.MetricsSnapshot;
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InstrumentedTaskAnalyzerTest {
+
+    private static List<Task> tasks() {
+        LocalDateTime now = LocalDateTime.now();
+        return List.of(
+            new Task(1L, "Write tests", "Unit tests", Task.Priority.HIGH, Task.Status.TODO,
+                Set.of("testing"), now, now.plusDays(1), 3),
+            new Task(2L, "Review", "Pull requests", Task.Priority.LOW, Task.Status.DONE,
+                Set.of("review"), now, now.minusDays(1), 1),
+            new Task(3L, "Deploy", "Release", Task.Priority.CRITICAL, Task.Status.IN_PROGRESS,
+                Set.of("ops", "testing"), now, null, null));
+    }
+
+    @Test
+    @DisplayName("Should return the delegate's answers and time each query")
+    void delegatesAndRecords() {
+        MetricsRegistry metrics = MetricsRegistry.create();
+        TaskAnalyzer plain = new TaskAnalyzer(tasks());
+        TaskAnalyzer analyzer = new InstrumentedTaskAnalyzer(
+            new IndexedTaskAnalyzer(new IndexedTaskList(tasks())), metrics);
+
+        assertThat(analyzer.filterTasks(t -> t.priority() != Task.Priority.LOW))
+            .isEqualTo(plain.filterTasks(t -> t.priority() != Task.Priority.LOW));
+        assertThat(analyzer.getAllTagsSorted()).isEqualTo(plain.getAllTagsSorted());
+        assertThat(analyzer.findTaskById(3L)).isEqualTo(plain.findTaskById(3L));
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.stage("analyzer.filterTasks").orElseThrow())
+            .satisfies(s -> {
+                assertThat(s.calls()).isEqualTo(1);
+                assertThat(s.elementsIn()).isEqualTo(3);
+                assertThat(s.elementsOut()).isEqualTo(2);
+            });
+        assertThat(snapshot.stage("analyzer.getAllTagsSorted").orElseThrow().elementsOut()).isEqualTo(4);
+        assertThat(snapshot.stage("analyzer.findTaskById").orElseThrow().elementsOut()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should only register stages when metrics are enabled")
+    void disabledRegistry() {
+        TaskAnalyzer analyzer = new InstrumentedTaskAnalyzer(new TaskAnalyzer(tasks()), MetricsRegistry.disabled());
+
+        assertThat(analyzer.hasOverdueTasks()).isTrue();
+        assertThat(MetricsRegistry.disabled().snapshot().stages()).isEmpty();
+    }
+}
@@ -0,0 +1,121 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaskViewTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private static List<Task> tasks(int n) {
+        Task.Status[] statuses = Task.Status.values();
+        List<Task> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            out.add(new Task((long) i, "Task " + i, "d", Task.Priority.LOW, statuses[i % statuses.length],
+                Set.of(), NOW, null, 1));
+        }
+        return out;
+    }
+
+    @Nested
+    @DisplayName("Unfiltered Views")
+    class SizedTests {
+
+        @Test
+        @DisplayName("Should report exact sizes and SIZED/SUBSIZED spliterators")
+        void sized() {
+            TaskView<String> titles = new TaskAnalyzer(tasks(1_000)).viewTaskTitles().skip(100).limit(50);
+
+            assertThat(titles.isSized()).isTrue();
+            assertThat(titles.estimateSize()).isEqualTo(50);
+            Spliterator<String> split = titles.spliterator();
+            assertThat(split.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+            Spliterator<String> prefix = split.trySplit();
+            assertThat(prefix.estimateSize() + split.estimateSize()).isEqualTo(50);
+            assertThat(titles.toList()).first().isEqualTo("Task 100");
+        }
+
+        @Test
+        @DisplayName("Should clamp huge skip and limit counts instead of overflowing")
+        void hugeCounts() {
+            List<Task> source = tasks(20);
+
+            TaskView<Task> tail = TaskView.of(source).skip(10).limit(Long.MAX_VALUE);
+            assertThat(tail.estimateSize()).isEqualTo(10);
+            assertThat(tail.count()).isEqualTo(10);
+            assertThat(tail.toList()).extracting(Task::id).startsWith(10L).hasSize(10);
+
+            TaskView<Task> none = TaskView.of(source).skip(5).skip(Long.MAX_VALUE);
+            assertThat(none.estimateSize()).isZero();
+            assertThat(none.toList()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should materialize only when asked")
+        void lazy() {
+            List<Task> source = new ArrayList<>(tasks(10));
+            TaskView<Task> view = TaskView.of(source).limit(3);
+
+            source.set(0, tasks(20).get(19));
+
+            assertThat(view.toList()).extracting(Task::id).containsExactly(19L, 1L, 2L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Filtered Views")
+    class FilteredTests {
+
+        @Test
+        @DisplayName("Should page through a filtered view with cursors")
+        void paging() {
+            TaskAnalyzer analyzer = new TaskAnalyzer(tasks(1_000));
+            TaskView<Task> todo = analyzer.viewByStatus(Task.Status.TODO);
+
+            List<Long> seen = new ArrayList<>();
+            TaskView.Page<Task> page = todo.firstPage(50);
+            int pages = 1;
+            while (true) {
+                page.items().forEach(t -> seen.add(t.id()));
+                if (!page.hasNext()) break;
+                page = todo.page(page.next(), 50);
+                pages++;
+            }
+
+            assertThat(pages).isEqualTo(4);
+            assertThat(seen).isEqualTo(analyzer.groupByStatus().get(Task.Status.TODO).stream().map(Task::id).toList());
+        }
+
+        @Test
+        @DisplayName("Should apply skip and limit to matches")
+        void skipLimit() {
+            TaskView<Task> view = new TaskAnalyzer(tasks(1_000)).viewByStatus(Task.Status.DONE).skip(10).limit(25);
+
+            assertThat(view.isSized()).isFalse();
+            assertThat(view.count()).isEqualTo(25);
+            assertThat(view.toList()).extracting(Task::id).startsWith(53L, 58L).hasSize(25);
+            assertThat(view.firstPage(20).items()).extracting(Task::id).startsWith(53L);
+            TaskView.Page<Task> second = view.page(view.firstPage(20).next(), 20);
+            assertThat(second.items()).hasSize(5);
+            assertThat(second.hasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should estimate sizes and split evenly in parallel")
+        void parallel() {
+            List<Task> source = tasks(100_000);
+            TaskView<Task> done = new TaskAnalyzer(source).viewByStatus(Task.Status.DONE);
+
+            assertThat(done.estimateSize()).isBetween(19_000L, 21_000L);
+            assertThat(done.parallelStream().map(Task::id).collect(Collectors.toList()))
+                .isEqualTo(done.stream().map(Task::id).toList());
+        }
+    }
+}
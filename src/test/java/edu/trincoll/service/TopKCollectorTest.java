@@ -0,0 +1,67 @@
+package edu.trincoll.service;
+
+import edu.trincoll.index.IndexedTaskList;
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TopKCollectorTest {
+    private static final Comparator<Task> BY_WEIGHT_DESC =
+        Comparator.comparingInt((Task t) -> t.priority().getWeight()).reversed();
+
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        Task.Priority[] priorities = Task.Priority.values();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            tasks.add(new Task((long) i, "Task " + i, "Generated",
+                priorities[random.nextInt(priorities.length)], Task.Status.TODO,
+                Set.of(), LocalDateTime.now(), LocalDateTime.now().plusHours(random.nextInt(500)),
+                random.nextInt(10)));
+        }
+    }
+
+    private List<Task> sortedLimit(Comparator<Task> order, int k) {
+        return tasks.stream().sorted(order).limit(k).toList();
+    }
+
+    @Test
+    @DisplayName("Should match a stable sort and limit, sequential and parallel")
+    void matchesSortAndLimit() {
+        Comparator<Task> byDue = Comparator.comparing(Task::dueDate);
+        for (int k : new int[] {0, 1, 20, 500, 5_000}) {
+            assertThat(tasks.stream().collect(TopKCollector.topK(k, byDue)))
+                .containsExactlyElementsOf(sortedLimit(byDue, k));
+            assertThat(tasks.parallelStream().collect(TopKCollector.byPriority(k)))
+                .containsExactlyElementsOf(sortedLimit(BY_WEIGHT_DESC, k));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep encounter order among equal priorities in the bucket path")
+    void bucketPath() {
+        for (int k : new int[] {0, 1, 20, 500, 5_000}) {
+            assertThat(TopKCollector.topByPriority(tasks, k))
+                .containsExactlyElementsOf(sortedLimit(BY_WEIGHT_DESC, k));
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve top priority tasks from the priority index")
+    void indexedAnalyzer() {
+        IndexedTaskAnalyzer indexed = new IndexedTaskAnalyzer(new IndexedTaskList(tasks));
+
+        assertThat(indexed.getTopPriorityTasks(50))
+            .containsExactlyElementsOf(sortedLimit(BY_WEIGHT_DESC, 50));
+        assertThat(indexed.getTopPriorityTasks(-1)).isEmpty();
+    }
+}
@@ -0,0 +1,186 @@
+package edu.trincoll.shard;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.model.Task;
+import edu.trincoll.service.TaskAnalyzer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ShardedTaskAnalyzerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 9, 0);
+    private static final Clock CLOCK = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    // duplicate and null ids, null tags, hours and due dates, overdue and not
+    private static List<Task> tasks(int n) {
+        Random random = new Random(7);
+        String[] tags = {"a", "b", "c", "d", "e"};
+        Task.Status[] statuses = Task.Status.values();
+        List<Task> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Set<String> taskTags = null;
+            if (i % 9 != 0) {
+                taskTags = new LinkedHashSet<>();
+                for (int k = random.nextInt(4); k > 0; k--) taskTags.add(tags[random.nextInt(tags.length)]);
+            }
+            out.add(new Task(i % 17 == 0 ? null : (long) random.nextInt(n * 3 / 4), "Task " + i, "d",
+                    Task.Priority.values()[random.nextInt(4)], statuses[random.nextInt(statuses.length)], taskTags,
+                    NOW.minusDays(30), i % 2 == 0 ? null : NOW.plusDays(random.nextInt(60) - 30),
+                    i % 5 == 0 ? null : random.nextInt(40)));
+        }
+        return out;
+    }
+
+    private static void assertSameAnswers(TaskAnalyzer expected, ShardedTaskAnalyzer actual) {
+        TaskPredicate todoTagged = TaskPredicate.byStatus(Task.Status.TODO).and(TaskPredicate.hasTag("a"));
+
+        assertThat(actual.getTasks()).containsExactlyElementsOf(expected.getTasks());
+        assertThat(actual.size()).isEqualTo(expected.getTasks().size());
+        assertThat(actual.filterTasks(todoTagged)).containsExactlyElementsOf(expected.filterTasks(todoTagged));
+        assertThat(actual.filterWithCustomPredicate(TaskPredicate.isOverdue().negate()))
+                .containsExactlyElementsOf(expected.filterWithCustomPredicate(TaskPredicate.isOverdue().negate()));
+        for (Long id : Arrays.asList(1L, 42L, 999_999L, null)) {
+            assertThat(actual.findTaskById(id)).isEqualTo(expected.findTaskById(id));
+        }
+        for (int limit : new int[]{0, 1, 10, 5_000}) {
+            assertThat(actual.getTopPriorityTasks(limit)).containsExactlyElementsOf(expected.getTopPriorityTasks(limit));
+        }
+        assertThat(actual.groupByStatus()).isEqualTo(expected.groupByStatus());
+        assertThat(actual.partitionByOverdue()).isEqualTo(expected.partitionByOverdue());
+        assertThat(actual.getAllUniqueTags()).containsExactlyElementsOf(expected.getAllUniqueTags());
+        assertThat(actual.getAllTagsSorted()).isEqualTo(expected.getAllTagsSorted());
+        assertThat(actual.getTotalEstimatedHours()).isEqualTo(expected.getTotalEstimatedHours());
+        assertThat(actual.getAverageEstimatedHours()).isEqualTo(expected.getAverageEstimatedHours());
+        assertThat(actual.getTaskTitles()).isEqualTo(expected.getTaskTitles());
+        assertThat(actual.countTasksByPriority()).isEqualTo(expected.countTasksByPriority());
+        assertThat(actual.hasOverdueTasks()).isEqualTo(expected.hasOverdueTasks());
+        assertThat(actual.areAllTasksAssigned()).isEqualTo(expected.areAllTasksAssigned());
+    }
+
+    @Nested
+    @DisplayName("In-process shards")
+    class InProcessTests {
+
+        @Test
+        @DisplayName("Should answer every query like a single analyzer")
+        void matchesSingleAnalyzer() {
+            List<Task> tasks = tasks(3_000);
+            try (ShardedTaskAnalyzer sharded = ShardedTaskAnalyzer.inProcess(4, CLOCK)) {
+                sharded.addAll(tasks.subList(0, 1_000));
+                sharded.addAll(tasks.subList(1_000, tasks.size()));
+
+                assertSameAnswers(new TaskAnalyzer(tasks, CLOCK), sharded);
+            }
+        }
+
+        @Test
+        @DisplayName("Should spread tasks across shards and route lookups by id")
+        void partitionsById() {
+            try (ShardedTaskAnalyzer sharded = ShardedTaskAnalyzer.inProcess(4, CLOCK)) {
+                List<Task> tasks = new ArrayList<>();
+                for (long i = 0; i < 400; i++) {
+                    tasks.add(new Task(i, "Task " + i, "d", Task.Priority.LOW, Task.Status.TODO, Set.of(), NOW, null, 1));
+                }
+                sharded.addAll(tasks);
+
+                assertThat(sharded.getShards()).allSatisfy(s -> assertThat(s.size()).isBetween(50, 150));
+                Shard owner = sharded.getShards().get(sharded.shardOf(123L));
+                assertThat(owner.findById(123L)).contains(tasks.get(123));
+            }
+        }
+
+        @Test
+        @DisplayName("Should see tasks added after a gathered read")
+        void refreshesAfterAdd() {
+            try (ShardedTaskAnalyzer sharded = ShardedTaskAnalyzer.inProcess(2, CLOCK)) {
+                List<Task> tasks = tasks(10);
+                sharded.addAll(tasks.subList(0, 5));
+                assertThat(sharded.getTasks()).hasSize(5);
+
+                sharded.addAll(tasks.subList(5, 10));
+
+                assertThat(sharded.getTasks()).containsExactlyElementsOf(tasks);
+                assertThatThrownBy(() -> sharded.getTasks().add(tasks.get(0)))
+                        .isInstanceOf(UnsupportedOperationException.class);
+            }
+        }
+
+        @Test
+        @DisplayName("Should fail like a single analyzer on null keys")
+        void nullKeys() {
+            try (ShardedTaskAnalyzer sharded = ShardedTaskAnalyzer.inProcess(3, CLOCK)) {
+                sharded.add(new Task(1L, "x", "d", null, null, Set.of(), NOW, null, 1));
+
+                assertThatThrownBy(sharded::countTasksByPriority).isInstanceOf(NullPointerException.class);
+                assertThatThrownBy(sharded::groupByStatus).isInstanceOf(NullPointerException.class);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Socket shards")
+    class SocketTests {
+        private ShardServer first;
+        private ShardServer second;
+        private ShardedTaskAnalyzer sharded;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            first = ShardServer.start(0, new LocalShard());
+            second = ShardServer.start(0, new LocalShard());
+            sharded = new ShardedTaskAnalyzer(
+                    List.of(SocketShard.connect(first.port()), SocketShard.connect(second.port()), new LocalShard()),
+                    ForkJoinPool.commonPool(), CLOCK);
+        }
+
+        @AfterEach
+        void tearDown() throws IOException {
+            sharded.close();
+            first.close();
+            second.close();
+        }
+
+        @Test
+        @DisplayName("Should answer every query like a single analyzer over loopback")
+        void matchesSingleAnalyzer() {
+            List<Task> tasks = tasks(2_000);
+            sharded.addAll(tasks);
+
+            assertSameAnswers(new TaskAnalyzer(tasks, CLOCK), sharded);
+        }
+
+        @Test
+        @DisplayName("Should reject opaque predicates and keep the connection usable")
+        void opaquePredicates() {
+            sharded.addAll(tasks(100));
+
+            assertThatThrownBy(() -> sharded.filterTasks(t -> true))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("opaque");
+            assertThat(sharded.size()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Should carry remote null-key failures back as NullPointerException")
+        void remoteFailures() {
+            sharded.addAll(tasks(50));
+            for (long id = 0; id < 30; id++) {
+                sharded.add(new Task(id, "x", "d", Task.Priority.LOW, null, null, NOW, null, null));
+            }
+
+            assertThatThrownBy(sharded::groupByStatus).isInstanceOf(NullPointerException.class);
+            assertThat(sharded.size()).isEqualTo(80);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package edu.trincoll.store;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ColumnKernelsTest {
+
+    // nulls, extremes and negatives, so a lane overflow would show
+    private static int[] hours(int n, long seed) {
+        Random random = new Random(seed);
+        int[] column = new int[n];
+        for (int i = 0; i < n; i++) {
+            column[i] = switch (random.nextInt(6)) {
+                case 0 -> TaskColumns.NULL_HOURS;
+                case 1 -> Integer.MAX_VALUE;
+                case 2 -> Integer.MIN_VALUE + 1;
+                case 3 -> -random.nextInt(1_000);
+                default -> random.nextInt(40);
+            };
+        }
+        return column;
+    }
+
+    private static byte[] ordinals(int n, long seed) {
+        Random random = new Random(seed);
+        byte[] column = new byte[n];
+        for (int i = 0; i < n; i++) column[i] = (byte) (random.nextInt(6) - 1);
+        return column;
+    }
+
+    @Test
+    @DisplayName("Should sum hours skipping nulls")
+    void scalarHours() {
+        int[] column = {3, TaskColumns.NULL_HOURS, 4, Integer.MAX_VALUE, TaskColumns.NULL_HOURS};
+
+        assertThat(ColumnKernels.scalar().hours(column, 0, column.length))
+            .isEqualTo(new ColumnKernels.HoursTotal(7L + Integer.MAX_VALUE, 3));
+        assertThat(ColumnKernels.scalar().hours(column, 1, 2)).isEqualTo(new ColumnKernels.HoursTotal(0, 0));
+    }
+
+    @Test
+    @DisplayName("Should count ordinals with nulls in the last slot")
+    void scalarHistogram() {
+        byte[] column = {0, 1, 1, TaskColumns.NULL_ORDINAL, 3, 3, 3};
+
+        assertThat(ColumnKernels.scalar().histogram(column, 0, column.length, 4)).containsExactly(1, 2, 0, 3, 1);
+        assertThatThrownBy(() -> ColumnKernels.scalar().histogram(column, 0, 8, 4))
+            .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> ColumnKernels.scalar().histogram(column, 0, 1, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should pick the vector kernels when the module is loaded")
+    void capability() {
+        ColumnKernels best = ColumnKernels.best();
+
+        if (ColumnKernels.isVectorSupported()) {
+            assertThat(best).isSameAs(ColumnKernels.vector());
+        } else {
+            assertThat(best).isSameAs(ColumnKernels.scalar());
+            assertThatThrownBy(ColumnKernels::vector).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should match the scalar kernels on every range, including vector tails")
+    void vectorMatchesScalar() {
+        assumeTrue(ColumnKernels.isVectorSupported());
+        ColumnKernels scalar = ColumnKernels.scalar();
+        ColumnKernels vector = ColumnKernels.vector();
+        int[] hours = hours(1_000, 1);
+        byte[] ordinals = ordinals(1_000, 2);
+
+        for (int from = 0; from < 70; from += 3) {
+            for (int to = from; to <= hours.length; to += 37) {
+                assertThat(vector.hours(hours, from, to)).isEqualTo(scalar.hours(hours, from, to));
+                assertThat(vector.histogram(ordinals, from, to, 4)).isEqualTo(scalar.histogram(ordinals, from, to, 4));
+                assertThat(vector.histogram(ordinals, from, to, 5)).isEqualTo(scalar.histogram(ordinals, from, to, 5));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should sum past the vector kernel's flush interval without overflow")
+    void vectorLongRun() {
+        assumeTrue(ColumnKernels.isVectorSupported());
+        int[] hours = hours(3_000_000, 3);
+
+        assertThat(ColumnKernels.vector().hours(hours, 0, hours.length))
+            .isEqualTo(ColumnKernels.scalar().hours(hours, 0, hours.length));
+    }
+}
@@ -0,0 +1,115 @@
+package edu.trincoll.store;
+
+import edu.trincoll.model.Task;
+import edu.trincoll.service.ColumnarTaskAnalyzer;
+import edu.trincoll.service.TaskAnalyzer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaskFileTest {
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 9, 30, 0, 123_456_789);
+
+    @TempDir
+    Path dir;
+
+    private static List<Task> tasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1L, "Write tests", "Unit and integration", Task.Priority.HIGH,
+            Task.Status.TODO, Set.of("testing", "dev"), T0, T0.plusDays(2), 8));
+        tasks.add(new Task(null, null, null, null, null, null, null, null, null));
+        tasks.add(new Task(3L, "Résumé review ✓", "", Task.Priority.LOW,
+            Task.Status.DONE, Set.of(), T0.minusDays(3), T0.minusDays(1), 0));
+        tasks.add(new Task(4L, "Deploy", "Ship it", Task.Priority.CRITICAL,
+            Task.Status.IN_PROGRESS, Set.of("dev", "ops"), T0, T0.minusHours(1), null));
+        return tasks;
+    }
+
+    @Test
+    @DisplayName("Should round-trip every field, including nulls and non-ASCII text")
+    void roundTrip() throws IOException {
+        Path file = dir.resolve("tasks.bin");
+        TaskFile.write(file, tasks());
+
+        try (MappedTaskFile mapped = TaskFile.open(file)) {
+            assertThat(mapped).containsExactlyElementsOf(tasks());
+            assertThat(mapped.tagCount(1)).isEqualTo(-1);
+            assertThat(mapped.tagCount(2)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer columnar queries straight from the mapped file")
+    void columnarQueries() throws IOException {
+        Path file = dir.resolve("tasks.bin");
+        List<Task> tasks = tasks().subList(2, 4);
+        TaskFile.write(file, new TaskStore(tasks));
+        Clock clock = Clock.fixed(Instant.parse("2026-01-05T00:00:00Z"), ZoneOffset.UTC);
+
+        try (MappedTaskFile mapped = TaskFile.open(file)) {
+            TaskAnalyzer plain = new TaskAnalyzer(tasks, clock);
+            ColumnarTaskAnalyzer columnar = new ColumnarTaskAnalyzer(mapped, clock);
+
+            assertThat(columnar.getTotalEstimatedHours()).isEqualTo(plain.getTotalEstimatedHours());
+            assertThat(columnar.countTasksByPriority()).isEqualTo(plain.countTasksByPriority());
+            assertThat(columnar.getAllTagsSorted()).isEqualTo(plain.getAllTagsSorted());
+            assertThat(columnar.hasOverdueTasks()).isEqualTo(plain.hasOverdueTasks()).isTrue();
+            assertThat(columnar.findTaskById(4L)).isEqualTo(plain.findTaskById(4L));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject the estimate reserved for null and keep its neighbours")
+    void reservedHours() throws IOException {
+        Task reserved = new Task(5L, "Edge", "", null, null, null, null, null, Integer.MIN_VALUE);
+        TaskStore store = new TaskStore();
+
+        assertThatThrownBy(() -> store.add(reserved))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("reserved for null");
+        assertThat(store).isEmpty();
+
+        Path file = dir.resolve("edges.bin");
+        List<Task> edges = List.of(
+            new Task(6L, "Low", "", null, null, null, null, null, Integer.MIN_VALUE + 1),
+            new Task(7L, "High", "", null, null, null, null, null, Integer.MAX_VALUE));
+        TaskFile.write(file, edges);
+
+        try (MappedTaskFile mapped = TaskFile.open(file)) {
+            assertThat(mapped).containsExactlyElementsOf(edges);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write and reopen an empty file")
+    void empty() throws IOException {
+        Path file = dir.resolve("empty.bin");
+        TaskFile.write(file, List.of());
+
+        try (MappedTaskFile mapped = TaskFile.open(file)) {
+            assertThat(mapped).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not task files")
+    void rejectsForeignFiles() throws IOException {
+        Path file = dir.resolve("notes.txt");
+        Files.writeString(file, "just some text, not a task table".repeat(20));
+
+        assertThatThrownBy(() -> TaskFile.open(file))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("not a task file");
+    }
+}
@@ -0,0 +1,137 @@
+package edu.trincoll.store;
+
+import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaskJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static Task task(long id) {
+        return new Task(id, "Task " + id, "Description " + id, Task.Priority.MEDIUM, Task.Status.TODO,
+            Set.of("tag" + id % 3), LocalDateTime.of(2026, 1, 1, 9, 0), null, (int) (id % 5));
+    }
+
+    private List<String> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString()).filter(n -> n.endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("Recovery")
+    class RecoveryTests {
+
+        @Test
+        @DisplayName("Should replay creates, transforms and deletes after reopening")
+        void replay() throws IOException {
+            try (TaskJournal journal = TaskJournal.open(dir)) {
+                for (long id = 1; id <= 5; id++) journal.create(task(id));
+                journal.transform(2, TaskTransformer.withStatus(Task.Status.DONE));
+                journal.delete(4).join();
+            }
+
+            try (TaskJournal journal = TaskJournal.open(dir)) {
+                assertThat(journal.recovery().replayed()).isEqualTo(7);
+                assertThat(journal.tasks()).extracting(Task::id).containsExactly(1L, 2L, 3L, 5L);
+                assertThat(journal.get(2)).get().extracting(Task::status).isEqualTo(Task.Status.DONE);
+                assertThat(journal.lastSequence()).isEqualTo(7);
+            }
+        }
+
+        @Test
+        @DisplayName("Should drop a torn record at the end of the log")
+        void tornTail() throws IOException {
+            try (TaskJournal journal = TaskJournal.open(dir)) {
+                journal.create(task(1));
+                journal.create(task(2)).join();
+            }
+            Path segment = dir.resolve(files(".log").get(0));
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 5);
+            }
+
+            try (TaskJournal journal = TaskJournal.open(dir)) {
+                assertThat(journal.tasks()).extracting(Task::id).containsExactly(1L);
+                journal.create(task(3)).join();
+            }
+            try (TaskJournal journal = TaskJournal.open(dir)) {
+                assertThat(journal.tasks()).extracting(Task::id).containsExactly(1L, 3L);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshots")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Should compact into a snapshot and delete covered segments")
+        void compaction() throws IOException {
+            WalOptions options = WalOptions.defaults().withSegmentBytes(512).withSnapshotEvery(0);
+            try (TaskJournal journal = TaskJournal.open(dir, options)) {
+                // one batch per create, so segments roll every few records
+                for (long id = 1; id <= 50; id++) journal.create(task(id)).join();
+                assertThat(files(".log").size()).isGreaterThan(2);
+
+                journal.snapshot();
+
+                assertThat(files(".bin")).containsExactly("snapshot-00000000000000000050.bin");
+                assertThat(files(".log")).hasSize(1);
+                journal.delete(7).join();
+            }
+
+            try (TaskJournal journal = TaskJournal.open(dir, options)) {
+                assertThat(journal.recovery().snapshotSequence()).isEqualTo(50);
+                assertThat(journal.recovery().replayed()).isEqualTo(1);
+                assertThat(journal.size()).isEqualTo(49);
+                assertThat(journal.get(8)).contains(task(8));
+            }
+        }
+
+        @Test
+        @DisplayName("Should snapshot automatically every N mutations")
+        void periodic() throws IOException {
+            try (TaskJournal journal = TaskJournal.open(dir, WalOptions.defaults().withSnapshotEvery(10))) {
+                for (long id = 1; id <= 25; id++) journal.create(task(id));
+            }
+
+            assertThat(files(".bin")).containsExactly("snapshot-00000000000000000020.bin");
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should reject tasks without ids, duplicates and unknown ids")
+        void rejects() throws IOException {
+            try (TaskJournal journal = TaskJournal.open(dir)) {
+                journal.create(task(1));
+
+                assertThatThrownBy(() -> journal.create(task(1))).isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> journal.create(new Task(null, "x", null, null, null, null, null, null, null)))
+                    .isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> journal.delete(9)).isInstanceOf(NoSuchElementException.class);
+                assertThat(journal.lastSequence()).isEqualTo(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package edu.trincoll.stream;
+
+import edu.trincoll.model.Task;
+import edu.trincoll.processor.TaskProcessingEngine;
+import edu.trincoll.service.TaskAnalyzer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StreamingTaskAnalyzerTest {
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private static Task task(long id, LocalDateTime created, Task.Status status, Set<String> tags, Integer hours) {
+        return new Task(id, "Task " + id, "d", Task.Priority.values()[(int) (id % 4)], status,
+            tags, created, null, hours);
+    }
+
+    private static List<Task> sample() {
+        return List.of(
+            task(1, T0, Task.Status.TODO, Set.of("a", "b"), 3),
+            task(2, T0.plusMinutes(5), Task.Status.DONE, Set.of("a"), null),
+            task(3, T0.plusMinutes(12), Task.Status.IN_PROGRESS, Set.of("c"), 5),
+            task(4, T0.plusMinutes(25), Task.Status.DONE, null, 2),
+            task(5, T0.plusMinutes(31), Task.Status.TODO, Set.of("a", "c"), 1));
+    }
+
+    @Nested
+    @DisplayName("Totals")
+    class TotalsTests {
+
+        @Test
+        @DisplayName("Should match the list-based analyzer")
+        void matchesTaskAnalyzer() {
+            TaskAnalyzer plain = new TaskAnalyzer(sample());
+            TaskStatsSnapshot totals = new StreamingTaskAnalyzer().consume(sample().stream()).totals();
+
+            assertThat(totals.count()).isEqualTo(5);
+            assertThat(totals.countsByPriority()).isEqualTo(plain.countTasksByPriority());
+            assertThat(totals.countsByStatus()).containsEntry(Task.Status.DONE, 2L).hasSize(3);
+            assertThat(totals.totalHours()).isEqualTo(plain.getTotalEstimatedHours().orElseThrow().longValue());
+            assertThat(totals.averageHours()).isEqualTo(plain.getAverageEstimatedHours());
+            assertThat(totals.tagOccurrences()).isEqualTo(plain.getAllTagsSorted().size());
+            assertThat(totals.distinctTags()).isEqualTo(3);
+            assertThat(totals.topTags()).first()
+                .isEqualTo(new TaskStatsSnapshot.TagCount("a", 3, 0));
+        }
+
+        @Test
+        @DisplayName("Should consume a bounded slice of an infinite engine stream")
+        void infiniteStream() {
+            AtomicLong ids = new AtomicLong();
+            Stream<Task> feed = new TaskProcessingEngine().generateTaskStream(
+                () -> task(ids.incrementAndGet(), T0, Task.Status.TODO, Set.of("t" + ids.get() % 1000), 1));
+
+            TaskStatsSnapshot totals = new StreamingTaskAnalyzer().consume(feed.limit(100_000)).totals();
+
+            assertThat(totals.count()).isEqualTo(100_000);
+            assertThat(totals.totalHours()).isEqualTo(100_000);
+            assertThat(totals.distinctTags()).isBetween(950L, 1050L);
+        }
+
+        @Test
+        @DisplayName("Should keep exact counts for heavy hitters within the tag capacity")
+        void heavyHitters() {
+            StreamingTaskAnalyzer analyzer = new StreamingTaskAnalyzer(null, java.time.Clock.systemUTC(), 16);
+            // one dominant tag among 10k rare ones
+            IntStream.range(0, 20_000).forEach(i -> analyzer.accept(task(i, T0, Task.Status.TODO,
+                Set.of(i % 2 == 0 ? "hot" : "rare" + i), null)));
+
+            TaskStatsSnapshot.TagCount top = analyzer.totals(1).topTags().get(0);
+            assertThat(top.tag()).isEqualTo("hot");
+            assertThat(top.count() - top.error()).isLessThanOrEqualTo(10_000);
+            assertThat(top.count()).isGreaterThanOrEqualTo(10_000);
+        }
+
+        @Test
+        @DisplayName("Should keep Space-Saving bounds for every tracked tag under high cardinality")
+        void highCardinality() {
+            StreamingTaskAnalyzer analyzer = new StreamingTaskAnalyzer(null, java.time.Clock.systemUTC(), 64);
+            Map<String, Long> actual = new HashMap<>();
+            for (int i = 0; i < 50_000; i++) {
+                String tag = i % 5 == 0 ? "hot" + (i % 3) : "rare" + (i * 7919 % 40_000);
+                actual.merge(tag, 1L, Long::sum);
+                analyzer.accept(task(i, T0, Task.Status.TODO, Set.of(tag), null));
+            }
+
+            List<TaskStatsSnapshot.TagCount> tracked = analyzer.totals(64).topTags();
+            assertThat(tracked).hasSize(64);
+            assertThat(tracked.stream().mapToLong(TaskStatsSnapshot.TagCount::count).sum()).isEqualTo(50_000);
+            assertThat(tracked).extracting(TaskStatsSnapshot.TagCount::tag).contains("hot0", "hot1", "hot2");
+            assertThat(tracked).allSatisfy(c -> assertThat(actual.get(c.tag()))
+                .isBetween(c.count() - c.error(), c.count()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Windows")
+    class WindowTests {
+
+        @Test
+        @DisplayName("Should split tasks into tumbling windows")
+        void tumbling() {
+            StreamingTaskAnalyzer analyzer = new StreamingTaskAnalyzer(WindowSpec.tumbling(Duration.ofMinutes(10)));
+            analyzer.consume(sample().stream());
+
+            assertThat(analyzer.windows())
+                .extracting(w -> w.start().getMinute(), w -> w.stats().count())
+                .containsExactly(tuple(0, 2L), tuple(10, 1L), tuple(20, 1L), tuple(30, 1L));
+            assertThat(analyzer.currentWindow()).get()
+                .extracting(WindowSnapshot::end).isEqualTo(T0.plusMinutes(40));
+        }
+
+        @Test
+        @DisplayName("Should overlap sliding windows")
+        void sliding() {
+            StreamingTaskAnalyzer analyzer = new StreamingTaskAnalyzer(
+                WindowSpec.sliding(Duration.ofMinutes(20), Duration.ofMinutes(10)));
+            analyzer.consume(sample().stream());
+
+            assertThat(analyzer.windows())
+                .extracting(w -> w.start().getMinute(), w -> w.stats().count())
+                .containsExactly(tuple(50, 2L), tuple(0, 3L), tuple(10, 2L), tuple(20, 2L));
+        }
+
+        @Test
+        @DisplayName("Should evict old panes and count late arrivals")
+        void eviction() {
+            StreamingTaskAnalyzer analyzer = new StreamingTaskAnalyzer(
+                WindowSpec.tumbling(Duration.ofMinutes(1)).retaining(3));
+            for (int i = 0; i < 10_000; i++) analyzer.accept(task(i, T0.plusMinutes(i), Task.Status.TODO, null, null));
+            analyzer.accept(task(-1, T0, Task.Status.DONE, null, null));
+
+            assertThat(analyzer.windows()).hasSize(3);
+            assertThat(analyzer.lateCount()).isEqualTo(1);
+            assertThat(analyzer.totals().count()).isEqualTo(10_001);
+        }
+
+        @Test
+        @DisplayName("Should reject a slide that does not divide the size")
+        void invalidSpec() {
+            assertThatThrownBy(() -> WindowSpec.sliding(Duration.ofMinutes(10), Duration.ofMinutes(3)))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Publishers")
+    class PublisherTests {
+
+        @Test
+        @DisplayName("Should consume a Flow.Publisher with backpressure")
+        void publisher() throws Exception {
+            StreamingTaskAnalyzer analyzer = new StreamingTaskAnalyzer();
+            try (SubmissionPublisher<Task> publisher = new SubmissionPublisher<>()) {
+                var done = analyzer.subscribe(publisher);
+                for (int i = 0; i < 5_000; i++) publisher.submit(task(i, T0, Task.Status.TODO, Set.of("x"), 1));
+                publisher.close();
+
+                assertThat(done.get(10, TimeUnit.SECONDS).count()).isEqualTo(5_000);
+            }
+        }
+    }
+}